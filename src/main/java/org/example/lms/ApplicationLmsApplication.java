@@ -2,11 +2,15 @@ package org.example.lms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ApplicationLmsApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ApplicationLmsApplication.class, args);
+        SpringApplication application = new SpringApplication(ApplicationLmsApplication.class);
+        // Startup steps are kept for the log summary and GET /actuator/startup.
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 }
@@ -0,0 +1,34 @@
+package org.example.lms.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * With lazy initialization on, controllers (and through them the services, repositories and JPA) are still
+ * created at startup so the first exam request does not pay for them. Beans with {@code @Scheduled} methods are
+ * eager too: nothing may ask for them, and a bean that is never created never has its jobs registered. Mail,
+ * WebSocket, OpenAPI and other rarely used beans wait until something asks for them.
+ */
+@Configuration
+@Profile("fast")
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter controllersEagerFilter() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType != null && AnnotatedElementUtils.hasAnnotation(beanType, RestController.class);
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledEagerFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(
+                beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.lms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.lms.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * With {@code exam.replica.url} set, {@code @Transactional(readOnly = true)} HR reports run on the replica.
+ * The candidate exam path never opens read-only transactions, so it stays on the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${exam.replica.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${exam.replica.url}") String url,
+            @Value("${exam.replica.username:}") String username,
+            @Value("${exam.replica.password:}") String password,
+            @Value("${exam.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${exam.replica.connection-timeout-ms:2000}") long connectionTimeoutMs,
+            @Value("${exam.replica.lag-query:}") String lagQuery,
+            @Value("${exam.replica.max-lag-seconds:30}") long maxLagSeconds,
+            @Value("${exam.replica.lag-probe-interval-ms:1000}") long lagProbeIntervalMs,
+            @Value("${exam.replica.retry-seconds:30}") long retrySeconds
+    ) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(url);
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setUsername(username.isBlank() ? properties.determineUsername() : username);
+        replica.setPassword(password.isBlank() ? properties.determinePassword() : password);
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setConnectionTimeout(connectionTimeoutMs);
+        // Start even when the replica is down; reads fall back to the primary until it answers.
+        replica.setInitializationFailTimeout(-1);
+
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replica,
+                lagQuery,
+                Duration.ofSeconds(maxLagSeconds),
+                Duration.ofMillis(lagProbeIntervalMs),
+                Duration.ofSeconds(retrySeconds)
+        ).lazy();
+    }
+}
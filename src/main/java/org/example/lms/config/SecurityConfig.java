@@ -24,6 +24,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/candidate/**").permitAll()
                         .requestMatchers("/api/hr/**").hasRole("HR")
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("HR")
                         .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
                 .build();
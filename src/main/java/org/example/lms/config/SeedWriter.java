@@ -0,0 +1,200 @@
+package org.example.lms.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * JDBC batch inserts for seed and synthetic data. IDENTITY ids switch off Hibernate's insert batching, so the
+ * seeders write rows here and read generated ids back per batch. Also keeps the applied seed fingerprints.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeedWriter {
+    static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String findFingerprint(String name) {
+        List<String> fingerprints = jdbcTemplate.queryForList(
+                "select fingerprint from seed_state where name = ?", String.class, name);
+        return fingerprints.isEmpty() ? null : fingerprints.get(0);
+    }
+
+    public void saveFingerprint(String name, String fingerprint) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update("update seed_state set fingerprint = ?, applied_at = ? where name = ?", fingerprint, now, name) == 0) {
+            jdbcTemplate.update("insert into seed_state (name, fingerprint, applied_at) values (?, ?, ?)", name, fingerprint, now);
+        }
+    }
+
+    public List<Long> insertCandidates(List<CandidateRow> rows) {
+        return insertReturningIds(
+                "insert into candidates (full_name, job_id, login, password_hash, active) values (?, ?, ?, ?, ?)",
+                rows,
+                (ps, row) -> {
+                    ps.setString(1, row.fullName());
+                    ps.setLong(2, row.jobId());
+                    ps.setString(3, row.login());
+                    ps.setString(4, row.passwordHash());
+                    ps.setBoolean(5, true);
+                });
+    }
+
+    /** Inserts the questions with their first version and points each question at it. */
+    public List<QuestionKey> insertQuestions(List<QuestionRow> rows) {
+        List<Long> questionIds = insertReturningIds(
+                "insert into questions (title, job_id, active, created_by, text) values (?, ?, ?, ?, ?)",
+                rows,
+                (ps, row) -> {
+                    ps.setString(1, row.title());
+                    ps.setLong(2, row.jobId());
+                    ps.setBoolean(3, true);
+                    ps.setString(4, row.createdBy());
+                    ps.setString(5, row.text());
+                });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> indexes = IntStream.range(0, rows.size()).boxed().toList();
+        List<Long> versionIds = insertReturningIds(
+                "insert into question_versions (question_id, version, text, created_at) values (?, 1, ?, ?)",
+                indexes,
+                (ps, i) -> {
+                    ps.setLong(1, questionIds.get(i));
+                    ps.setString(2, rows.get(i).text());
+                    ps.setTimestamp(3, now);
+                });
+
+        List<QuestionKey> keys = indexes.stream()
+                .map(i -> new QuestionKey(questionIds.get(i), versionIds.get(i)))
+                .toList();
+        jdbcTemplate.batchUpdate(
+                "update questions set current_version_id = ? where id = ?",
+                keys,
+                BATCH_SIZE,
+                (ps, key) -> {
+                    ps.setLong(1, key.versionId());
+                    ps.setLong(2, key.questionId());
+                });
+        return keys;
+    }
+
+    public List<Long> insertOptions(List<OptionRow> rows) {
+        return insertReturningIds(
+                "insert into options (question_id, question_version_id, text, correct) values (?, ?, ?, ?)",
+                rows,
+                (ps, row) -> {
+                    ps.setLong(1, row.question().questionId());
+                    ps.setLong(2, row.question().versionId());
+                    ps.setString(3, row.text());
+                    ps.setBoolean(4, row.correct());
+                });
+    }
+
+    public List<Long> insertAttempts(List<AttemptRow> rows) {
+        return insertReturningIds(
+                "insert into attempts (candidate_id, job_id, finished, total_questions, duration_minutes, correct_answers,"
+                        + " score, started_at, finished_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows,
+                (ps, row) -> {
+                    ps.setLong(1, row.candidateId());
+                    ps.setLong(2, row.jobId());
+                    ps.setBoolean(3, true);
+                    ps.setInt(4, row.totalQuestions());
+                    ps.setInt(5, row.durationMinutes());
+                    ps.setInt(6, row.correctAnswers());
+                    ps.setDouble(7, row.score());
+                    ps.setTimestamp(8, Timestamp.valueOf(row.startedAt()));
+                    ps.setTimestamp(9, Timestamp.valueOf(row.finishedAt()));
+                });
+    }
+
+    public void insertAttemptQuestions(List<AttemptQuestionRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "insert into attempt_questions (attempt_id, question_id, question_version_id, display_order)"
+                        + " values (?, ?, ?, ?)",
+                rows,
+                BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setLong(1, row.attemptId());
+                    ps.setLong(2, row.question().questionId());
+                    ps.setLong(3, row.question().versionId());
+                    ps.setInt(4, row.displayOrder());
+                });
+    }
+
+    public void insertAttemptAnswers(List<AttemptAnswerRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "insert into attempt_answers (attempt_id, question_id, selected_option_id, correct) values (?, ?, ?, ?)",
+                rows,
+                BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setLong(1, row.attemptId());
+                    ps.setLong(2, row.questionId());
+                    ps.setLong(3, row.selectedOptionId());
+                    ps.setBoolean(4, row.correct());
+                });
+    }
+
+    private <T> List<Long> insertReturningIds(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<T> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.setValues(ps, batch.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    public record CandidateRow(String fullName, Long jobId, String login, String passwordHash) {
+    }
+
+    public record QuestionRow(String title, Long jobId, String createdBy, String text) {
+    }
+
+    public record QuestionKey(Long questionId, Long versionId) {
+    }
+
+    public record OptionRow(QuestionKey question, String text, boolean correct) {
+    }
+
+    public record AttemptRow(Long candidateId, Long jobId, int totalQuestions, int durationMinutes, int correctAnswers,
+                             double score, LocalDateTime startedAt, LocalDateTime finishedAt) {
+    }
+
+    public record AttemptQuestionRow(Long attemptId, QuestionKey question, int displayOrder) {
+    }
+
+    public record AttemptAnswerRow(Long attemptId, Long questionId, Long selectedOptionId, boolean correct) {
+    }
+}
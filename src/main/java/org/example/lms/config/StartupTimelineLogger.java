@@ -0,0 +1,52 @@
+package org.example.lms.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logs time-to-ready and the slowest startup steps, so restarts can be compared before and after a change.
+ * The full timeline is at GET /actuator/startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimelineLogger {
+    private static final int TOP_STEPS = 10;
+
+    private final ApplicationStartup applicationStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logTimeline(ApplicationReadyEvent event) {
+        log.info("Application ready jvmUptimeMs={} springStartupMs={}",
+                ManagementFactory.getRuntimeMXBean().getUptime(), event.getTimeTaken().toMillis());
+
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+
+        List<StartupTimeline.TimelineEvent> slowest = buffering.getBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(TOP_STEPS)
+                .toList();
+        for (StartupTimeline.TimelineEvent step : slowest) {
+            log.info("Startup step {}ms {} {}", step.getDuration().toMillis(), step.getStartupStep().getName(),
+                    describe(step));
+        }
+    }
+
+    private static String describe(StartupTimeline.TimelineEvent step) {
+        StringBuilder tags = new StringBuilder();
+        step.getStartupStep().getTags().forEach(tag -> tags.append(tag.getKey()).append('=').append(tag.getValue()).append(' '));
+        return tags.toString().trim();
+    }
+}
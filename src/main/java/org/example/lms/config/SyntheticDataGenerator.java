@@ -0,0 +1,217 @@
+package org.example.lms.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.repository.JobRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Capacity-test data for {@code exam.seed.scale-factor}. One unit is 1,000 candidates, 40 questions per seed
+ * profession (4 options each) and 250 finished attempts of 40 answers, so scale factor 100 gives 100k candidates
+ * and 1M answers. Units are deterministic and resumable: logins are {@code SX0000000..}, and a restart continues
+ * after the last complete unit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+    static final String SCALE_SEED = "scale";
+    static final String LOGIN_PREFIX = "SX";
+    static final int CANDIDATES_PER_UNIT = 1_000;
+    static final int QUESTIONS_PER_JOB_PER_UNIT = 40;
+    static final int ATTEMPTS_PER_UNIT = 250;
+    static final int QUESTIONS_PER_ATTEMPT = 40;
+    private static final int OPTIONS_PER_QUESTION = 4;
+    private static final int GENERATOR_VERSION = 1;
+
+    private static final List<String> PROFESSIONS = List.of("electrician", "operator", "mechanic", "technologist");
+    private static final String[] FIRST_NAMES = {"Ali", "Malika", "Jasur", "Dilnoza", "Sherzod", "Nodira", "Bekzod",
+            "Gulnora", "Sardor", "Zarina", "Otabek", "Madina", "Rustam", "Feruza", "Jahongir", "Kamola", "Aziz",
+            "Shahnoza", "Bobur", "Lola"};
+    private static final String[] LAST_NAME_ROOTS = {"Vali", "Karim", "Toshmat", "Rahim", "Yusup", "Ergash", "Qodir",
+            "Said", "Umar", "Nazar", "Xolmat", "Abdulla", "Sobir", "Islom", "Mirzo", "Tursun", "Hamid", "Jalil"};
+    private static final String[] EQUIPMENT = {"pump", "compressor", "heat exchanger", "boiler", "valve", "turbine",
+            "reactor", "conveyor", "cooling tower", "switchgear", "transformer", "separator"};
+    private static final String[] ACTIONS = {"starting", "stopping", "inspecting", "cleaning", "repairing",
+            "calibrating", "isolating", "handing over"};
+    private static final String[] HAZARDS = {"pressure", "temperature", "vibration", "leakage", "noise", "corrosion",
+            "ammonia concentration", "voltage"};
+    private static final String[] CORRECT_ANSWERS = {"Follow the work permit and lock-out procedure",
+            "Check the limit in the equipment passport", "Report to the shift supervisor and record the reading",
+            "Confirm the reading with a calibrated gauge"};
+    private static final String[] WRONG_ANSWERS = {"Continue work and check later", "Rely on the previous shift's notes",
+            "Increase the load to test the limit", "Skip the check if the alarm is silent",
+            "Ask a colleague to watch the gauge", "Use the reading from a similar unit"};
+
+    // Synthetic candidates only need hashes that verify; cost 4 keeps 100k of them at seconds instead of hours.
+    private static final BCryptPasswordEncoder SYNTHETIC_ENCODER = new BCryptPasswordEncoder(4);
+
+    private final SeedWriter seedWriter;
+    private final JobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public void generate(int scaleFactor) {
+        String fingerprint = "v" + GENERATOR_VERSION + ":units=" + scaleFactor;
+        if (fingerprint.equals(seedWriter.findFingerprint(SCALE_SEED))) {
+            log.info("Synthetic data skipped: scaleFactor={} already applied", scaleFactor);
+            return;
+        }
+
+        Long existing = jdbcTemplate.queryForObject(
+                "select count(*) from candidates where login like ?", Long.class, LOGIN_PREFIX + "%");
+        int completeUnits = (int) (existing / CANDIDATES_PER_UNIT);
+        List<Long> jobIds = PROFESSIONS.stream().map(this::resolveJobId).toList();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        long started = System.nanoTime();
+        for (int unit = completeUnits; unit < scaleFactor; unit++) {
+            int current = unit;
+            transaction.executeWithoutResult(status -> generateUnit(current, jobIds));
+            log.info("Synthetic data unit {}/{} done elapsedMs={}", unit + 1, scaleFactor, (System.nanoTime() - started) / 1_000_000);
+        }
+
+        seedWriter.saveFingerprint(SCALE_SEED, fingerprint);
+    }
+
+    private void generateUnit(int unit, List<Long> jobIds) {
+        Random random = new Random(unit);
+
+        Map<Long, List<GeneratedQuestion>> questionsByJob = generateQuestions(unit, jobIds, random);
+
+        List<String> logins = IntStream.range(0, CANDIDATES_PER_UNIT)
+                .mapToObj(i -> LOGIN_PREFIX + "%07d".formatted(unit * CANDIDATES_PER_UNIT + i))
+                .toList();
+        List<String> passwordHashes = logins.parallelStream().map(SYNTHETIC_ENCODER::encode).toList();
+        List<SeedWriter.CandidateRow> candidates = new ArrayList<>(CANDIDATES_PER_UNIT);
+        for (int i = 0; i < CANDIDATES_PER_UNIT; i++) {
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAME_ROOTS[random.nextInt(LAST_NAME_ROOTS.length)] + (random.nextBoolean() ? "ov" : "ova");
+            candidates.add(new SeedWriter.CandidateRow(
+                    fullName, jobIds.get(random.nextInt(jobIds.size())), logins.get(i), passwordHashes.get(i)));
+        }
+        List<Long> candidateIds = seedWriter.insertCandidates(candidates);
+
+        List<SeedWriter.AttemptRow> attempts = new ArrayList<>(ATTEMPTS_PER_UNIT);
+        List<List<GeneratedQuestion>> papers = new ArrayList<>(ATTEMPTS_PER_UNIT);
+        List<List<Boolean>> outcomes = new ArrayList<>(ATTEMPTS_PER_UNIT);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ATTEMPTS_PER_UNIT; i++) {
+            int candidateIndex = random.nextInt(CANDIDATES_PER_UNIT);
+            Long jobId = candidates.get(candidateIndex).jobId();
+
+            List<GeneratedQuestion> paper = new ArrayList<>(questionsByJob.get(jobId));
+            Collections.shuffle(paper, random);
+            paper = paper.subList(0, QUESTIONS_PER_ATTEMPT);
+
+            double skill = 0.3 + random.nextDouble() * 0.65;
+            List<Boolean> correct = new ArrayList<>(QUESTIONS_PER_ATTEMPT);
+            for (int q = 0; q < QUESTIONS_PER_ATTEMPT; q++) {
+                correct.add(random.nextDouble() < skill);
+            }
+            int correctCount = (int) correct.stream().filter(Boolean::booleanValue).count();
+
+            LocalDateTime startedAt = now.minusMinutes(random.nextInt(90 * 24 * 60));
+            attempts.add(new SeedWriter.AttemptRow(
+                    candidateIds.get(candidateIndex),
+                    jobId,
+                    QUESTIONS_PER_ATTEMPT,
+                    60,
+                    correctCount,
+                    Math.round(correctCount * 100.0 / QUESTIONS_PER_ATTEMPT * 100.0) / 100.0,
+                    startedAt,
+                    startedAt.plusMinutes(10 + random.nextInt(50))));
+            papers.add(paper);
+            outcomes.add(correct);
+        }
+        List<Long> attemptIds = seedWriter.insertAttempts(attempts);
+
+        List<SeedWriter.AttemptQuestionRow> attemptQuestions = new ArrayList<>(ATTEMPTS_PER_UNIT * QUESTIONS_PER_ATTEMPT);
+        List<SeedWriter.AttemptAnswerRow> answers = new ArrayList<>(ATTEMPTS_PER_UNIT * QUESTIONS_PER_ATTEMPT);
+        for (int i = 0; i < ATTEMPTS_PER_UNIT; i++) {
+            for (int q = 0; q < QUESTIONS_PER_ATTEMPT; q++) {
+                GeneratedQuestion question = papers.get(i).get(q);
+                boolean correct = outcomes.get(i).get(q);
+                Long selected = correct
+                        ? question.correctOptionId()
+                        : question.wrongOptionIds().get(random.nextInt(question.wrongOptionIds().size()));
+
+                attemptQuestions.add(new SeedWriter.AttemptQuestionRow(attemptIds.get(i), question.key(), q + 1));
+                answers.add(new SeedWriter.AttemptAnswerRow(attemptIds.get(i), question.key().questionId(), selected, correct));
+            }
+        }
+        seedWriter.insertAttemptQuestions(attemptQuestions);
+        seedWriter.insertAttemptAnswers(answers);
+    }
+
+    private Map<Long, List<GeneratedQuestion>> generateQuestions(int unit, List<Long> jobIds, Random random) {
+        List<SeedWriter.QuestionRow> questions = new ArrayList<>();
+        for (Long jobId : jobIds) {
+            for (int q = 0; q < QUESTIONS_PER_JOB_PER_UNIT; q++) {
+                String equipment = EQUIPMENT[random.nextInt(EQUIPMENT.length)];
+                String action = ACTIONS[random.nextInt(ACTIONS.length)];
+                String hazard = HAZARDS[random.nextInt(HAZARDS.length)];
+                int line = 1 + random.nextInt(12);
+                questions.add(new SeedWriter.QuestionRow(
+                        "Synthetic %s %s %d-%d".formatted(equipment, hazard, unit + 1, q + 1),
+                        jobId,
+                        "seed-scale",
+                        "Before %s the %s on line %d, what is required about %s?".formatted(action, equipment, line, hazard)));
+            }
+        }
+        List<SeedWriter.QuestionKey> questionKeys = seedWriter.insertQuestions(questions);
+
+        List<SeedWriter.OptionRow> options = new ArrayList<>(questionKeys.size() * OPTIONS_PER_QUESTION);
+        for (SeedWriter.QuestionKey questionKey : questionKeys) {
+            int correctIndex = random.nextInt(OPTIONS_PER_QUESTION);
+            List<String> wrong = new ArrayList<>(Arrays.asList(WRONG_ANSWERS));
+            Collections.shuffle(wrong, random);
+            for (int o = 0, w = 0; o < OPTIONS_PER_QUESTION; o++) {
+                boolean correct = o == correctIndex;
+                String text = correct ? CORRECT_ANSWERS[random.nextInt(CORRECT_ANSWERS.length)] : wrong.get(w++);
+                options.add(new SeedWriter.OptionRow(questionKey, text, correct));
+            }
+        }
+        List<Long> optionIds = seedWriter.insertOptions(options);
+
+        Map<Long, List<GeneratedQuestion>> byJob = new HashMap<>();
+        for (int i = 0; i < questionKeys.size(); i++) {
+            Long correctOptionId = null;
+            List<Long> wrongOptionIds = new ArrayList<>(OPTIONS_PER_QUESTION - 1);
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                int index = i * OPTIONS_PER_QUESTION + o;
+                if (options.get(index).correct()) {
+                    correctOptionId = optionIds.get(index);
+                } else {
+                    wrongOptionIds.add(optionIds.get(index));
+                }
+            }
+            byJob.computeIfAbsent(questions.get(i).jobId(), key -> new ArrayList<>())
+                    .add(new GeneratedQuestion(questionKeys.get(i), correctOptionId, wrongOptionIds));
+        }
+        return byJob;
+    }
+
+    private Long resolveJobId(String profession) {
+        return jobRepository.findByNameIgnoreCase(profession)
+                .orElseGet(() -> jobRepository.save(JobEntity.builder()
+                        .name(profession)
+                        .description("Auto-created by seed data")
+                        .active(true)
+                        .createdAt(LocalDateTime.now())
+                        .build()))
+                .getId();
+    }
+
+    private record GeneratedQuestion(SeedWriter.QuestionKey key, Long correctOptionId, List<Long> wrongOptionIds) {
+    }
+}
@@ -2,27 +2,37 @@ package org.example.lms.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.lms.entity.CandidateEntity;
-import org.example.lms.entity.OptionEntity;
-import org.example.lms.entity.QuestionEntity;
 import org.example.lms.entity.JobEntity;
 import org.example.lms.repository.CandidateRepository;
 import org.example.lms.repository.JobRepository;
 import org.example.lms.repository.OptionRepository;
 import org.example.lms.repository.QuestionRepository;
+import org.example.lms.search.QuestionSimilarityIndex;
+import org.example.lms.service.ResponseVersions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @Order(2)
+@ConditionalOnProperty(name = "exam.seed.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class TestDataSeeder implements CommandLineRunner {
 
@@ -154,99 +164,142 @@ public class TestDataSeeder implements CommandLineRunner {
             new SeedCandidate("Malika Karimova", "operator", "AB7654321", "AB7654321")
     );
 
+    private static final String BASE_SEED = "base";
+    // Bump when the seeding logic changes in a way the seed data alone does not show.
+    private static final int SEED_FORMAT_VERSION = 1;
+
     private final QuestionRepository questionRepository;
     private final OptionRepository optionRepository;
     private final JobRepository jobRepository;
     private final CandidateRepository candidateRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SeedWriter seedWriter;
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final ResponseVersions responseVersions;
+
+    @Value("${exam.seed.scale-factor:0}")
+    private int scaleFactor;
 
     @Override
     public void run(String... args) {
-        Set<String> existingJobs = new HashSet<>(
-                jobRepository.findAll().stream()
-                        .map(job -> job.getName().trim().toLowerCase())
-                        .toList()
-        );
+        String fingerprint = fingerprint();
+        if (fingerprint.equals(seedWriter.findFingerprint(BASE_SEED))) {
+            log.info("Seeder skipped: seed set unchanged fingerprint={}", fingerprint.substring(0, 12));
+        } else {
+            applyBaseSeed();
+            seedWriter.saveFingerprint(BASE_SEED, fingerprint);
+        }
 
-        for (SeedTest seed : SEED_TESTS) {
-            String professionKey = seed.profession().trim().toLowerCase();
-            if (!existingJobs.contains(professionKey)) {
-                jobRepository.save(JobEntity.builder()
-                        .name(seed.profession().trim())
-                        .description("Auto-created by seed data")
-                        .active(true)
-                        .createdAt(LocalDateTime.now())
-                        .build());
-                existingJobs.add(professionKey);
-            }
+        if (scaleFactor > 0) {
+            syntheticDataGenerator.generate(scaleFactor);
         }
+        // The server may already answer requests; seeded rows bypass the services that bump ETag versions.
+        responseVersions.invalidateAll();
+    }
 
-        int createdCandidates = 0;
-        for (SeedCandidate seed : SEED_CANDIDATES) {
-            String login = seed.login().trim();
-            if (candidateRepository.existsByLoginIgnoreCase(login)) {
-                continue;
-            }
+    private void applyBaseSeed() {
+        long started = System.nanoTime();
 
-            String profession = seed.profession().trim();
-            String professionKey = profession.toLowerCase();
-            if (!existingJobs.contains(professionKey)) {
-                jobRepository.save(JobEntity.builder()
-                        .name(profession)
-                        .description("Auto-created by seed data")
-                        .active(true)
-                        .createdAt(LocalDateTime.now())
-                        .build());
-                existingJobs.add(professionKey);
-            }
+        Map<String, JobEntity> existingJobs = new HashMap<>();
+        jobRepository.findAll().forEach(job -> existingJobs.put(job.getName().trim().toLowerCase(), job));
+
+        for (SeedTest seed : SEED_TESTS) {
+            resolveJob(existingJobs, seed.profession());
+        }
+
+        Set<String> existingLogins = new HashSet<>(candidateRepository.findUpperLoginsIn(SEED_CANDIDATES.stream()
+                .map(seed -> seed.login().trim().toUpperCase())
+                .toList()));
+        List<SeedCandidate> newCandidates = SEED_CANDIDATES.stream()
+                .filter(seed -> !existingLogins.contains(seed.login().trim().toUpperCase()))
+                .toList();
 
-            candidateRepository.save(CandidateEntity.builder()
-                    .fullName(seed.fullName().trim())
-                    .profession(profession)
-                    .login(login)
-                    .passwordHash(encodePassword(seed.password()))
-                    .active(true)
-                    .build());
-            createdCandidates++;
+        // BCrypt dominates this step, so the hashes are computed in parallel before one batched insert.
+        List<String> passwordHashes = newCandidates.parallelStream()
+                .map(seed -> encodePassword(seed.password()))
+                .toList();
+        List<SeedWriter.CandidateRow> candidates = new ArrayList<>();
+        for (int i = 0; i < newCandidates.size(); i++) {
+            SeedCandidate seed = newCandidates.get(i);
+            candidates.add(new SeedWriter.CandidateRow(
+                    seed.fullName().trim(),
+                    resolveJob(existingJobs, seed.profession()).getId(),
+                    seed.login().trim(),
+                    passwordHashes.get(i)));
         }
+        seedWriter.insertCandidates(candidates);
 
-        Set<String> existingTitles = new HashSet<>(
-                questionRepository.findAll().stream()
-                        .map(q -> q.getTitle().trim().toLowerCase())
-                        .toList()
-        );
+        List<QuestionRepository.QuestionSearchRow> existingRows = questionRepository.findAllSearchRows();
+        Set<String> existingTitles = existingRows.stream()
+                .map(row -> row.getTitle().trim().toLowerCase())
+                .collect(Collectors.toCollection(HashSet::new));
 
-        int createdCount = 0;
+        // Seeds reworded by HR after import should not come back as a second copy under the old title.
+        QuestionSimilarityIndex existingQuestions = new QuestionSimilarityIndex();
+        Map<Long, List<String>> optionTexts = optionRepository.findAllRows().stream()
+                .collect(Collectors.groupingBy(
+                        OptionRepository.OptionRow::getQuestionId,
+                        Collectors.mapping(OptionRepository.OptionRow::getText, Collectors.toList())));
+        existingQuestions.rebuild(existingRows.stream()
+                .map(row -> new QuestionSimilarityIndex.Entry(
+                        row.getId(), row.getJobId(), row.getActive(), row.getTitle(), row.getText(),
+                        optionTexts.getOrDefault(row.getId(), List.of())))
+                .toList());
+
+        List<SeedTest> newTests = new ArrayList<>();
         for (SeedTest seed : SEED_TESTS) {
             String key = seed.title().trim().toLowerCase();
             if (existingTitles.contains(key)) {
                 continue;
             }
 
-            QuestionEntity question = questionRepository.save(QuestionEntity.builder()
-                    .title(seed.title())
-                    .profession(seed.profession())
-                    .active(true)
-                    .createdBy("seed-runner")
-                    .text(seed.questionText())
-                    .build());
-
-            optionRepository.saveAll(
-                    seed.options().stream()
-                            .map(opt -> OptionEntity.builder()
-                                    .question(question)
-                                    .text(opt.text())
-                                    .correct(opt.correct())
-                                    .build())
-                            .toList()
-            );
+            List<String> seedOptions = seed.options().stream().map(SeedOption::text).toList();
+            List<QuestionSimilarityIndex.Match> nearDuplicates = existingQuestions.findSimilar(
+                    new QuestionSimilarityIndex.Entry(null, null, true, seed.title(), seed.questionText(), seedOptions),
+                    QuestionSimilarityIndex.DEFAULT_THRESHOLD, 1);
+            if (!nearDuplicates.isEmpty()) {
+                log.info("Seed test skipped title={} nearDuplicateOf={}",
+                        seed.title(), nearDuplicates.get(0).entry().questionId());
+                continue;
+            }
 
             existingTitles.add(key);
-            createdCount++;
+            // Not inserted yet: a negative placeholder id keeps later seeds comparable against this one.
+            existingQuestions.put(new QuestionSimilarityIndex.Entry(
+                    -(long) newTests.size() - 1, null, true, seed.title(), seed.questionText(), seedOptions));
+            newTests.add(seed);
         }
 
-        log.info("Seeder completed: created {} candidates, {} realistic tests(questions). candidateTotal={}, questionTotal={}",
-                createdCandidates, createdCount, candidateRepository.count(), questionRepository.count());
+        List<SeedWriter.QuestionKey> questionKeys = seedWriter.insertQuestions(newTests.stream()
+                .map(seed -> new SeedWriter.QuestionRow(
+                        seed.title(),
+                        resolveJob(existingJobs, seed.profession()).getId(),
+                        "seed-runner",
+                        seed.questionText()))
+                .toList());
+
+        List<SeedWriter.OptionRow> options = new ArrayList<>();
+        for (int i = 0; i < newTests.size(); i++) {
+            for (SeedOption option : newTests.get(i).options()) {
+                options.add(new SeedWriter.OptionRow(questionKeys.get(i), option.text(), option.correct()));
+            }
+        }
+        seedWriter.insertOptions(options);
+
+        log.info("Seeder completed: created {} candidates, {} realistic tests(questions) tookMs={}",
+                candidates.size(), newTests.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String fingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(SEED_FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+            digest.update(SEED_TESTS.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(SEED_CANDIDATES.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     private record SeedTest(String title, String profession, String questionText, List<SeedOption> options) {
@@ -258,6 +311,16 @@ public class TestDataSeeder implements CommandLineRunner {
     private record SeedCandidate(String fullName, String profession, String login, String password) {
     }
 
+    private JobEntity resolveJob(Map<String, JobEntity> existingJobs, String profession) {
+        String name = profession.trim();
+        return existingJobs.computeIfAbsent(name.toLowerCase(), key -> jobRepository.save(JobEntity.builder()
+                .name(name)
+                .description("Auto-created by seed data")
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build()));
+    }
+
     private String encodePassword(String raw) {
         String value = raw == null ? "" : raw.trim();
         if (value.isEmpty()) {
@@ -4,8 +4,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.lms.dto.ApiResponse;
 import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
 import org.example.lms.service.CandidateService;
+import org.example.lms.service.ExamAdmission;
+import org.example.lms.service.ProgressSequencer;
+import org.example.lms.service.ResponseVersions;
+import org.example.lms.service.SubmissionQueue;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/candidate")
@@ -13,6 +22,10 @@ import org.springframework.web.bind.annotation.*;
 public class CandidateController {
 
     private final CandidateService candidateService;
+    private final ResponseVersions responseVersions;
+    private final ProgressSequencer progressSequencer;
+    private final ExamAdmission examAdmission;
+    private final SubmissionQueue submissionQueue;
 
     @PostMapping("/auth/login")
     public ApiResponse login(@Valid @RequestBody CandidateDtos.LoginRequest req) {
@@ -25,30 +38,65 @@ public class CandidateController {
     }
 
     @GetMapping("/{candidateId}/tests")
-    public ApiResponse listRandomTests(@PathVariable("candidateId") Long candidateId) {
+    public ApiResponse listRandomTests(@PathVariable("candidateId") Long candidateId, WebRequest request) {
+        String etag = responseVersions.candidateTestsTag(candidateId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         return ApiResponse.ok("OK", candidateService.listRandomTests(candidateId));
     }
 
     @PostMapping("/tests/start")
-    public ApiResponse start(@Valid @RequestBody CandidateDtos.StartTestRequest req) {
-        return ApiResponse.ok("Started", candidateService.startTest(req));
+    public ResponseEntity<ApiResponse> start(@Valid @RequestBody CandidateDtos.StartTestRequest req) {
+        ExamAdmission.Decision admission = examAdmission.tryAdmit(req.candidateId());
+        if (!admission.admitted()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                    .body(ApiResponse.fail(admission.position() > 0 ? "Waiting for a free exam slot" : "Waiting room is full",
+                            new CandidateResponses.WaitingRoomResponse(admission.position(), admission.retryAfterSeconds())));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.ok("Started", candidateService.startTest(req)));
+        } finally {
+            examAdmission.release(admission);
+        }
     }
 
     @PostMapping("/attempts/{attemptId}/progress")
     public ApiResponse saveProgress(@PathVariable("attemptId") Long attemptId,
             @Valid @RequestBody CandidateDtos.SaveProgressRequest req) {
-        return ApiResponse.ok("Progress saved", candidateService.saveProgress(attemptId, req));
+        // Autosaves older than one this instance saw committed are answered without a transaction.
+        if (req.clientSeq() != null && progressSequencer.isStale(attemptId, req.clientSeq())) {
+            return ApiResponse.ok("Progress already saved", new CandidateResponses.SaveProgressResponse(
+                    null, req.clientSeq(), progressSequencer.lastCommitted(attemptId), false));
+        }
+        CandidateResponses.SaveProgressResponse saved = candidateService.saveProgress(attemptId, req);
+        return ApiResponse.ok(saved.applied() ? "Progress saved" : "Progress already saved", saved);
     }
 
     @GetMapping("/attempts/{attemptId}/progress")
     public ApiResponse getProgress(@PathVariable("attemptId") Long attemptId,
-            @RequestParam("candidateId") Long candidateId) {
+            @RequestParam("candidateId") Long candidateId, WebRequest request) {
+        String etag = responseVersions.attemptTag(attemptId, candidateId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         return ApiResponse.ok("OK", candidateService.getProgress(attemptId, candidateId));
     }
 
     @PostMapping("/attempts/{attemptId}/submit")
-    public ApiResponse submit(@PathVariable("attemptId") Long attemptId,
+    public ResponseEntity<ApiResponse> submit(@PathVariable("attemptId") Long attemptId,
             @Valid @RequestBody CandidateDtos.SubmitAttemptRequest req) {
-        return ApiResponse.ok("Submitted", candidateService.submitAttempt(attemptId, req));
+        CandidateResponses.SubmissionStatusResponse submission = submissionQueue.enqueue(attemptId, req);
+        if (submission.result() != null) {
+            return ResponseEntity.ok(ApiResponse.ok("Submitted", submission));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok("Submission queued for scoring", submission));
+    }
+
+    @GetMapping("/attempts/{attemptId}/result")
+    public ApiResponse getResult(@PathVariable("attemptId") Long attemptId,
+            @RequestParam("candidateId") Long candidateId) {
+        return ApiResponse.ok("OK", submissionQueue.status(attemptId, candidateId));
     }
 }
@@ -4,10 +4,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.lms.dto.ApiResponse;
 import org.example.lms.dto.HrDtos;
+import org.example.lms.service.ExamSessionService;
 import org.example.lms.service.HrService;
+import org.example.lms.service.ReferenceDataCache;
+import org.example.lms.service.ResponseVersions;
+import org.example.lms.service.ScoreDistributionService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 
@@ -17,12 +24,47 @@ import java.time.LocalDate;
 public class HrController {
 
     private final HrService hrService;
+    private final ExamSessionService examSessionService;
+    private final ReferenceDataCache referenceDataCache;
+    private final ResponseVersions responseVersions;
+    private final ScoreDistributionService scoreDistributionService;
 
     @GetMapping("/tests")
-    public ApiResponse listTests() {
+    public ApiResponse listTests(WebRequest request) {
+        if (request.checkNotModified(responseVersions.catalogTag("tests"))) {
+            return null;
+        }
         return ApiResponse.ok("OK", hrService.listTests());
     }
 
+    @GetMapping("/tests/page")
+    public ApiResponse pageTests(
+            @RequestParam(required = false) String profession,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String q,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return ApiResponse.ok("OK", hrService.pageTests(profession, active, q, pageable));
+    }
+
+    @GetMapping("/tests/search")
+    public ApiResponse searchTests(
+            @RequestParam String q,
+            @RequestParam(required = false) String profession,
+            @RequestParam(required = false) Boolean active,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return ApiResponse.ok("OK", hrService.searchTests(q, profession, active, pageable));
+    }
+
+    @GetMapping("/tests/duplicates")
+    public ApiResponse duplicateReport(
+            @RequestParam(required = false) String profession,
+            @RequestParam(required = false) Double threshold
+    ) {
+        return ApiResponse.ok("OK", hrService.duplicateReport(profession, threshold));
+    }
+
     @PostMapping("/tests")
     public ApiResponse createTest(@Valid @RequestBody HrDtos.CreateTestRequest req, Authentication auth) {
         return ApiResponse.ok("Test created", hrService.createTest(req, auth.getName()));
@@ -39,6 +81,11 @@ public class HrController {
         return ApiResponse.ok("Test deleted", null);
     }
 
+    @PostMapping("/tests/bulk")
+    public ApiResponse bulkTests(@Valid @RequestBody HrDtos.BulkRequest req) {
+        return ApiResponse.ok("Bulk operation done", hrService.bulkTests(req));
+    }
+
     @PutMapping("/questions/{questionId}")
     public ApiResponse updateQuestion(@PathVariable Long questionId, @RequestBody HrDtos.UpdateQuestionRequest req) {
         return ApiResponse.ok("Question updated", hrService.updateQuestion(questionId, req));
@@ -55,6 +102,29 @@ public class HrController {
         return ApiResponse.ok("OK", hrService.listCandidates());
     }
 
+    @GetMapping("/candidates/page")
+    public ApiResponse pageCandidates(
+            @RequestParam(required = false) String profession,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String q,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return ApiResponse.ok("OK", hrService.pageCandidates(profession, active, q, pageable));
+    }
+
+    @GetMapping("/candidates/search")
+    public ApiResponse searchCandidates(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ApiResponse.ok("OK", hrService.searchCandidates(q, limit));
+    }
+
+    @GetMapping("/candidates/search/stats")
+    public ApiResponse candidateSearchStats() {
+        return ApiResponse.ok("OK", hrService.candidateSearchStats());
+    }
+
     @PostMapping("/candidates")
     public ApiResponse createCandidate(@Valid @RequestBody HrDtos.CreateCandidateRequest req) {
         return ApiResponse.ok("Candidate created", hrService.createCandidate(req));
@@ -78,11 +148,39 @@ public class HrController {
         return ApiResponse.ok("Candidate deleted", null);
     }
 
+    @PostMapping("/candidates/bulk")
+    public ApiResponse bulkCandidates(@Valid @RequestBody HrDtos.BulkRequest req) {
+        return ApiResponse.ok("Bulk operation done", hrService.bulkCandidates(req));
+    }
+
+    @GetMapping("/cache/stats")
+    public ApiResponse cacheStats() {
+        return ApiResponse.ok("OK", referenceDataCache.stats());
+    }
+
+    @DeleteMapping("/cache")
+    public ApiResponse evictCache() {
+        referenceDataCache.evictAll();
+        return ApiResponse.ok("Cache evicted", null);
+    }
+
     @GetMapping("/jobs")
-    public ApiResponse listJobs() {
+    public ApiResponse listJobs(WebRequest request) {
+        if (request.checkNotModified(responseVersions.catalogTag("jobs"))) {
+            return null;
+        }
         return ApiResponse.ok("OK", hrService.listJobs());
     }
 
+    @GetMapping("/jobs/page")
+    public ApiResponse pageJobs(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String q,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        return ApiResponse.ok("OK", hrService.pageJobs(active, q, pageable));
+    }
+
     @PostMapping("/jobs")
     public ApiResponse createJob(@Valid @RequestBody HrDtos.CreateJobRequest req) {
         return ApiResponse.ok("Job created", hrService.createJob(req));
@@ -99,6 +197,21 @@ public class HrController {
         return ApiResponse.ok("Job deleted", null);
     }
 
+    @PostMapping("/exam-sessions")
+    public ApiResponse createExamSession(@Valid @RequestBody HrDtos.CreateExamSessionRequest req, Authentication auth) {
+        return ApiResponse.ok("Exam session created", examSessionService.createSession(req, auth.getName()));
+    }
+
+    @GetMapping("/exam-sessions/{sessionId}")
+    public ApiResponse getExamSession(@PathVariable Long sessionId) {
+        return ApiResponse.ok("OK", examSessionService.getSession(sessionId));
+    }
+
+    @PostMapping("/exam-sessions/{sessionId}/prepare")
+    public ApiResponse prepareExamSession(@PathVariable Long sessionId) {
+        return ApiResponse.ok("Exam session prepared", examSessionService.prepare(sessionId));
+    }
+
     @GetMapping("/results")
     public ApiResponse listResults(
             @RequestParam(required = false) String job,
@@ -111,4 +224,19 @@ public class HrController {
     ) {
         return ApiResponse.ok("OK", hrService.listResults(job, fromDate, toDate, candidate, minScore, maxScore, status));
     }
+
+    @GetMapping("/results/{attemptId}/standing")
+    public ApiResponse scoreStanding(@PathVariable Long attemptId) {
+        return ApiResponse.ok("OK", scoreDistributionService.standing(attemptId));
+    }
+
+    @GetMapping("/results/distribution")
+    public ApiResponse scoreDistribution(
+            @RequestParam String profession,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        return ApiResponse.ok("OK", scoreDistributionService.distribution(profession, period, fromDate, toDate));
+    }
 }
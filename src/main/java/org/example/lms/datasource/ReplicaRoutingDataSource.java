@@ -0,0 +1,214 @@
+package org.example.lms.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must sit behind a
+ * {@link LazyConnectionDataSourceProxy} (see {@link #lazy()}): the read-only flag is only known once the
+ * transaction has begun, so the physical connection has to be fetched on the first statement.
+ * <p>
+ * A replica that fails to hand out a connection or answer the lag probe is skipped for {@code retryAfter}.
+ * Reads inside {@link #freshRead} must see writes already committed through this instance, so they use the
+ * replica only when the last lag probe shows it has replayed past the last primary commit made here. The commit
+ * clock is node-local: a write committed by another instance is not tracked, and a fresh read may miss it for up
+ * to the replica's lag.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final ThreadLocal<Boolean> FRESH_READ = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagNanos;
+    private final long lagProbeIntervalNanos;
+    private final long retryAfterNanos;
+    private final ReentrantLock probeLock = new ReentrantLock();
+
+    private volatile long lastPrimaryCommitNanos = System.nanoTime();
+    private volatile long replicaDownUntilNanos = System.nanoTime();
+    private volatile LagSample lagSample;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery,
+                                    Duration maxLag, Duration lagProbeInterval, Duration retryAfter) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagNanos = maxLag.toNanos();
+        this.lagProbeIntervalNanos = lagProbeInterval.toNanos();
+        this.retryAfterNanos = retryAfter.toNanos();
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs {@code read} so that its read-only transaction sees every write this instance committed before the
+     * call, e.g. a results report that must list an attempt scored here. Writes from other instances are only
+     * bounded by the lag limit that every replica read obeys.
+     */
+    public static <T> T freshRead(Supplier<T> read) {
+        Boolean outer = FRESH_READ.get();
+        FRESH_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (outer == null) {
+                FRESH_READ.remove();
+            }
+        }
+    }
+
+    public LazyConnectionDataSourceProxy lazy() {
+        return new ClosingLazyProxy(this);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaDown()) {
+            return Route.PRIMARY;
+        }
+
+        LagSample sample = currentLag();
+        if (sample == null) {
+            return Route.PRIMARY;
+        }
+        if (sample.lagNanos() > maxLagNanos) {
+            return Route.PRIMARY;
+        }
+        if (Boolean.TRUE.equals(FRESH_READ.get())) {
+            return sample.consistentAtNanos() - lastPrimaryCommitNanos >= 0 ? Route.REPLICA : Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException | RuntimeException ex) {
+                markReplicaDown(ex);
+            }
+        }
+        trackPrimaryCommit();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException | RuntimeException ex) {
+                markReplicaDown(ex);
+            }
+        }
+        trackPrimaryCommit();
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (replica instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean replicaDown() {
+        return System.nanoTime() - replicaDownUntilNanos < 0;
+    }
+
+    private void markReplicaDown(Exception ex) {
+        replicaDownUntilNanos = System.nanoTime() + retryAfterNanos;
+        lagSample = null;
+        log.warn("Replica unavailable, reading from primary for {}s: {}", retryAfterNanos / 1_000_000_000, ex.getMessage());
+    }
+
+    private void trackPrimaryCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastPrimaryCommitNanos = System.nanoTime();
+            }
+        });
+    }
+
+    private LagSample currentLag() {
+        LagSample sample = lagSample;
+        if (sample != null && System.nanoTime() - sample.probedAtNanos() < lagProbeIntervalNanos) {
+            return sample;
+        }
+        if (!probeLock.tryLock()) {
+            return sample;
+        }
+        try {
+            sample = probeLag();
+            lagSample = sample;
+            return sample;
+        } finally {
+            probeLock.unlock();
+        }
+    }
+
+    private LagSample probeLag() {
+        long probedAt = System.nanoTime();
+        if (lagQuery == null) {
+            // Unknown lag: plain reads may go to the replica, fresh reads never do.
+            return new LagSample(probedAt, 0, lastPrimaryCommitNanos - 1);
+        }
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            rs.next();
+            long lagNanos = Math.max(0, (long) (rs.getDouble(1) * 1_000_000_000L));
+            return new LagSample(probedAt, lagNanos, probedAt - lagNanos);
+        } catch (SQLException | RuntimeException ex) {
+            markReplicaDown(ex);
+            return null;
+        }
+    }
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private record LagSample(long probedAtNanos, long lagNanos, long consistentAtNanos) {
+    }
+
+    private static class ClosingLazyProxy extends LazyConnectionDataSourceProxy implements Closeable {
+        private final ReplicaRoutingDataSource routing;
+
+        ClosingLazyProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws IOException {
+            routing.close();
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package org.example.lms.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.lms.exception.ErrorCode;
 
+/** {@code code} is set on domain failures, see {@link ErrorCode}. */
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public record ApiResponse(boolean success, String message, Object data) {
+public record ApiResponse(boolean success, String message, Object data, String code) {
     public static ApiResponse ok(String message, Object data) {
-        return new ApiResponse(true, message, data);
+        return new ApiResponse(true, message, data, null);
     }
 
     public static ApiResponse fail(String message) {
-        return new ApiResponse(false, message, null);
+        return new ApiResponse(false, message, null, null);
     }
 
     public static ApiResponse fail(String message, Object data) {
-        return new ApiResponse(false, message, data);
+        return new ApiResponse(false, message, data, null);
+    }
+
+    public static ApiResponse fail(ErrorCode code, String message) {
+        return new ApiResponse(false, message, null, code.name());
     }
 }
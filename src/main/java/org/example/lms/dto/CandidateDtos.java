@@ -2,6 +2,7 @@ package org.example.lms.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import java.util.List;
 
@@ -25,9 +26,14 @@ public class CandidateDtos {
                         @NotNull(message = "answers are required") List<AnswerRequest> answers) {
         }
 
+        /**
+         * {@code clientSeq} increases with every autosave of the attempt; a retry resends the same number, so it
+         * also serves as the idempotency key. Saves without it are always applied.
+         */
         public record SaveProgressRequest(
                         @NotNull(message = "candidateId is required") Long candidateId,
-                        @NotNull(message = "answers are required") List<AnswerRequest> answers) {
+                        @NotNull(message = "answers are required") List<AnswerRequest> answers,
+                        @PositiveOrZero(message = "clientSeq must not be negative") Long clientSeq) {
         }
 
         public record AnswerRequest(
@@ -1,5 +1,7 @@
 package org.example.lms.dto;
 
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -38,6 +40,13 @@ public class CandidateResponses {
             List<SavedAnswerPayload> savedAnswers) {
     }
 
+    /** {@code progress} is left out when the save was discarded as stale or a duplicate. */
+    public record SaveProgressResponse(@JsonUnwrapped ProgressResponse progress,
+            Long clientSeq,
+            Long lastClientSeq,
+            boolean applied) {
+    }
+
     public record SubmitResponse(Long attemptId,
             Integer correctAnswers,
             Integer totalQuestions,
@@ -45,4 +54,15 @@ public class CandidateResponses {
             LocalDateTime startedAt,
             LocalDateTime finishedAt) {
     }
+
+    /** {@code status} is pending, scored, failed or not-submitted; {@code result} is set once scored. */
+    public record SubmissionStatusResponse(Long attemptId,
+            String status,
+            Integer queuePosition,
+            String error,
+            SubmitResponse result) {
+    }
+
+    public record WaitingRoomResponse(int position, long retryAfterSeconds) {
+    }
 }
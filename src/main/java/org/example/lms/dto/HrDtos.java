@@ -1,10 +1,12 @@
 package org.example.lms.dto;
 
+import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class HrDtos {
@@ -46,14 +48,20 @@ public class HrDtos {
                         @NotBlank(message = "profession is required") String profession,
                         @NotBlank(message = "login is required") String login,
                         @NotBlank(message = "password is required") String password,
-                        Boolean active) {
+                        Boolean active,
+                        @Email(message = "email is invalid") String email) {
+                public CreateCandidateRequest(String fullName, String profession, String login, String password,
+                                Boolean active) {
+                        this(fullName, profession, login, password, active, null);
+                }
         }
 
         public record UpdateCandidateRequest(
                         String fullName,
                         String profession,
                         String password,
-                        Boolean active) {
+                        Boolean active,
+                        @Email(message = "email is invalid") String email) {
         }
 
         public record UpdateCandidatePassportRequest(
@@ -71,4 +79,28 @@ public class HrDtos {
                         String description,
                         Boolean active) {
         }
+
+        public record CreateExamSessionRequest(
+                        @NotBlank(message = "profession is required") String profession,
+                        @NotNull(message = "windowStart is required") LocalDateTime windowStart,
+                        @NotNull(message = "windowEnd is required") LocalDateTime windowEnd,
+                        @NotEmpty(message = "candidateIds must not be empty")
+                        List<@NotNull(message = "candidateId must not be null") Long> candidateIds) {
+        }
+
+        public enum BulkAction {
+                ACTIVATE,
+                DEACTIVATE,
+                DELETE,
+                REASSIGN
+        }
+
+        /** {@code profession} is where {@code REASSIGN} moves the records; other actions ignore it. */
+        public record BulkRequest(
+                        @NotNull(message = "action is required") BulkAction action,
+                        @NotEmpty(message = "ids must not be empty")
+                        @Size(max = 1000, message = "at most 1000 ids per request")
+                        List<@NotNull(message = "id must not be null") Long> ids,
+                        String profession) {
+        }
 }
@@ -1,7 +1,13 @@
 package org.example.lms.dto;
 
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import org.example.lms.exception.ErrorCode;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 public class HrResponses {
 
@@ -18,12 +24,57 @@ public class HrResponses {
             List<OptionResponse> options) {
     }
 
+    public record TestCreatedResponse(
+            @JsonUnwrapped TestResponse test,
+            List<SimilarQuestion> nearDuplicates) {
+    }
+
+    public record SimilarQuestion(
+            Long testId,
+            String title,
+            String profession,
+            Boolean active,
+            Double similarity) {
+    }
+
+    public record DuplicateCluster(
+            Double similarity,
+            List<SimilarQuestion> questions) {
+    }
+
+    public record DuplicateReport(
+            Integer questionCount,
+            Integer pairCount,
+            List<DuplicateCluster> clusters) {
+    }
+
+    public record QuestionSearchHit(
+            Long testId,
+            String title,
+            String profession,
+            Boolean active,
+            Double score,
+            String titleHighlight,
+            String textHighlight,
+            List<String> optionHighlights) {
+    }
+
     public record CandidateResponse(
             Long candidateId,
             String fullName,
             String profession,
             String login,
-            Boolean active) {
+            Boolean active,
+            String email) {
+    }
+
+    public record CandidateSearchHit(
+            Long candidateId,
+            String fullName,
+            String profession,
+            String login,
+            Boolean active,
+            Double score) {
     }
 
     public record JobResponse(
@@ -36,6 +87,27 @@ public class HrResponses {
             Long questionCount) {
     }
 
+    public record PageResponse<T>(
+            List<T> items,
+            int page,
+            int size,
+            long totalElements,
+            int totalPages) {
+
+        public static <S, T> PageResponse<T> of(Page<S> page, Function<S, T> mapper) {
+            return new PageResponse<>(
+                    page.getContent().stream().map(mapper).toList(),
+                    page.getNumber(),
+                    page.getSize(),
+                    page.getTotalElements(),
+                    page.getTotalPages());
+        }
+
+        public static <T> PageResponse<T> empty(int page, int size) {
+            return new PageResponse<>(List.of(), page, size, 0, 0);
+        }
+    }
+
     public record ResultResponse(
             Long attemptId,
             Integer attemptNumber,
@@ -51,4 +123,54 @@ public class HrResponses {
             LocalDateTime finishedAt,
             Long durationSeconds) {
     }
+
+    public record ExamSessionResponse(
+            Long sessionId,
+            String profession,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd,
+            int candidateCount,
+            long preparedAttempts,
+            long startedAttempts,
+            LocalDateTime preparedAt) {
+    }
+
+    public record ScoreStandingResponse(
+            Long attemptId,
+            String profession,
+            Double score,
+            Double percentile,
+            long rank,
+            long takers) {
+    }
+
+    public record ScoreDistributionResponse(
+            String profession,
+            String period,
+            long takers,
+            Double p25,
+            Double median,
+            Double p75,
+            Double p90,
+            List<ScoreBucketResponse> buckets) {
+    }
+
+    /** {@code bins} holds ten counts: scores below 10, below 20, ..., 90 to 100. */
+    public record ScoreBucketResponse(
+            LocalDate periodStart,
+            long attempts,
+            Double averageScore,
+            List<Long> bins) {
+    }
+
+    public record BulkResponse(
+            String action,
+            int requested,
+            int applied,
+            List<BulkItemResponse> results) {
+    }
+
+    /** {@code code} and {@code message} say why an ID was skipped; both are null once it was applied. */
+    public record BulkItemResponse(Long id, boolean applied, ErrorCode code, String message) {
+    }
 }
@@ -0,0 +1,28 @@
+package org.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "attempt_answer_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttemptAnswerArchiveEntity {
+    @Id
+    @Column(name = "attempt_id")
+    private Long attemptId;
+
+    @Column(nullable = false)
+    private byte[] selections;
+
+    @Column(nullable = false)
+    private byte[] correctBits;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -21,8 +21,9 @@ public class AttemptEntity {
     @JoinColumn(name = "candidate_id")
     private CandidateEntity candidate;
 
-    @Column(nullable = false)
-    private String profession;
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id")
+    private JobEntity job;
 
     @Column(nullable = false)
     private Boolean finished;
@@ -36,8 +37,25 @@ public class AttemptEntity {
     private Integer correctAnswers;
     private Double score;
 
-    @Column(nullable = false)
+    /** Null while a prepared attempt waits for the candidate to start it. */
     private LocalDateTime startedAt;
 
     private LocalDateTime finishedAt;
+
+    /** When the final answer sheet was queued; the attempt stays unfinished until it is scored. */
+    private LocalDateTime submittedAt;
+
+    /** Highest {@code clientSeq} of an applied progress save; null until a client sends one. */
+    private Long lastClientSeq;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id")
+    private ExamSessionEntity session;
+
+    /** JSON list of question payloads rendered at preparation time; null for attempts composed on start. */
+    @Column(columnDefinition = "text")
+    private String preparedPayload;
+
+    @Version
+    private Long version;
 }
@@ -25,6 +25,10 @@ public class AttemptQuestionEntity {
     @JoinColumn(name = "question_id")
     private QuestionEntity question;
 
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_version_id")
+    private QuestionVersionEntity questionVersion;
+
     @Column(name = "display_order")
     private Integer displayOrder;
 }
@@ -20,8 +20,9 @@ public class CandidateEntity {
     @Column(name = "full_name", nullable = false)
     private String fullName;
 
-    @Column(nullable = false)
-    private String profession;
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id")
+    private JobEntity job;
 
     @Column(nullable = false)
     private String login;
@@ -31,4 +32,7 @@ public class CandidateEntity {
 
     @Column(nullable = false)
     private Boolean active;
+
+    /** Where result notifications go; optional, many shop-floor candidates have none. */
+    private String email;
 }
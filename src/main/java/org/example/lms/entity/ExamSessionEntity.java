@@ -0,0 +1,46 @@
+package org.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "exam_sessions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExamSessionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id")
+    private JobEntity job;
+
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Set once every candidate of the session has a prepared (or already open) attempt. */
+    private LocalDateTime preparedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "exam_session_candidates", joinColumns = @JoinColumn(name = "session_id"))
+    @Column(name = "candidate_id")
+    @Builder.Default
+    private Set<Long> candidateIds = new LinkedHashSet<>();
+}
@@ -0,0 +1,47 @@
+package org.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "mail_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MailOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attempt_id")
+    private Long attemptId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String body;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Not delivered before this time: the creation time at first, then the end of a claim or a retry backoff. */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private Integer tries;
+
+    private String claimToken;
+    private String lastError;
+
+    /** Set when delivery gave up; the row is kept for HR to look at. */
+    private LocalDateTime failedAt;
+}
@@ -2,8 +2,13 @@ package org.example.lms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @Table(name = "options")
 @Getter
 @Setter
@@ -19,6 +24,10 @@ public class OptionEntity {
     @JoinColumn(name = "question_id")
     private QuestionEntity question;
 
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_version_id")
+    private QuestionVersionEntity questionVersion;
+
     @Column(nullable = false, columnDefinition = "text")
     private String text;
 
@@ -2,8 +2,11 @@ package org.example.lms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "questions")
 @Getter
 @Setter
@@ -18,8 +21,9 @@ public class QuestionEntity {
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
-    private String profession;
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id")
+    private JobEntity job;
 
     @Column(nullable = false)
     private Boolean active;
@@ -27,6 +31,12 @@ public class QuestionEntity {
     @Column(nullable = false)
     private String createdBy;
 
+    /** Mirrors the text of {@link #currentVersion} for listings and search. */
     @Column(nullable = false, columnDefinition = "text")
     private String text;
+
+    /** The version new attempts get; earlier versions stay with the attempts that pinned them. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "current_version_id")
+    private QuestionVersionEntity currentVersion;
 }
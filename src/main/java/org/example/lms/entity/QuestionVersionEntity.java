@@ -0,0 +1,53 @@
+package org.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of a question's text and options. Edits publish a new version instead of changing this one, and
+ * attempts pin the version they started with, so cached versions never need invalidating.
+ */
+@Entity
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@BatchSize(size = 50)
+@Table(name = "question_versions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "question_id", "version" })
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionVersionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    private QuestionEntity question;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String text;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @OneToMany(mappedBy = "questionVersion")
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+    @BatchSize(size = 50)
+    @Builder.Default
+    private List<OptionEntity> options = new ArrayList<>();
+}
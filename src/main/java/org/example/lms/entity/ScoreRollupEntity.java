@@ -0,0 +1,47 @@
+package org.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "score_daily_rollups")
+@IdClass(ScoreRollupEntity.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoreRollupEntity {
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    /** 0 for scores below 10, ..., 9 for 90 to 100. */
+    @Id
+    @Column(name = "score_bin")
+    private Integer bin;
+
+    @Column(nullable = false)
+    private Long attempts;
+
+    @Column(nullable = false)
+    private Double scoreSum;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long jobId;
+        private LocalDate day;
+        private Integer bin;
+    }
+}
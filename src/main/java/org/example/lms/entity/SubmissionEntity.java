@@ -0,0 +1,45 @@
+package org.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "submission_queue", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "attempt_id" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubmissionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false)
+    private Long attemptId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    /** JSON list of the final answers as the candidate sent them. */
+    @Column(nullable = false, columnDefinition = "text")
+    private String answers;
+
+    @Column(nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    private String claimToken;
+    private LocalDateTime claimedAt;
+
+    @Column(nullable = false)
+    private Integer tries;
+
+    /** Set when scoring gave up after the last try; the row stays so the candidate can see why. */
+    private LocalDateTime failedAt;
+
+    private String error;
+}
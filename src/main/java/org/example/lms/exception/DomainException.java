@@ -0,0 +1,19 @@
+package org.example.lms.exception;
+
+import lombok.Getter;
+
+/**
+ * An expected business failure: a wrong password, a finished attempt, a missing record. These are routine under
+ * retries and login storms, so no stack trace is captured; the code says what happened and the message adds the ids.
+ */
+@Getter
+public class DomainException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorCode code;
+
+    public DomainException(ErrorCode code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+}
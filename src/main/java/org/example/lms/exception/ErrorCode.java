@@ -0,0 +1,34 @@
+package org.example.lms.exception;
+
+import org.springframework.http.HttpStatus;
+
+/** Stable codes clients can branch on; the name is the code sent in error responses. */
+public enum ErrorCode {
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST),
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED),
+    CANDIDATE_INACTIVE(HttpStatus.FORBIDDEN),
+    ATTEMPT_LIMIT_REACHED(HttpStatus.FORBIDDEN),
+    EXAM_SESSION_NOT_OPEN(HttpStatus.FORBIDDEN),
+    CANDIDATE_NOT_FOUND(HttpStatus.NOT_FOUND),
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND),
+    QUESTION_NOT_FOUND(HttpStatus.NOT_FOUND),
+    ATTEMPT_NOT_FOUND(HttpStatus.NOT_FOUND),
+    EXAM_SESSION_NOT_FOUND(HttpStatus.NOT_FOUND),
+    CANDIDATE_LOGIN_TAKEN(HttpStatus.CONFLICT),
+    JOB_NAME_TAKEN(HttpStatus.CONFLICT),
+    STILL_IN_USE(HttpStatus.CONFLICT),
+    ATTEMPT_ALREADY_FINISHED(HttpStatus.CONFLICT),
+    ATTEMPT_NOT_SCORED(HttpStatus.CONFLICT),
+    NO_QUESTIONS_FOR_PROFESSION(HttpStatus.CONFLICT),
+    EXAM_BUSY(HttpStatus.CONFLICT);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+}
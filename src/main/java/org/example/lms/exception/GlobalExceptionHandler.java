@@ -1,6 +1,9 @@
 package org.example.lms.exception;
 
 import org.example.lms.dto.ApiResponse;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,10 +13,17 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final String UNFINISHED_ATTEMPT_CONSTRAINT = "uk_attempts_candidate_unfinished";
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiResponse> handleDomain(DomainException ex) {
+        return ResponseEntity.status(ex.getCode().status()).body(ApiResponse.fail(ex.getCode(), ex.getMessage()));
+    }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse> handleIllegal(IllegalArgumentException ex) {
@@ -37,9 +47,41 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(ApiResponse.fail("Validation failed", errors));
     }
 
+    /** Lost race between nodes: a second submit of the same attempt. */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse> handleConflict(Exception ex) {
+        return conflict();
+    }
+
+    /**
+     * Only the unique guard on unfinished attempts is a lost admission race; any other integrity error is a real
+     * failure and keeps the generic path.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse> handleDataIntegrity(DataIntegrityViolationException ex) {
+        return violates(ex, UNFINISHED_ATTEMPT_CONSTRAINT) ? conflict() : handleOther(ex);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse> handleOther(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.fail(ex.getMessage()));
     }
+
+    private static ResponseEntity<ApiResponse> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.fail("Concurrent request changed the same data, reload and retry"));
+    }
+
+    private static boolean violates(Throwable ex, String constraint) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String name = cause instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
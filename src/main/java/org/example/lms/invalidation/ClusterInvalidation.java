@@ -0,0 +1,255 @@
+package org.example.lms.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.search.SearchIndexLoader;
+import org.example.lms.service.JobStatsCache;
+import org.example.lms.service.ReferenceDataCache;
+import org.example.lms.service.ResponseVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-process caches of every instance in step with HR edits made on any of them. Each change is
+ * published on the {@link InvalidationBus} as it commits; receivers evict the second-level cache entries, reload
+ * the search index entries from the database and bump the response versions, the same as the editing instance.
+ * <p>
+ * Every instance numbers its messages. A number that is still missing after {@code gap-grace-ms} (a lost message,
+ * or a commit that failed after publishing) and a reconnect of the bus both lead to a full resync: every cache
+ * is dropped, the search indexes are rebuilt and every ETag changes.
+ */
+@Slf4j
+@Component
+public class ClusterInvalidation implements InvalidationBus.Receiver {
+    private static final int MAX_MISSING = 1000;
+
+    private final InvalidationBus bus;
+    private final ReferenceDataCache referenceDataCache;
+    private final JobStatsCache jobStatsCache;
+    private final ResponseVersions responseVersions;
+    private final SearchIndexLoader searchIndexLoader;
+    private final long gapGraceNanos;
+
+    private final String origin = Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Sequence> received = new ConcurrentHashMap<>();
+    private volatile boolean resyncPending;
+
+    private final Counter published;
+    private final Counter applied;
+    private final Counter resyncs;
+
+    public ClusterInvalidation(
+            InvalidationBus bus,
+            ReferenceDataCache referenceDataCache,
+            JobStatsCache jobStatsCache,
+            ResponseVersions responseVersions,
+            SearchIndexLoader searchIndexLoader,
+            MeterRegistry meterRegistry,
+            @Value("${exam.invalidation.gap-grace-ms:10000}") long gapGraceMs
+    ) {
+        this.bus = bus;
+        this.referenceDataCache = referenceDataCache;
+        this.jobStatsCache = jobStatsCache;
+        this.responseVersions = responseVersions;
+        this.searchIndexLoader = searchIndexLoader;
+        this.gapGraceNanos = Duration.ofMillis(gapGraceMs).toNanos();
+
+        published = Counter.builder("exam.invalidation.published").register(meterRegistry);
+        applied = Counter.builder("exam.invalidation.applied").register(meterRegistry);
+        resyncs = Counter.builder("exam.invalidation.resyncs").register(meterRegistry);
+    }
+
+    public void jobChanged(Long jobId) {
+        publish(InvalidationMessage.Kind.JOB, jobId, jobId);
+    }
+
+    public void questionChanged(Long questionId, Long jobId) {
+        publish(InvalidationMessage.Kind.QUESTION, questionId, jobId);
+    }
+
+    public void candidateChanged(Long candidateId, Long jobId) {
+        publish(InvalidationMessage.Kind.CANDIDATE, candidateId, jobId);
+    }
+
+    /** One message for a bulk edit; {@code jobIds} are the professions the questions left or joined. */
+    public void questionsChanged(Collection<Long> questionIds, Collection<Long> jobIds) {
+        publish(InvalidationMessage.Kind.QUESTION, List.copyOf(questionIds), nonNull(jobIds));
+    }
+
+    /** One message for a bulk edit; {@code jobId} is the profession the candidates moved to, if any. */
+    public void candidatesChanged(Collection<Long> candidateIds, Long jobId) {
+        publish(InvalidationMessage.Kind.CANDIDATE, List.copyOf(candidateIds),
+                jobId == null ? List.of() : List.of(jobId));
+    }
+
+    String origin() {
+        return origin;
+    }
+
+    @Override
+    public void received(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Invalidation message ignored: {}", ex.getMessage());
+            return;
+        }
+        if (origin.equals(message.origin())) {
+            return;
+        }
+
+        boolean inSequence = received.computeIfAbsent(message.origin(), key -> new Sequence())
+                .accept(message.version(), System.nanoTime());
+        try {
+            apply(message);
+            applied.increment();
+        } catch (RuntimeException ex) {
+            log.warn("Invalidation message could not be applied payload={}", payload, ex);
+            resyncPending = true;
+        }
+        if (!inSequence) {
+            log.warn("Invalidation messages lost from origin={} before version={}", message.origin(), message.version());
+            resync();
+        }
+    }
+
+    /** Resyncs when a message is overdue or an earlier resync failed. */
+    @Scheduled(fixedDelayString = "${exam.invalidation.gap-grace-ms:10000}")
+    public void checkGaps() {
+        long now = System.nanoTime();
+        boolean overdue = false;
+        for (Map.Entry<String, Sequence> entry : received.entrySet()) {
+            if (entry.getValue().overdue(now, gapGraceNanos)) {
+                log.warn("Invalidation message from origin={} did not arrive in time", entry.getKey());
+                overdue = true;
+            }
+        }
+        if (overdue || resyncPending) {
+            resync();
+        }
+    }
+
+    @Override
+    public synchronized void resync() {
+        resyncPending = true;
+        received.values().forEach(Sequence::forgetMissing);
+        referenceDataCache.evictAll();
+        jobStatsCache.invalidate();
+        searchIndexLoader.loadIndexes();
+        responseVersions.invalidateAll();
+        resyncPending = false;
+        resyncs.increment();
+        log.info("Caches resynchronized after an invalidation gap");
+    }
+
+    private void apply(InvalidationMessage message) {
+        switch (message.kind()) {
+            case JOB -> {
+                referenceDataCache.evictJob(message.id());
+                jobStatsCache.invalidate();
+                responseVersions.catalogChanged(message.id());
+            }
+            case QUESTION -> {
+                message.ids().forEach(referenceDataCache::evictQuestion);
+                searchIndexLoader.reloadQuestions(message.ids());
+                jobStatsCache.invalidate();
+                responseVersions.catalogChanged(message.jobIds().toArray(Long[]::new));
+            }
+            case CANDIDATE -> {
+                searchIndexLoader.reloadCandidates(message.ids());
+                jobStatsCache.invalidate();
+                responseVersions.candidatesChanged();
+            }
+            case RESYNC -> resync();
+        }
+    }
+
+    /** Numbered and sent just before commit, so a write that fails validation or rolls back early costs nothing. */
+    private void publish(InvalidationMessage.Kind kind, Long id, Long jobId) {
+        publish(kind, List.of(id), jobId == null ? List.of() : List.of(jobId));
+    }
+
+    private void publish(InvalidationMessage.Kind kind, List<Long> ids, List<Long> jobIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(kind, ids, jobIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                send(kind, ids, jobIds);
+            }
+        });
+    }
+
+    /** A message too long for the bus asks the other instances to resync instead. */
+    private void send(InvalidationMessage.Kind kind, List<Long> ids, List<Long> jobIds) {
+        long version = sequence.incrementAndGet();
+        String payload = new InvalidationMessage(kind, ids, jobIds, origin, version).encode();
+        if (payload.length() > InvalidationMessage.MAX_LENGTH) {
+            payload = new InvalidationMessage(InvalidationMessage.Kind.RESYNC, List.of(), List.of(), origin, version)
+                    .encode();
+        }
+        bus.send(payload);
+        published.increment();
+    }
+
+    private static List<Long> nonNull(Collection<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    /**
+     * Versions seen from one origin. Concurrent transactions may commit in another order than they were numbered,
+     * so a skipped version only counts as lost once it has been missing for the grace period.
+     */
+    private static final class Sequence {
+        private long highest = -1;
+        private final Map<Long, Long> missingSince = new HashMap<>();
+
+        /** False when so much is missing that waiting for it makes no sense. */
+        synchronized boolean accept(long version, long nowNanos) {
+            if (highest < 0) {
+                highest = version;
+                return true;
+            }
+            if (version <= highest) {
+                missingSince.remove(version);
+                return true;
+            }
+            if (version - highest - 1 + missingSince.size() > MAX_MISSING) {
+                missingSince.clear();
+                highest = version;
+                return false;
+            }
+            for (long skipped = highest + 1; skipped < version; skipped++) {
+                missingSince.put(skipped, nowNanos);
+            }
+            highest = version;
+            return true;
+        }
+
+        synchronized boolean overdue(long nowNanos, long graceNanos) {
+            return missingSince.values().stream().anyMatch(since -> nowNanos - since >= graceNanos);
+        }
+
+        synchronized void forgetMissing() {
+            missingSince.clear();
+        }
+    }
+}
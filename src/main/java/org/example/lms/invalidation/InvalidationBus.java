@@ -0,0 +1,17 @@
+package org.example.lms.invalidation;
+
+/**
+ * Carries invalidation messages between the instances sharing one database.
+ */
+public interface InvalidationBus {
+
+    /** Called while the publishing transaction is still open; the message goes out only if it commits. */
+    void send(String payload);
+
+    interface Receiver {
+        void received(String payload);
+
+        /** Messages may have been lost, e.g. while the listening connection was down. */
+        void resync();
+    }
+}
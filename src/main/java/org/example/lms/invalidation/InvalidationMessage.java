@@ -0,0 +1,84 @@
+package org.example.lms.invalidation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One change made on one instance, small enough for a NOTIFY payload: {@code Q:42:7:k3x9ab:118} is question 42
+ * of job 7, the 118th message published by instance {@code k3x9ab}. A bulk change lists all its ids and jobs
+ * comma-separated in one message, {@code C:5,6,9:3:k3x9ab:119}. {@code jobIds} is empty when unknown. A change
+ * whose ids would not fit a payload is sent as a resync request instead, {@code R:::k3x9ab:120}.
+ */
+public record InvalidationMessage(Kind kind, List<Long> ids, List<Long> jobIds, String origin, long version) {
+    /** PostgreSQL rejects NOTIFY payloads of 8000 bytes and more. */
+    static final int MAX_LENGTH = 7900;
+
+    public InvalidationMessage {
+        ids = List.copyOf(ids);
+        jobIds = List.copyOf(jobIds);
+    }
+
+    public InvalidationMessage(Kind kind, long id, Long jobId, String origin, long version) {
+        this(kind, List.of(id), jobId == null ? List.of() : List.of(jobId), origin, version);
+    }
+
+    public long id() {
+        return ids.get(0);
+    }
+
+    public Long jobId() {
+        return jobIds.isEmpty() ? null : jobIds.get(0);
+    }
+
+    public String encode() {
+        return kind.code + ":" + join(ids) + ":" + join(jobIds) + ":" + origin + ":" + version;
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        String[] parts = payload == null ? new String[0] : payload.split(":", -1);
+        if (parts.length != 5 || parts[0].length() != 1 || parts[3].isEmpty()) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        try {
+            Kind kind = Kind.of(parts[0].charAt(0));
+            List<Long> ids = split(parts[1]);
+            if (ids.isEmpty() && kind != Kind.RESYNC) {
+                throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+            }
+            return new InvalidationMessage(kind, ids, split(parts[2]), parts[3], Long.parseLong(parts[4]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload, ex);
+        }
+    }
+
+    private static String join(List<Long> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> split(String values) {
+        return values.isEmpty() ? List.of() : Arrays.stream(values.split(",", -1)).map(Long::valueOf).toList();
+    }
+
+    public enum Kind {
+        JOB('J'),
+        QUESTION('Q'),
+        CANDIDATE('C'),
+        RESYNC('R');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind of(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation kind: " + code);
+        }
+    }
+}
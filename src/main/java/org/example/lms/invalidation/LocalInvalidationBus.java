@@ -0,0 +1,38 @@
+package org.example.lms.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-JVM stand-in for a single instance and for tests: messages are handed back to this instance's receiver
+ * after commit. Tests can {@link #send(String)} a payload with a foreign origin to play another instance.
+ */
+@Component
+@ConditionalOnProperty(name = "exam.invalidation.transport", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalInvalidationBus implements InvalidationBus {
+    private final ObjectProvider<Receiver> receiver;
+
+    @Override
+    public void send(String payload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            receiver.getObject().received(payload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                receiver.getObject().received(payload);
+            }
+        });
+    }
+
+    /** Plays a dropped and restored connection. */
+    public void reconnect() {
+        receiver.getObject().resync();
+    }
+}
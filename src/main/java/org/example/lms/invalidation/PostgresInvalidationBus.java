@@ -0,0 +1,184 @@
+package org.example.lms.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Sends through {@code pg_notify} on the publishing transaction's connection, so PostgreSQL delivers a message
+ * only once that transaction commits, in commit order. One thread per instance holds its own connection outside
+ * the pool, {@code LISTEN}s on the channel and polls for notifications. PostgreSQL keeps nothing for a listener
+ * that is gone, so after the connection drops and is opened again the receiver resynchronizes in full.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "exam.invalidation.transport", havingValue = "postgres")
+public class PostgresInvalidationBus implements InvalidationBus, SmartLifecycle {
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<Receiver> receiver;
+    private final String channel;
+    private final int pollIntervalMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectProvider<Receiver> receiver,
+            @Value("${exam.invalidation.channel:lms_invalidation}") String channel,
+            @Value("${exam.invalidation.poll-interval-ms:1000}") int pollIntervalMs,
+            @Value("${exam.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs
+    ) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("exam.invalidation.channel must be a plain lower-case identifier");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.receiver = receiver;
+        this.channel = channel;
+        this.pollIntervalMs = pollIntervalMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public void send(String payload) {
+        jdbcTemplate.query("select pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    /** Listens before the caches are first loaded, so nothing committed in between is missed. */
+    @Override
+    public void start() {
+        running = true;
+        Connection first = listen();
+        listener = new Thread(() -> pollLoop(first), "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener == null) {
+            return;
+        }
+        listener.interrupt();
+        try {
+            listener.join(pollIntervalMs + 5000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop(Connection connection) {
+        while (running) {
+            if (connection == null) {
+                if (!sleep(reconnectDelayMs)) {
+                    break;
+                }
+                connection = listen();
+                if (connection == null) {
+                    continue;
+                }
+                log.info("Invalidation listener reconnected channel={}", channel);
+                resync();
+            }
+            try {
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(pollIntervalMs);
+                if (notifications == null || notifications.length == 0) {
+                    // A silently dropped socket never fails the poll itself.
+                    if (!connection.isValid(5)) {
+                        throw new SQLException("Listening connection is no longer valid");
+                    }
+                    continue;
+                }
+                for (PGNotification notification : notifications) {
+                    deliver(notification.getParameter());
+                }
+            } catch (SQLException ex) {
+                if (running) {
+                    log.warn("Invalidation listener lost its connection channel={}: {}", channel, ex.getMessage());
+                }
+                close(connection);
+                connection = null;
+            }
+        }
+        close(connection);
+    }
+
+    private Connection listen() {
+        Connection connection = null;
+        try {
+            connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+            return connection;
+        } catch (SQLException ex) {
+            log.warn("Invalidation listener cannot connect channel={}: {}", channel, ex.getMessage());
+            close(connection);
+            return null;
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            receiver.getObject().received(payload);
+        } catch (RuntimeException ex) {
+            log.warn("Invalidation message failed payload={}", payload, ex);
+        }
+    }
+
+    private void resync() {
+        try {
+            receiver.getObject().resync();
+        } catch (RuntimeException ex) {
+            log.warn("Invalidation resync failed", ex);
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Already broken.
+        }
+    }
+}
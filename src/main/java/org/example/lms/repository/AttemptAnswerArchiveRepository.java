@@ -0,0 +1,7 @@
+package org.example.lms.repository;
+
+import org.example.lms.entity.AttemptAnswerArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AttemptAnswerArchiveRepository extends JpaRepository<AttemptAnswerArchiveEntity, Long> {
+}
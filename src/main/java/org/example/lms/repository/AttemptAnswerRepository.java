@@ -1,13 +1,33 @@
 package org.example.lms.repository;
 
 import org.example.lms.entity.AttemptAnswerEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AttemptAnswerRepository extends JpaRepository<AttemptAnswerEntity, Long> {
     List<AttemptAnswerEntity> findAllByAttemptId(Long attemptId);
 
+    List<AttemptAnswerEntity> findAllByAttemptIdIn(Collection<Long> attemptIds);
+
     Optional<AttemptAnswerEntity> findByAttemptIdAndQuestionId(Long attemptId, Long questionId);
+
+    /** Finished attempts older than {@code finishedBefore} whose answers are still kept row by row. */
+    @Query("""
+            select a.id from AttemptEntity a
+            where a.finished = true and a.finishedAt < :finishedBefore
+              and exists (select 1 from AttemptAnswerEntity x where x.attempt = a)
+            order by a.id
+            """)
+    List<Long> findArchivableAttemptIds(LocalDateTime finishedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("delete from AttemptAnswerEntity x where x.attempt.id in :attemptIds")
+    int deleteAllByAttemptIdIn(Collection<Long> attemptIds);
 }
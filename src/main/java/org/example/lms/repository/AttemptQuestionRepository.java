@@ -2,13 +2,25 @@ package org.example.lms.repository;
 
 import org.example.lms.entity.AttemptQuestionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AttemptQuestionRepository extends JpaRepository<AttemptQuestionEntity, Long> {
     List<AttemptQuestionEntity> findAllByAttemptId(Long attemptId);
 
+    List<AttemptQuestionEntity> findAllByAttemptIdIn(Collection<Long> attemptIds);
+
     List<AttemptQuestionEntity> findAllByAttemptIdOrderByDisplayOrderAsc(Long attemptId);
 
     boolean existsByQuestionId(Long questionId);
+
+    @Query("select distinct aq.question.id from AttemptQuestionEntity aq where aq.question.id in :questionIds")
+    List<Long> findUsedQuestionIds(Collection<Long> questionIds);
+
+    @Modifying
+    @Query("delete from AttemptQuestionEntity aq where aq.attempt.id in :attemptIds")
+    int deleteAllByAttemptIdIn(Collection<Long> attemptIds);
 }
@@ -2,8 +2,11 @@ package org.example.lms.repository;
 
 import org.example.lms.entity.AttemptEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +17,86 @@ public interface AttemptRepository extends JpaRepository<AttemptEntity, Long> {
 
     long countByCandidateId(Long candidateId);
 
+    @Query("select distinct a.candidate.id from AttemptEntity a where a.candidate.id in :candidateIds")
+    List<Long> findCandidateIdsWithAttempts(Collection<Long> candidateIds);
+
     List<AttemptEntity> findAllByCandidateIdOrderByStartedAtAsc(Long candidateId);
 
-    @Query("select a from AttemptEntity a join fetch a.candidate c order by a.startedAt desc")
+    @Query("select a.version from AttemptEntity a where a.id = :attemptId and a.candidate.id = :candidateId")
+    Optional<Long> findVersion(Long attemptId, Long candidateId);
+
+    /**
+     * Claims {@code clientSeq} for an unfinished attempt. Returns 0 when the attempt is missing, finished or already
+     * has an equal or newer sequence; the row lock also serializes concurrent saves of the same attempt. The version
+     * is bumped so that progress ETags change on every node.
+     */
+    @Modifying
+    @Query("""
+            update AttemptEntity a set a.lastClientSeq = :clientSeq, a.version = a.version + 1
+            where a.id = :attemptId and a.candidate.id = :candidateId and a.finished = false and a.startedAt is not null
+              and a.submittedAt is null and (a.lastClientSeq is null or a.lastClientSeq < :clientSeq)
+            """)
+    int advanceClientSeq(Long attemptId, Long candidateId, Long clientSeq);
+
+    /**
+     * Closes an unfinished attempt to further saves once its answer sheet is queued. The row lock makes the submit
+     * wait for a save that is still running, so the sheet is scored over everything saved before it. Managed
+     * entities are detached afterwards, so a later write in the same transaction does not carry the old version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update AttemptEntity a set a.submittedAt = :submittedAt, a.version = a.version + 1
+            where a.id = :attemptId and a.finished = false and a.submittedAt is null
+            """)
+    int markSubmitted(Long attemptId, LocalDateTime submittedAt);
+
+    /** Ends an attempt whose answer sheet could not be scored, so its candidate is free to start another one. */
+    @Modifying
+    @Query("""
+            update AttemptEntity a set a.finished = true, a.finishedAt = :finishedAt, a.version = a.version + 1
+            where a.id = :attemptId and a.finished = false
+            """)
+    int closeUnscored(Long attemptId, LocalDateTime finishedAt);
+
+    /** Progress saves without a {@code clientSeq} still change what the attempt's ETag stands for. */
+    @Modifying
+    @Query("update AttemptEntity a set a.version = a.version + 1 where a.id = :attemptId")
+    void incrementVersion(Long attemptId);
+
+    /** Started attempts only: a prepared attempt is not a result until the candidate starts it. */
+    @Query("""
+            select a from AttemptEntity a join fetch a.candidate c join fetch a.job j
+            where a.startedAt is not null
+            order by a.startedAt desc
+            """)
     List<AttemptEntity> findAllWithCandidateOrderByStartedAtDesc();
+
+    @Query("select a from AttemptEntity a join fetch a.candidate c join fetch a.job j where a.id in :ids")
+    List<AttemptEntity> findAllWithCandidateByIdIn(Collection<Long> ids);
+
+    long countBySessionId(Long sessionId);
+
+    long countBySessionIdAndStartedAtIsNotNull(Long sessionId);
+
+    @Query("select a.id from AttemptEntity a where a.startedAt is null and a.session.windowEnd <= :now")
+    List<Long> findUnstartedIdsOfClosedSessions(LocalDateTime now);
+
+    @Query("""
+            select a.job.id as jobId, a.score as score, count(a) as attempts
+            from AttemptEntity a
+            where a.finished = true and a.score is not null
+            group by a.job.id, a.score
+            """)
+    List<ScoreCount> countFinishedByJobAndScore();
+
+    @Query("select min(a.finishedAt) from AttemptEntity a where a.finished = true")
+    LocalDateTime findFirstFinishedAt();
+
+    interface ScoreCount {
+        Long getJobId();
+
+        Double getScore();
+
+        Long getAttempts();
+    }
 }
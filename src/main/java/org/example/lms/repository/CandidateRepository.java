@@ -1,16 +1,98 @@
 package org.example.lms.repository;
 
 import org.example.lms.entity.CandidateEntity;
+import org.example.lms.entity.JobEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CandidateRepository extends JpaRepository<CandidateEntity, Long> {
+    @Override
+    @EntityGraph(attributePaths = "job")
+    List<CandidateEntity> findAll();
+
     Optional<CandidateEntity> findByLoginIgnoreCase(String login);
 
     boolean existsByLoginIgnoreCase(String login);
 
+    @Query("select upper(c.login) from CandidateEntity c where upper(c.login) in :upperLogins")
+    List<String> findUpperLoginsIn(Collection<String> upperLogins);
+
     boolean existsByLoginIgnoreCaseAndIdNot(String login, Long id);
 
-    long countByProfessionIgnoreCase(String profession);
+    long countByJobId(Long jobId);
+
+    @Query(value = """
+            select c.id as id, c.fullName as fullName, j.name as profession, c.login as login, c.active as active,
+                   c.email as email
+            from CandidateEntity c join c.job j
+            where (:jobId is null or j.id = :jobId)
+              and (:active is null or c.active = :active)
+              and (:pattern is null or lower(c.fullName) like :pattern escape '\\'
+                   or lower(c.login) like :pattern escape '\\')
+            """,
+            countQuery = """
+            select count(c.id)
+            from CandidateEntity c
+            where (:jobId is null or c.job.id = :jobId)
+              and (:active is null or c.active = :active)
+              and (:pattern is null or lower(c.fullName) like :pattern escape '\\'
+                   or lower(c.login) like :pattern escape '\\')
+            """)
+    Page<CandidateRow> findRows(Long jobId, Boolean active, String pattern, Pageable pageable);
+
+    @Query("select c.id as id, c.fullName as fullName, c.login as login, c.job.id as jobId, c.active as active from CandidateEntity c")
+    List<CandidateSearchRow> findAllSearchRows();
+
+    @Query("""
+            select c.id as id, c.fullName as fullName, c.login as login, c.job.id as jobId, c.active as active
+            from CandidateEntity c
+            where c.id in :ids
+            """)
+    List<CandidateSearchRow> findSearchRowsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("update CandidateEntity c set c.active = :active where c.id in :ids")
+    int updateActive(Collection<Long> ids, boolean active);
+
+    @Modifying
+    @Query("update CandidateEntity c set c.job = :job where c.id in :ids")
+    int updateJob(Collection<Long> ids, JobEntity job);
+
+    @Modifying
+    @Query("delete from CandidateEntity c where c.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    interface CandidateRow {
+        Long getId();
+
+        String getFullName();
+
+        String getProfession();
+
+        String getLogin();
+
+        Boolean getActive();
+
+        String getEmail();
+    }
+
+    interface CandidateSearchRow {
+        Long getId();
+
+        String getFullName();
+
+        String getLogin();
+
+        Long getJobId();
+
+        Boolean getActive();
+    }
 }
@@ -0,0 +1,31 @@
+package org.example.lms.repository;
+
+import org.example.lms.entity.ExamSessionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExamSessionRepository extends JpaRepository<ExamSessionEntity, Long> {
+
+    /** Sessions not prepared yet whose window opens before {@code horizon} and has not closed by {@code now}. */
+    @Query("""
+            select s.id from ExamSessionEntity s
+            where s.preparedAt is null and s.windowStart <= :horizon and s.windowEnd > :now
+            order by s.windowStart
+            """)
+    List<Long> findIdsDueForPreparation(LocalDateTime horizon, LocalDateTime now);
+
+    long countByJobId(Long jobId);
+
+    @Modifying
+    @Query(value = "delete from exam_session_candidates where candidate_id = :candidateId", nativeQuery = true)
+    int removeCandidate(Long candidateId);
+
+    @Modifying
+    @Query(value = "delete from exam_session_candidates where candidate_id in (:candidateIds)", nativeQuery = true)
+    int removeCandidates(Collection<Long> candidateIds);
+}
@@ -1,17 +1,93 @@
 package org.example.lms.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.lms.entity.JobEntity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface JobRepository extends JpaRepository<JobEntity, Long> {
+    String NAME_LOOKUP_CACHE_REGION = "jobs-by-name";
+
     List<JobEntity> findAllByOrderByNameAsc();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = NAME_LOOKUP_CACHE_REGION)
+    })
     Optional<JobEntity> findByNameIgnoreCase(String name);
 
     boolean existsByNameIgnoreCase(String name);
 
     boolean existsByNameIgnoreCaseAndIdNot(String name, Long id);
+
+    @Query("""
+            select j.id as jobId,
+                   coalesce(cs.total, 0) as candidateCount,
+                   coalesce(qs.total, 0) as questionCount
+            from JobEntity j
+            left join (
+                select c.job.id as jobId, count(c.id) as total
+                from CandidateEntity c
+                group by c.job.id
+            ) cs on cs.jobId = j.id
+            left join (
+                select q.job.id as jobId, count(q.id) as total
+                from QuestionEntity q
+                group by q.job.id
+            ) qs on qs.jobId = j.id
+            """)
+    List<JobStats> findAllStats();
+
+    @Query("""
+            select j.id as jobId,
+                   (select count(c.id) from CandidateEntity c where c.job.id = j.id) as candidateCount,
+                   (select count(q.id) from QuestionEntity q where q.job.id = j.id) as questionCount
+            from JobEntity j
+            where j.id in :jobIds
+            """)
+    List<JobStats> findStatsByJobIdIn(Collection<Long> jobIds);
+
+    @Query(value = """
+            select j.id as id, j.name as name, j.description as description,
+                   j.active as active, j.createdAt as createdAt
+            from JobEntity j
+            where (:active is null or j.active = :active)
+              and (:pattern is null or lower(j.name) like :pattern escape '\\')
+            """,
+            countQuery = """
+            select count(j.id)
+            from JobEntity j
+            where (:active is null or j.active = :active)
+              and (:pattern is null or lower(j.name) like :pattern escape '\\')
+            """)
+    Page<JobRow> findRows(Boolean active, String pattern, Pageable pageable);
+
+    interface JobRow {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+
+        Boolean getActive();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface JobStats {
+        Long getJobId();
+
+        Long getCandidateCount();
+
+        Long getQuestionCount();
+    }
 }
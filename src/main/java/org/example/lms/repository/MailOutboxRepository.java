@@ -0,0 +1,31 @@
+package org.example.lms.repository;
+
+import org.example.lms.entity.MailOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Long> {
+    List<MailOutboxEntity> findAllByClaimTokenOrderByIdAsc(String claimToken);
+
+    List<MailOutboxEntity> findAllByAttemptIdOrderByIdAsc(Long attemptId);
+
+    /**
+     * Claims up to {@code limit} due messages by pushing their {@code next_attempt_at} to {@code leaseUntil}; a
+     * dispatcher that dies mid-batch leaves them due again once the lease runs out.
+     */
+    @Modifying
+    @Query(value = """
+            update mail_outbox set claim_token = :claimToken, next_attempt_at = :leaseUntil
+            where failed_at is null and next_attempt_at <= :now
+              and id in (
+                select id from mail_outbox
+                where failed_at is null and next_attempt_at <= :now
+                order by id
+                limit :limit)
+            """, nativeQuery = true)
+    int claim(String claimToken, LocalDateTime now, LocalDateTime leaseUntil, int limit);
+}
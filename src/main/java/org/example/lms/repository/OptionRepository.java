@@ -2,6 +2,8 @@ package org.example.lms.repository;
 
 import org.example.lms.entity.OptionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
@@ -9,5 +11,46 @@ import java.util.List;
 public interface OptionRepository extends JpaRepository<OptionEntity, Long> {
     List<OptionEntity> findAllByQuestionId(Long questionId);
 
-    List<OptionEntity> findAllByQuestionIdIn(Collection<Long> questionIds);
+    List<OptionEntity> findAllByQuestionVersionIdOrderByIdAsc(Long questionVersionId);
+
+    List<OptionEntity> findAllByQuestionVersionIdInOrderByIdAsc(Collection<Long> questionVersionIds);
+
+    @Query("""
+            select o.id as id, o.question.id as questionId, o.text as text, o.correct as correct
+            from OptionEntity o
+            where o.questionVersion.id in :questionVersionIds
+            order by o.id
+            """)
+    List<OptionRow> findRowsByQuestionVersionIdIn(Collection<Long> questionVersionIds);
+
+    /** Options of every question's current version. */
+    @Query("""
+            select o.id as id, q.id as questionId, o.text as text, o.correct as correct
+            from OptionEntity o join o.question q
+            where o.questionVersion.id = q.currentVersion.id
+            order by o.id
+            """)
+    List<OptionRow> findAllRows();
+
+    @Query("""
+            select o.id as id, q.id as questionId, o.text as text, o.correct as correct
+            from OptionEntity o join o.question q
+            where q.id in :questionIds and o.questionVersion.id = q.currentVersion.id
+            order by o.id
+            """)
+    List<OptionRow> findCurrentRowsByQuestionIdIn(Collection<Long> questionIds);
+
+    @Modifying
+    @Query("delete from OptionEntity o where o.question.id in :questionIds")
+    int deleteAllByQuestionIdIn(Collection<Long> questionIds);
+
+    interface OptionRow {
+        Long getId();
+
+        Long getQuestionId();
+
+        String getText();
+
+        Boolean getCorrect();
+    }
 }
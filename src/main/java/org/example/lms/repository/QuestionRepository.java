@@ -1,14 +1,96 @@
 package org.example.lms.repository;
 
+import org.example.lms.entity.JobEntity;
 import org.example.lms.entity.QuestionEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<QuestionEntity, Long> {
+    @EntityGraph(attributePaths = "job")
     List<QuestionEntity> findAllByActiveTrueOrderByIdDesc();
 
-    List<QuestionEntity> findAllByActiveTrueAndProfessionIgnoreCaseOrderByIdDesc(String profession);
+    List<QuestionEntity> findAllByActiveTrueAndJobIdOrderByIdDesc(Long jobId);
 
-    long countByProfessionIgnoreCase(String profession);
+    long countByJobId(Long jobId);
+
+    @Query(value = """
+            select q.id as id, q.title as title, j.name as profession, q.text as text,
+                   q.active as active, q.createdBy as createdBy, q.currentVersion.id as currentVersionId
+            from QuestionEntity q join q.job j
+            where (:jobId is null or j.id = :jobId)
+              and (:active is null or q.active = :active)
+              and (:pattern is null or lower(q.title) like :pattern escape '\\'
+                   or lower(q.text) like :pattern escape '\\')
+            """,
+            countQuery = """
+            select count(q.id)
+            from QuestionEntity q
+            where (:jobId is null or q.job.id = :jobId)
+              and (:active is null or q.active = :active)
+              and (:pattern is null or lower(q.title) like :pattern escape '\\'
+                   or lower(q.text) like :pattern escape '\\')
+            """)
+    Page<QuestionRow> findRows(Long jobId, Boolean active, String pattern, Pageable pageable);
+
+    @Query("select q.id as id, q.job.id as jobId, q.active as active, q.title as title, q.text as text from QuestionEntity q")
+    List<QuestionSearchRow> findAllSearchRows();
+
+    @Query("""
+            select q.id as id, q.job.id as jobId, q.active as active, q.title as title, q.text as text
+            from QuestionEntity q
+            where q.id in :ids
+            """)
+    List<QuestionSearchRow> findSearchRowsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("update QuestionEntity q set q.active = :active where q.id in :ids")
+    int updateActive(Collection<Long> ids, boolean active);
+
+    @Modifying
+    @Query("update QuestionEntity q set q.job = :job where q.id in :ids")
+    int updateJob(Collection<Long> ids, JobEntity job);
+
+    /** The current version pointer references a version, so it is cleared before the versions go. */
+    @Modifying
+    @Query("update QuestionEntity q set q.currentVersion = null where q.id in :ids")
+    int clearCurrentVersions(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from QuestionEntity q where q.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    interface QuestionRow {
+        Long getId();
+
+        String getTitle();
+
+        String getProfession();
+
+        String getText();
+
+        Boolean getActive();
+
+        String getCreatedBy();
+
+        Long getCurrentVersionId();
+    }
+
+    interface QuestionSearchRow {
+        Long getId();
+
+        Long getJobId();
+
+        Boolean getActive();
+
+        String getTitle();
+
+        String getText();
+    }
 }
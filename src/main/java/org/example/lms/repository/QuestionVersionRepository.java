@@ -0,0 +1,17 @@
+package org.example.lms.repository;
+
+import org.example.lms.entity.QuestionVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface QuestionVersionRepository extends JpaRepository<QuestionVersionEntity, Long> {
+    List<QuestionVersionEntity> findAllByQuestionIdOrderByVersionAsc(Long questionId);
+
+    @Modifying
+    @Query("delete from QuestionVersionEntity v where v.question.id in :questionIds")
+    int deleteAllByQuestionIdIn(Collection<Long> questionIds);
+}
@@ -0,0 +1,53 @@
+package org.example.lms.repository;
+
+import org.example.lms.entity.ScoreRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ScoreRollupRepository extends JpaRepository<ScoreRollupEntity, ScoreRollupEntity.Key> {
+    List<ScoreRollupEntity> findAllByJobIdAndDayBetween(Long jobId, LocalDate from, LocalDate to);
+
+    @Query("select max(r.day) from ScoreRollupEntity r")
+    LocalDate findLastDay();
+
+    @Modifying
+    @Query(value = "delete from score_daily_rollups where rollup_day >= :from", nativeQuery = true)
+    int deleteFromDay(LocalDate from);
+
+    @Modifying
+    @Query(value = """
+            insert into score_daily_rollups (job_id, rollup_day, score_bin, attempts, score_sum)
+            select a.job_id, cast(a.finished_at as date), least(cast(floor(a.score / 10) as integer), 9),
+                   count(*), sum(a.score)
+            from attempts a
+            where a.finished = true and a.score is not null and a.finished_at >= :from and a.finished_at < :to
+            group by a.job_id, cast(a.finished_at as date), least(cast(floor(a.score / 10) as integer), 9)
+            """, nativeQuery = true)
+    int rollUp(LocalDateTime from, LocalDateTime to);
+
+    /** Same buckets as {@link #rollUp}, computed live for one job; used for the day that has not closed yet. */
+    @Query(value = """
+            select cast(a.finished_at as date) as rollupDay, least(cast(floor(a.score / 10) as integer), 9) as scoreBin,
+                   count(*) as attempts, sum(a.score) as scoreSum
+            from attempts a
+            where a.job_id = :jobId and a.finished = true and a.score is not null
+              and a.finished_at >= :from and a.finished_at < :to
+            group by cast(a.finished_at as date), least(cast(floor(a.score / 10) as integer), 9)
+            """, nativeQuery = true)
+    List<BinRow> findLiveBins(Long jobId, LocalDateTime from, LocalDateTime to);
+
+    interface BinRow {
+        LocalDate getRollupDay();
+
+        Integer getScoreBin();
+
+        Long getAttempts();
+
+        Double getScoreSum();
+    }
+}
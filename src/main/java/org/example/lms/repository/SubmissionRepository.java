@@ -0,0 +1,37 @@
+package org.example.lms.repository;
+
+import org.example.lms.entity.SubmissionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SubmissionRepository extends JpaRepository<SubmissionEntity, Long> {
+    Optional<SubmissionEntity> findByAttemptId(Long attemptId);
+
+    List<SubmissionEntity> findAllByClaimTokenOrderByIdAsc(String claimToken);
+
+    long countByFailedAtIsNull();
+
+    long countByFailedAtIsNullAndIdLessThan(Long id);
+
+    /**
+     * Claims up to {@code limit} of the oldest unclaimed rows, or rows whose claim went stale because a worker died.
+     * The claim condition is repeated outside the subquery so that two workers racing for the same rows cannot both
+     * win: the loser re-checks it against the row the winner updated.
+     */
+    @Modifying
+    @Query(value = """
+            update submission_queue set claim_token = :claimToken, claimed_at = :now, tries = tries + 1
+            where failed_at is null and (claimed_at is null or claimed_at < :staleBefore)
+              and id in (
+                select id from submission_queue
+                where failed_at is null and (claimed_at is null or claimed_at < :staleBefore)
+                order by id
+                limit :limit)
+            """, nativeQuery = true)
+    int claim(String claimToken, LocalDateTime now, LocalDateTime staleBefore, int limit);
+}
@@ -0,0 +1,520 @@
+package org.example.lms.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over candidate full name and login (passport).
+ * <p>
+ * Each candidate gets a dense internal doc id. Postings are sorted {@code int[]} per trigram, so a lookup
+ * touches only the postings of the query trigrams instead of every candidate row. Text goes through
+ * {@link SearchTextNormalizer}, which lets Latin and Cyrillic spellings of the same name meet.
+ */
+@Slf4j
+@Component
+public class CandidateSearchIndex {
+    private static final int MIN_SUBSTRING_QUERY_LENGTH = 3;
+    private static final double MIN_RANKED_OVERLAP = 0.5;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Counters sized to the doc count, kept for reuse; one per core at most, so idle request threads hold none. */
+    private final BlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    private final Map<Long, Integer> docIdByCandidateId = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final ArrayDeque<Integer> freeDocIds = new ArrayDeque<>();
+
+    public void rebuild(Collection<Entry> entries) {
+        long started = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            docIdByCandidateId.clear();
+            postings.clear();
+            docs.clear();
+            freeDocIds.clear();
+            scratchPool.clear();
+            entries.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexStats stats = stats();
+        log.info("Candidate search index built docs={} trigrams={} postings={} estimatedBytes={} scratchBytes={} "
+                        + "tookMs={}", stats.documentCount(), stats.trigramCount(), stats.postingCount(),
+                stats.estimatedBytes(), stats.scratchBytes(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces a candidate. Inside a transaction the change is applied after commit,
+     * so a rolled back write never becomes searchable.
+     */
+    public void put(Entry entry) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putLocked(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long candidateId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(candidateId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Optional<Entry> find(Long candidateId) {
+        lock.readLock().lock();
+        try {
+            Integer docId = docIdByCandidateId.get(candidateId);
+            return docId == null ? Optional.empty() : Optional.of(docs.get(docId).entry());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked typeahead. Candidates containing every query trigram (word-prefix matches) come first,
+     * shorter records ranking higher; when there are fewer than {@code limit} of them, candidates sharing
+     * at least half of the query trigrams fill the rest, which tolerates spelling variants.
+     */
+    public List<Hit> search(String query, int limit) {
+        String normalized = SearchTextNormalizer.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        long[] queryTrigrams = trigrams(" " + normalized);
+        if (queryTrigrams.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[queryTrigrams.length];
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                lists[i] = postings.getOrDefault(queryTrigrams[i], PostingList.EMPTY);
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            int n = lists.length;
+            PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+
+            int[] exact = intersect(lists);
+            int[] exactByLength = new int[Math.min(exact.length, limit)];
+            int kept = 0;
+            for (int docId : exact) {
+                // Every exact match shares all n trigrams, so the shortest records score highest.
+                int length = docs.get(docId).trigramCount();
+                if (kept < exactByLength.length) {
+                    exactByLength[kept++] = docId;
+                } else if (length < docs.get(exactByLength[kept - 1]).trigramCount()) {
+                    exactByLength[kept - 1] = docId;
+                } else {
+                    continue;
+                }
+                for (int i = kept - 1; i > 0
+                        && docs.get(exactByLength[i]).trigramCount() < docs.get(exactByLength[i - 1]).trigramCount(); i--) {
+                    int swap = exactByLength[i];
+                    exactByLength[i] = exactByLength[i - 1];
+                    exactByLength[i - 1] = swap;
+                }
+            }
+
+            Set<Integer> ranked = new HashSet<>();
+            for (int docId : exactByLength) {
+                Doc doc = docs.get(docId);
+                best.offer(new Hit(doc.entry(), (double) n / Math.max(n, doc.trigramCount()) + 1.0));
+                ranked.add(docId);
+            }
+
+            if (ranked.size() < limit) {
+                int minShared = Math.max(1, (int) Math.ceil(n * MIN_RANKED_OVERLAP));
+                Scratch scratch = borrowScratch(docs.size());
+                try {
+                    // A doc sharing minShared trigrams must appear in one of the n - minShared + 1 shortest lists;
+                    // the rest are either counted too or probed per candidate, whichever touches fewer postings.
+                    int scanned = n - minShared + 1;
+                    long scannedPostings = 0;
+                    for (int i = 0; i < scanned; i++) {
+                        scannedPostings += lists[i].size;
+                    }
+                    long remainingPostings = 0;
+                    for (int i = scanned; i < n; i++) {
+                        remainingPostings += lists[i].size;
+                    }
+                    if (remainingPostings <= scannedPostings * (n - scanned) * 8L) {
+                        scanned = n;
+                    }
+
+                    for (int i = 0; i < scanned; i++) {
+                        PostingList list = lists[i];
+                        for (int j = 0; j < list.size; j++) {
+                            scratch.increment(list.ids[j]);
+                        }
+                    }
+
+                    for (int t = 0; t < scratch.touchedCount; t++) {
+                        int docId = scratch.touched[t];
+                        if (ranked.contains(docId)) {
+                            continue;
+                        }
+
+                        int count = scratch.counts[docId];
+                        for (int i = scanned; i < n && count + (n - i) >= minShared; i++) {
+                            if (lists[i].contains(docId)) {
+                                count++;
+                            }
+                        }
+                        if (count < minShared) {
+                            continue;
+                        }
+
+                        Doc doc = docs.get(docId);
+                        double score = (double) count / (n + doc.trigramCount() - count);
+                        if (best.size() == limit && best.peek().score() >= score + 0.5) {
+                            continue;
+                        }
+                        if (doc.searchText().contains(normalized)) {
+                            score += 0.5;
+                        }
+                        offer(best, new Hit(doc.entry(), score), limit);
+                    }
+                } finally {
+                    scratchPool.offer(scratch);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(hit -> hit.entry().candidateId()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Candidates whose normalized name or login contains the normalized query.
+     * Queries of three or more characters are narrowed by intersecting trigram postings first.
+     */
+    public Set<Long> findMatchingIds(String query) {
+        String normalized = SearchTextNormalizer.normalize(query);
+        if (normalized.isEmpty()) {
+            return Set.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = new HashSet<>();
+
+            if (normalized.length() < MIN_SUBSTRING_QUERY_LENGTH) {
+                for (Doc doc : docs) {
+                    if (doc != null && doc.matches(normalized)) {
+                        result.add(doc.entry().candidateId());
+                    }
+                }
+                return result;
+            }
+
+            long[] queryTrigrams = trigrams(normalized);
+            PostingList[] lists = new PostingList[queryTrigrams.length];
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                lists[i] = postings.getOrDefault(queryTrigrams[i], PostingList.EMPTY);
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            for (int docId : intersect(lists)) {
+                Doc doc = docs.get(docId);
+                if (doc != null && doc.matches(normalized)) {
+                    result.add(doc.entry().candidateId());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public IndexStats stats() {
+        lock.readLock().lock();
+        try {
+            long postingCount = 0;
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                postingCount += list.size;
+                // HashMap node + boxed Long key + PostingList object + int[] header and capacity.
+                bytes += 32 + 24 + 24 + 16 + 4L * list.ids.length;
+            }
+            bytes += 16L + 4L * postings.size() * 2;
+
+            int documentCount = 0;
+            for (Doc doc : docs) {
+                if (doc == null) {
+                    continue;
+                }
+                documentCount++;
+                // Doc/Entry objects, map node + boxed key, and the strings they keep.
+                bytes += 32 + 40 + 56
+                        + stringBytes(doc.searchText())
+                        + stringBytes(doc.entry().fullName()) + stringBytes(doc.entry().login());
+            }
+
+            // Lookup counters waiting in the pool for the next search.
+            long scratchBytes = 0;
+            for (Scratch scratch : scratchPool) {
+                scratchBytes += scratch.estimatedBytes();
+            }
+
+            return new IndexStats(documentCount, postings.size(), postingCount, bytes + scratchBytes, scratchBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Scratch borrowScratch(int capacity) {
+        Scratch scratch = scratchPool.poll();
+        return (scratch == null ? new Scratch() : scratch).reset(capacity);
+    }
+
+    private void putLocked(Entry entry) {
+        removeLocked(entry.candidateId());
+
+        String name = SearchTextNormalizer.normalize(entry.fullName());
+        String login = SearchTextNormalizer.normalize(entry.login());
+        String searchText = (name + " " + login).trim();
+        long[] docTrigrams = trigrams(" " + searchText + " ");
+
+        int docId = freeDocIds.isEmpty() ? docs.size() : freeDocIds.poll();
+        Doc doc = new Doc(entry, searchText, name.length(), docTrigrams.length);
+        if (docId == docs.size()) {
+            docs.add(doc);
+        } else {
+            docs.set(docId, doc);
+        }
+        docIdByCandidateId.put(entry.candidateId(), docId);
+
+        for (long trigram : docTrigrams) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(docId);
+        }
+    }
+
+    private void removeLocked(Long candidateId) {
+        Integer docId = docIdByCandidateId.remove(candidateId);
+        if (docId == null) {
+            return;
+        }
+
+        Doc doc = docs.get(docId);
+        for (long trigram : trigrams(" " + doc.searchText() + " ")) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+
+        docs.set(docId, null);
+        freeDocIds.add(docId);
+    }
+
+    /**
+     * Intersects posting lists already sorted by size, galloping through the longer lists.
+     */
+    private static int[] intersect(PostingList[] lists) {
+        if (lists.length == 0 || lists[0].size == 0) {
+            return new int[0];
+        }
+
+        int[] current = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int currentSize = current.length;
+        for (int i = 1; i < lists.length && currentSize > 0; i++) {
+            PostingList list = lists[i];
+            int kept = 0;
+            int from = 0;
+            for (int j = 0; j < currentSize && from < list.size; j++) {
+                from = list.gallop(current[j], from);
+                if (from < list.size && list.ids[from] == current[j]) {
+                    current[kept++] = current[j];
+                }
+            }
+            currentSize = kept;
+        }
+        return Arrays.copyOf(current, currentSize);
+    }
+
+    private static void offer(PriorityQueue<Hit> best, Hit hit, int limit) {
+        if (best.size() < limit) {
+            best.offer(hit);
+        } else if (best.peek().score() < hit.score()) {
+            best.poll();
+            best.offer(hit);
+        }
+    }
+
+    /**
+     * Distinct trigrams of the text, each packed into a long as three 16-bit chars.
+     */
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+
+        long[] result = new long[text.length() - 2];
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40L + value.length();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Entry(Long candidateId, String fullName, String login, Long jobId, Boolean active) {
+    }
+
+    public record Hit(Entry entry, double score) {
+    }
+
+    /** {@code estimatedBytes} includes {@code scratchBytes}, the lookup counters kept for reuse. */
+    public record IndexStats(int documentCount, int trigramCount, long postingCount, long estimatedBytes,
+            long scratchBytes) {
+    }
+
+    /**
+     * {@code searchText} is the normalized name, a space, then the normalized login.
+     */
+    private record Doc(Entry entry, String searchText, int nameLength, int trigramCount) {
+        boolean matches(String normalizedQuery) {
+            int at = searchText.indexOf(normalizedQuery);
+            while (at >= 0) {
+                // A hit must sit inside the name or inside the login, not across the separator.
+                if (at + normalizedQuery.length() <= nameLength || at > nameLength) {
+                    return true;
+                }
+                at = searchText.indexOf(normalizedQuery, at + 1);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Counters reused across lookups; only the touched slots are cleared.
+     */
+    private static final class Scratch {
+        private int[] counts = new int[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        Scratch reset(int capacity) {
+            for (int i = 0; i < touchedCount; i++) {
+                counts[touched[i]] = 0;
+            }
+            touchedCount = 0;
+            if (counts.length < capacity) {
+                counts = new int[capacity];
+                touched = new int[capacity];
+            }
+            return this;
+        }
+
+        long estimatedBytes() {
+            // The object and two int[] headers and capacity.
+            return 24 + 2 * (16 + 4L * counts.length);
+        }
+
+        void increment(int docId) {
+            if (counts[docId]++ == 0) {
+                touched[touchedCount++] = docId;
+            }
+        }
+    }
+
+    private static final class PostingList {
+        static final PostingList EMPTY = new PostingList();
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int docId) {
+            int position = Arrays.binarySearch(ids, 0, size, docId);
+            if (position >= 0) {
+                return;
+            }
+
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = docId;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int position = Arrays.binarySearch(ids, 0, size, docId);
+            if (position < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int docId) {
+            return Arrays.binarySearch(ids, 0, size, docId) >= 0;
+        }
+
+        /**
+         * First position at or after {@code from} holding a value {@code >= docId}.
+         */
+        int gallop(int docId, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && ids[high] < docId) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+
+            int position = Arrays.binarySearch(ids, low, high, docId);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+}
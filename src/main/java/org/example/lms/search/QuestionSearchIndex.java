@@ -0,0 +1,275 @@
+package org.example.lms.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over question title, text and option texts.
+ * <p>
+ * Terms come from {@link SearchTokenizer}. A title hit weighs 3, text 2 and an option 1; scores are
+ * weight times idf, scaled by the share of query terms matched. The last query term also matches as a
+ * prefix, so results show up while HR is still typing.
+ */
+@Slf4j
+@Component
+public class QuestionSearchIndex {
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TEXT_WEIGHT = 2f;
+    private static final float OPTION_WEIGHT = 1f;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}'`‘’ʻʼ]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    public void rebuild(Collection<Entry> entries) {
+        long started = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            entries.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Question search index built docs={} terms={} tookMs={}",
+                docs.size(), postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces a question once the surrounding transaction commits.
+     */
+    public void put(Entry entry) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putLocked(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long questionId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(questionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public SearchPage search(String query, Long jobId, Boolean active, int page, int size) {
+        List<String> terms = SearchTokenizer.words(query);
+        if (terms.isEmpty()) {
+            return new SearchPage(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocs = docs.size();
+            Map<Long, Float> scores = new HashMap<>();
+            Map<Long, Integer> matchedTerms = new HashMap<>();
+            Set<String> matchedStems = new HashSet<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                Map<Long, Float> termWeights = collectTermWeights(terms.get(i), last, matchedStems);
+                float idf = (float) Math.log(1 + (totalDocs - termWeights.size() + 0.5) / (termWeights.size() + 0.5));
+
+                termWeights.forEach((questionId, weight) -> {
+                    scores.merge(questionId, weight * idf, Float::sum);
+                    matchedTerms.merge(questionId, 1, Integer::sum);
+                });
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>();
+            for (Map.Entry<Long, Float> scored : scores.entrySet()) {
+                Doc doc = docs.get(scored.getKey());
+                if ((jobId != null && !jobId.equals(doc.entry().jobId()))
+                        || (active != null && !active.equals(doc.entry().active()))) {
+                    continue;
+                }
+                float coordination = (float) matchedTerms.get(scored.getKey()) / terms.size();
+                scored.setValue(scored.getValue() * coordination);
+                ranked.add(scored);
+            }
+            ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+            int from = Math.min(page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            List<Hit> hits = new ArrayList<>(to - from);
+            for (Map.Entry<Long, Float> scored : ranked.subList(from, to)) {
+                Entry entry = docs.get(scored.getKey()).entry();
+                hits.add(new Hit(
+                        entry,
+                        scored.getValue(),
+                        highlight(entry.title(), matchedStems, Integer.MAX_VALUE),
+                        highlight(entry.text(), matchedStems, SNIPPET_LENGTH),
+                        entry.options().stream()
+                                .map(option -> highlight(option, matchedStems, Integer.MAX_VALUE))
+                                .filter(option -> option.contains("<em>"))
+                                .toList()));
+            }
+
+            return new SearchPage(hits, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Postings for one query word. The last word is still being typed, so it also matches terms it is a
+     * prefix of, and stems that the partial word has already run past ("testi" still finds "test").
+     */
+    private Map<Long, Float> collectTermWeights(String word, boolean prefix, Set<String> matchedStems) {
+        String term = SearchTokenizer.stem(word);
+        Map<Long, Float> exact = postings.get(term);
+        if (exact != null) {
+            matchedStems.add(term);
+        }
+        if (!prefix) {
+            return exact == null ? Map.of() : exact;
+        }
+
+        Map<Long, Float> merged = exact == null ? new HashMap<>() : new HashMap<>(exact);
+        for (int length = word.length() - 1; length >= Math.max(3, word.length() - 3); length--) {
+            String shorter = word.substring(0, length);
+            Map<Long, Float> shorterPostings = postings.get(shorter);
+            if (shorterPostings != null) {
+                matchedStems.add(shorter);
+                shorterPostings.forEach((questionId, weight) -> merged.merge(questionId, weight, Math::max));
+            }
+        }
+
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matchedStems.add(entry.getKey());
+            entry.getValue().forEach((questionId, weight) -> merged.merge(questionId, weight, Math::max));
+        }
+        return merged;
+    }
+
+    private void putLocked(Entry entry) {
+        removeLocked(entry.questionId());
+
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, entry.title(), TITLE_WEIGHT);
+        addTerms(weights, entry.text(), TEXT_WEIGHT);
+        entry.options().forEach(option -> addTerms(weights, option, OPTION_WEIGHT));
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(entry.questionId(), weight));
+        docs.put(entry.questionId(), new Doc(entry, weights.keySet()));
+    }
+
+    private void removeLocked(Long questionId) {
+        Doc doc = docs.remove(questionId);
+        if (doc == null) {
+            return;
+        }
+
+        for (String term : doc.terms()) {
+            Map<Long, Float> list = postings.get(term);
+            if (list != null) {
+                list.remove(questionId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String term : SearchTokenizer.tokenize(text)) {
+            // Repeats add with diminishing effect so a long option list cannot outweigh the title.
+            weights.merge(term, fieldWeight, (current, added) -> current + added * 0.25f);
+        }
+    }
+
+    /**
+     * Wraps words whose stem matched in {@code <em>}. For long text a window around the first hit is kept.
+     */
+    static String highlight(String text, Set<String> stems, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+
+        int firstHit = -1;
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        Matcher matcher = WORD.matcher(text);
+        int position = 0;
+        while (matcher.find()) {
+            out.append(escape(text.substring(position, matcher.start())));
+            String word = matcher.group();
+            String normalized = SearchTextNormalizer.normalize(word);
+            if (!normalized.isEmpty() && !normalized.contains(" ") && stems.contains(SearchTokenizer.stem(normalized))) {
+                if (firstHit < 0) {
+                    firstHit = matcher.start();
+                }
+                out.append("<em>").append(escape(word)).append("</em>");
+            } else {
+                out.append(escape(word));
+            }
+            position = matcher.end();
+        }
+        out.append(escape(text.substring(position)));
+
+        if (text.length() <= maxLength) {
+            return out.toString();
+        }
+
+        int start = Math.max(0, firstHit - maxLength / 4);
+        int end = Math.min(text.length(), start + maxLength);
+        String window = text.substring(start, end);
+        String highlighted = highlight(window, stems, Integer.MAX_VALUE);
+        return (start > 0 ? "…" : "") + highlighted + (end < text.length() ? "…" : "");
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Entry(Long questionId, Long jobId, Boolean active, String title, String text, List<String> options) {
+    }
+
+    public record Hit(Entry entry, float score, String titleHighlight, String textHighlight, List<String> optionHighlights) {
+    }
+
+    public record SearchPage(List<Hit> hits, long totalHits) {
+    }
+
+    private record Doc(Entry entry, Set<String> terms) {
+    }
+}
@@ -0,0 +1,303 @@
+package org.example.lms.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Near-duplicate detection for the question bank.
+ * <p>
+ * Question text and option texts (order-insensitive) are normalized and cut into character 5-shingles.
+ * Each question keeps a 120-value MinHash signature, split into 20 bands of 6 rows for LSH: two
+ * questions share a bucket in some band with probability ~0.998 at Jaccard 0.8 and ~0.27 at 0.5, so a
+ * lookup only verifies a handful of candidates instead of scanning the bank. Similarity is estimated
+ * from the share of equal signature values.
+ */
+@Slf4j
+@Component
+public class QuestionSimilarityIndex {
+    public static final double DEFAULT_THRESHOLD = 0.8;
+
+    private static final int SHINGLE_LENGTH = 5;
+    private static final int BANDS = 20;
+    private static final int ROWS = 6;
+    private static final int SIGNATURE_LENGTH = BANDS * ROWS;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    public void rebuild(Collection<Entry> entries) {
+        long started = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            buckets.clear();
+            entries.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Question similarity index built docs={} buckets={} tookMs={}",
+                docs.size(), buckets.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces a question once the surrounding transaction commits.
+     */
+    public void put(Entry entry) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putLocked(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long questionId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(questionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Indexed questions similar to the given text and options, best first. {@code probe.questionId()} is
+     * excluded so an update does not report the question itself.
+     */
+    public List<Match> findSimilar(Entry probe, double threshold, int limit) {
+        int[] signature = signature(probe.text(), probe.options());
+
+        lock.readLock().lock();
+        try {
+            List<Match> matches = new ArrayList<>();
+            for (Long candidateId : candidates(signature)) {
+                if (candidateId.equals(probe.questionId())) {
+                    continue;
+                }
+                Doc doc = docs.get(candidateId);
+                double similarity = similarity(signature, doc.signature());
+                if (similarity >= threshold) {
+                    matches.add(new Match(doc.entry(), similarity));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                    .thenComparing(match -> match.entry().questionId()));
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups the whole bank (or one profession when {@code jobId} is set) into clusters of near-duplicates.
+     * Candidate pairs are verified in parallel across cores; clusters are the connected components of the
+     * verified pairs.
+     */
+    public DuplicateReport report(Long jobId, double threshold) {
+        long started = System.nanoTime();
+
+        lock.readLock().lock();
+        try {
+            List<Doc> scope = docs.values().stream()
+                    .filter(doc -> jobId == null || jobId.equals(doc.entry().jobId()))
+                    .toList();
+
+            List<Pair> pairs = scope.parallelStream()
+                    .flatMap(doc -> candidates(doc.signature()).stream()
+                            .filter(otherId -> otherId > doc.entry().questionId())
+                            .map(docs::get)
+                            .filter(other -> jobId == null || jobId.equals(other.entry().jobId()))
+                            .map(other -> new Pair(doc.entry().questionId(), other.entry().questionId(),
+                                    similarity(doc.signature(), other.signature())))
+                            .filter(pair -> pair.similarity() >= threshold))
+                    .toList();
+
+            List<Cluster> clusters = cluster(pairs);
+            log.info("Duplicate report docs={} pairs={} clusters={} tookMs={}",
+                    scope.size(), pairs.size(), clusters.size(), (System.nanoTime() - started) / 1_000_000);
+            return new DuplicateReport(scope.size(), pairs.size(), clusters);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Cluster> cluster(List<Pair> pairs) {
+        Map<Long, Long> parent = new HashMap<>();
+        for (Pair pair : pairs) {
+            Long left = find(parent, pair.leftId());
+            Long right = find(parent, pair.rightId());
+            if (!left.equals(right)) {
+                parent.put(Math.max(left, right), Math.min(left, right));
+            }
+        }
+
+        Map<Long, List<Long>> members = new TreeMap<>();
+        Map<Long, Double> maxSimilarity = new HashMap<>();
+        for (Long questionId : parent.keySet()) {
+            members.computeIfAbsent(find(parent, questionId), key -> new ArrayList<>()).add(questionId);
+        }
+        for (Pair pair : pairs) {
+            maxSimilarity.merge(find(parent, pair.leftId()), pair.similarity(), Math::max);
+        }
+
+        List<Cluster> clusters = new ArrayList<>(members.size());
+        members.forEach((root, ids) -> {
+            List<Entry> entries = ids.stream().sorted().map(id -> docs.get(id).entry()).toList();
+            clusters.add(new Cluster(entries, maxSimilarity.get(root)));
+        });
+        return clusters;
+    }
+
+    private static Long find(Map<Long, Long> parent, Long id) {
+        Long root = id;
+        Long next;
+        while ((next = parent.putIfAbsent(root, root)) != null && !next.equals(root)) {
+            root = next;
+        }
+        parent.put(id, root);
+        return root;
+    }
+
+    private Set<Long> candidates(int[] signature) {
+        Set<Long> result = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                result.addAll(bucket);
+            }
+        }
+        return result;
+    }
+
+    private void putLocked(Entry entry) {
+        removeLocked(entry.questionId());
+
+        int[] signature = signature(entry.text(), entry.options());
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new HashSet<>()).add(entry.questionId());
+        }
+        docs.put(entry.questionId(), new Doc(entry, signature));
+    }
+
+    private void removeLocked(Long questionId) {
+        Doc doc = docs.remove(questionId);
+        if (doc == null) {
+            return;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(doc.signature(), band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(questionId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    static int[] signature(String text, List<String> options) {
+        StringBuilder content = new StringBuilder(SearchTextNormalizer.normalize(text));
+        options.stream()
+                .map(SearchTextNormalizer::normalize)
+                .sorted()
+                .forEach(option -> content.append(" | ").append(option));
+
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int shingles = Math.max(1, content.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(content.length(), start + SHINGLE_LENGTH);
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + content.charAt(i);
+            }
+
+            // Kirsch-Mitzenmacher: h_i = h1 + i * h2 stands in for 120 independent hash functions.
+            int h1 = mix(hash);
+            int h2 = mix(h1 ^ 0x5bd1e995) | 1;
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int value = (h1 + i * h2) & Integer.MAX_VALUE;
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static double similarity(int[] left, int[] right) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (left[i] == right[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return key;
+    }
+
+    private static int mix(int value) {
+        value ^= value >>> 16;
+        value *= 0x85ebca6b;
+        value ^= value >>> 13;
+        value *= 0xc2b2ae35;
+        value ^= value >>> 16;
+        return value;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Entry(Long questionId, Long jobId, Boolean active, String title, String text, List<String> options) {
+    }
+
+    public record Match(Entry entry, double similarity) {
+    }
+
+    public record Cluster(List<Entry> questions, double similarity) {
+    }
+
+    public record DuplicateReport(int questionCount, int pairCount, List<Cluster> clusters) {
+    }
+
+    private record Pair(Long leftId, Long rightId, double similarity) {
+    }
+
+    private record Doc(Entry entry, int[] signature) {
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.lms.search;
+
+import lombok.RequiredArgsConstructor;
+import org.example.lms.repository.CandidateRepository;
+import org.example.lms.repository.OptionRepository;
+import org.example.lms.repository.QuestionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class SearchIndexLoader {
+    private final CandidateRepository candidateRepository;
+    private final QuestionRepository questionRepository;
+    private final OptionRepository optionRepository;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final QuestionSimilarityIndex questionSimilarityIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        candidateSearchIndex.rebuild(candidateRepository.findAllSearchRows().stream()
+                .map(row -> new CandidateSearchIndex.Entry(
+                        row.getId(), row.getFullName(), row.getLogin(), row.getJobId(), row.getActive()))
+                .toList());
+
+        Map<Long, List<String>> optionTexts = optionRepository.findAllRows().stream()
+                .collect(Collectors.groupingBy(
+                        OptionRepository.OptionRow::getQuestionId,
+                        Collectors.mapping(OptionRepository.OptionRow::getText, Collectors.toList())));
+
+        List<QuestionRepository.QuestionSearchRow> questions = questionRepository.findAllSearchRows();
+        questionSearchIndex.rebuild(questions.stream()
+                .map(row -> new QuestionSearchIndex.Entry(
+                        row.getId(), row.getJobId(), row.getActive(), row.getTitle(), row.getText(),
+                        optionTexts.getOrDefault(row.getId(), List.of())))
+                .toList());
+        questionSimilarityIndex.rebuild(questions.stream()
+                .map(row -> new QuestionSimilarityIndex.Entry(
+                        row.getId(), row.getJobId(), row.getActive(), row.getTitle(), row.getText(),
+                        optionTexts.getOrDefault(row.getId(), List.of())))
+                .toList());
+    }
+
+    /** Re-reads the given candidates, e.g. after another instance changed them; deleted ones leave the index. */
+    public void reloadCandidates(Collection<Long> candidateIds) {
+        Set<Long> missing = new HashSet<>(candidateIds);
+        for (CandidateRepository.CandidateSearchRow row : candidateRepository.findSearchRowsByIdIn(candidateIds)) {
+            missing.remove(row.getId());
+            candidateSearchIndex.put(new CandidateSearchIndex.Entry(
+                    row.getId(), row.getFullName(), row.getLogin(), row.getJobId(), row.getActive()));
+        }
+        missing.forEach(candidateSearchIndex::remove);
+    }
+
+    public void reloadQuestions(Collection<Long> questionIds) {
+        Map<Long, List<String>> optionTexts = optionRepository.findCurrentRowsByQuestionIdIn(questionIds).stream()
+                .collect(Collectors.groupingBy(
+                        OptionRepository.OptionRow::getQuestionId,
+                        Collectors.mapping(OptionRepository.OptionRow::getText, Collectors.toList())));
+
+        Set<Long> missing = new HashSet<>(questionIds);
+        for (QuestionRepository.QuestionSearchRow row : questionRepository.findSearchRowsByIdIn(questionIds)) {
+            missing.remove(row.getId());
+            List<String> options = optionTexts.getOrDefault(row.getId(), List.of());
+            questionSearchIndex.put(new QuestionSearchIndex.Entry(
+                    row.getId(), row.getJobId(), row.getActive(), row.getTitle(), row.getText(), options));
+            questionSimilarityIndex.put(new QuestionSimilarityIndex.Entry(
+                    row.getId(), row.getJobId(), row.getActive(), row.getTitle(), row.getText(), options));
+        }
+        for (Long questionId : missing) {
+            questionSearchIndex.remove(questionId);
+            questionSimilarityIndex.remove(questionId);
+        }
+    }
+}
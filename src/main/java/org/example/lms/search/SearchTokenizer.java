@@ -0,0 +1,74 @@
+package org.example.lms.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into search terms for the question bank: {@link SearchTextNormalizer} folds scripts,
+ * common Uzbek/Russian/English function words are dropped, and frequent inflectional endings are cut
+ * so "nasoslarning", "nasosni" and "насос" all index as "nasos".
+ */
+public final class SearchTokenizer {
+    private static final int MIN_STEM_LENGTH = 3;
+    private static final String VOWELS = "aeiou";
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "va", "bilan", "uchun", "ham", "yoki", "bu", "u", "qaysi", "nima", "qanday", "emas", "edi",
+            "i", "v", "na", "s", "k", "po", "ne", "chto", "kak", "ili", "dlya", "eto", "pri", "ot", "do", "iz",
+            "the", "a", "an", "of", "to", "in", "on", "is", "are", "and", "or", "for", "what", "which", "be");
+
+    // First match wins: Uzbek endings (longer before their tails), then Russian ones as the normalizer spells them.
+    private static final List<String> SUFFIXES = List.of(
+            "larning", "lardagi", "laridan", "larida", "larini", "lardan", "larga", "larda", "larni", "lari",
+            "ning", "dagi", "lar", "dan", "dir", "ini", "iga", "ida", "ga", "da", "ni", "si", "ka", "qa",
+            "iyami", "yami", "ami", "iyax", "yax", "ax", "ogo", "ego", "omu", "emu", "ix", "iye",
+            "aya", "oye", "ost", "iya", "ov", "ev", "iy", "oy", "om", "em", "ye",
+            "ing", "ed", "es", "s");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        return words(text).stream().map(SearchTokenizer::stem).toList();
+    }
+
+    /**
+     * Normalized words without stop words, before stemming.
+     */
+    public static List<String> words(String text) {
+        String normalized = SearchTextNormalizer.normalize(text);
+        List<String> words = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return words;
+        }
+
+        for (String word : normalized.split(" ")) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    public static String stem(String word) {
+        if (word.chars().allMatch(Character::isDigit)) {
+            return word;
+        }
+
+        for (String suffix : SUFFIXES) {
+            if (word.length() - suffix.length() >= MIN_STEM_LENGTH && word.endsWith(suffix)
+                    && !isVowelBeforeFinalS(word, suffix)) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        return word;
+    }
+
+    /**
+     * The English plural "s" follows a consonant; after a vowel it is part of the stem ("nasos", "gas" vs "pumps").
+     */
+    private static boolean isVowelBeforeFinalS(String word, String suffix) {
+        return suffix.equals("s") && VOWELS.indexOf(word.charAt(word.length() - 2)) >= 0;
+    }
+}
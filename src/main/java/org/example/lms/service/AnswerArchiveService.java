@@ -0,0 +1,132 @@
+package org.example.lms.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.entity.AttemptAnswerArchiveEntity;
+import org.example.lms.entity.AttemptAnswerEntity;
+import org.example.lms.entity.AttemptQuestionEntity;
+import org.example.lms.entity.OptionEntity;
+import org.example.lms.repository.AttemptAnswerArchiveRepository;
+import org.example.lms.repository.AttemptAnswerRepository;
+import org.example.lms.repository.AttemptQuestionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the answers of attempts finished more than {@code after-days} ago out of attempt_answers into one packed
+ * attempt_answer_archives row per attempt, a chunk of attempts per transaction. attempt_answers then holds only
+ * in-progress and recent attempts. Finished attempts are read through {@link #findArchived}, falling back to the
+ * row-per-answer table for attempts not archived yet.
+ */
+@Service
+@Slf4j
+public class AnswerArchiveService {
+    private static final Comparator<AttemptQuestionEntity> DISPLAY_ORDER = Comparator
+            .comparing(AttemptQuestionEntity::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(AttemptQuestionEntity::getId);
+
+    private final AttemptAnswerRepository attemptAnswerRepository;
+    private final AttemptQuestionRepository attemptQuestionRepository;
+    private final AttemptAnswerArchiveRepository archiveRepository;
+    private final TransactionTemplate transaction;
+    private final int afterDays;
+    private final int chunkSize;
+
+    public AnswerArchiveService(
+            AttemptAnswerRepository attemptAnswerRepository,
+            AttemptQuestionRepository attemptQuestionRepository,
+            AttemptAnswerArchiveRepository archiveRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${exam.answer-archive.after-days:30}") int afterDays,
+            @Value("${exam.answer-archive.chunk-size:200}") int chunkSize
+    ) {
+        this.attemptAnswerRepository = attemptAnswerRepository;
+        this.attemptQuestionRepository = attemptQuestionRepository;
+        this.archiveRepository = archiveRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${exam.answer-archive.interval-ms:600000}")
+    public void archiveOldAttempts() {
+        if (afterDays <= 0) {
+            return;
+        }
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveChunk();
+            total += archived;
+        } while (archived == chunkSize);
+        if (total > 0) {
+            log.info("Archived answers of {} finished attempts", total);
+        }
+    }
+
+    /** Archives one chunk of attempts finished before the cut-off; returns how many attempts it packed. */
+    public int archiveChunk() {
+        LocalDateTime finishedBefore = LocalDateTime.now().minusDays(afterDays);
+        return transaction.execute(status -> {
+            List<Long> attemptIds = attemptAnswerRepository.findArchivableAttemptIds(
+                    finishedBefore, PageRequest.of(0, chunkSize));
+            if (attemptIds.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, List<AttemptQuestionEntity>> questionsByAttempt = attemptQuestionRepository
+                    .findAllByAttemptIdIn(attemptIds).stream()
+                    .collect(Collectors.groupingBy(question -> question.getAttempt().getId()));
+            Map<Long, List<AttemptAnswerEntity>> answersByAttempt = attemptAnswerRepository
+                    .findAllByAttemptIdIn(attemptIds).stream()
+                    .collect(Collectors.groupingBy(answer -> answer.getAttempt().getId()));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<AttemptAnswerArchiveEntity> archives = new ArrayList<>();
+            for (Long attemptId : attemptIds) {
+                Map<Long, PackedAnswers.Answer> answers = answersByAttempt.getOrDefault(attemptId, List.of()).stream()
+                        .map(answer -> new PackedAnswers.Answer(
+                                answer.getQuestion().getId(),
+                                answer.getSelectedOption() == null ? null : answer.getSelectedOption().getId(),
+                                Boolean.TRUE.equals(answer.getCorrect())))
+                        .collect(Collectors.toMap(PackedAnswers.Answer::questionId, Function.identity()));
+                PackedAnswers.Packed packed = PackedAnswers.pack(
+                        toQuestions(questionsByAttempt.getOrDefault(attemptId, List.of())), answers);
+                archives.add(AttemptAnswerArchiveEntity.builder()
+                        .attemptId(attemptId)
+                        .selections(packed.selections())
+                        .correctBits(packed.correctBits())
+                        .archivedAt(now)
+                        .build());
+            }
+            archiveRepository.saveAll(archives);
+            attemptAnswerRepository.deleteAllByAttemptIdIn(attemptIds);
+            return attemptIds.size();
+        });
+    }
+
+    /** The answers of an archived attempt, or empty when its answers are still in attempt_answers. */
+    Optional<List<PackedAnswers.Answer>> findArchived(Long attemptId) {
+        return transaction.execute(status -> archiveRepository.findById(attemptId)
+                .map(archive -> PackedAnswers.unpack(
+                        toQuestions(attemptQuestionRepository.findAllByAttemptId(attemptId)),
+                        new PackedAnswers.Packed(archive.getSelections(), archive.getCorrectBits()))));
+    }
+
+    private static List<PackedAnswers.Question> toQuestions(List<AttemptQuestionEntity> attemptQuestions) {
+        return attemptQuestions.stream()
+                .sorted(DISPLAY_ORDER)
+                .map(question -> new PackedAnswers.Question(
+                        question.getQuestion().getId(),
+                        question.getQuestionVersion().getOptions().stream().map(OptionEntity::getId).toList()))
+                .toList();
+    }
+}
@@ -1,15 +1,23 @@
 package org.example.lms.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.lms.dto.CandidateDtos;
 import org.example.lms.dto.CandidateResponses;
 import org.example.lms.entity.*;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
 import org.example.lms.repository.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -26,14 +34,23 @@ public class CandidateService {
     private static final String MSG_NO_QUESTIONS_FOR_PROFESSION = "No questions found for profession=%s";
     private static final String MSG_ATTEMPT_NOT_FOUND = "Attempt not found. attemptId=%d, candidateId=%d";
     private static final String MSG_ATTEMPT_ALREADY_FINISHED = "Attempt already finished. attemptId=";
+    private static final String MSG_ATTEMPT_ALREADY_SUBMITTED = "Attempt already submitted. attemptId=";
+    private static final TypeReference<List<CandidateResponses.QuestionPayload>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
 
     private final CandidateRepository candidateRepository;
     private final QuestionRepository questionRepository;
-    private final OptionRepository optionRepository;
     private final AttemptRepository attemptRepository;
     private final AttemptQuestionRepository attemptQuestionRepository;
     private final AttemptAnswerRepository attemptAnswerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ProgressSequencer progressSequencer;
+    private final ExamLocks examLocks;
+    private final ObjectMapper objectMapper;
+    private final ResultNotifications resultNotifications;
+    private final ScoreDistributionService scoreDistributionService;
+    private final AnswerArchiveService answerArchiveService;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${exam.duration-minutes:60}")
     private int examDurationMinutes;
@@ -43,13 +60,14 @@ public class CandidateService {
 
     public CandidateResponses.LoginResponse login(CandidateDtos.LoginRequest req) {
         CandidateEntity candidate = candidateRepository.findByLoginIgnoreCase(req.login().trim())
-                .orElseThrow(() -> new IllegalArgumentException(
+                .orElseThrow(() -> new DomainException(ErrorCode.INVALID_CREDENTIALS,
                         MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + req.login().trim()));
 
         validateCandidateActive(candidate);
 
         if (!isPasswordValid(req.password(), candidate.getPasswordHash())) {
-            throw new IllegalArgumentException(MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + req.login().trim());
+            throw new DomainException(ErrorCode.INVALID_CREDENTIALS,
+                    MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + req.login().trim());
         }
 
         log.info("Candidate login success id={} login={}", candidate.getId(), candidate.getLogin());
@@ -60,16 +78,19 @@ public class CandidateService {
         String passport = req.passport().trim();
 
         CandidateEntity candidate = candidateRepository.findByLoginIgnoreCase(passport)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + passport));
+                .orElseThrow(() -> new DomainException(ErrorCode.INVALID_CREDENTIALS,
+                        MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + passport));
 
         validateCandidateActive(candidate);
 
         if (!candidate.getFullName().trim().equalsIgnoreCase(req.fullName().trim())) {
-            throw new IllegalArgumentException("Full name and passport do not match candidate record");
+            throw new DomainException(ErrorCode.INVALID_CREDENTIALS,
+                    "Full name and passport do not match candidate record");
         }
 
         if (!isPasswordValid(passport, candidate.getPasswordHash())) {
-            throw new IllegalArgumentException(MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + passport);
+            throw new DomainException(ErrorCode.INVALID_CREDENTIALS,
+                    MSG_INVALID_LOGIN_OR_PASSWORD + ". login=" + passport);
         }
 
         log.info("Candidate passport login success id={} login={}", candidate.getId(), candidate.getLogin());
@@ -78,21 +99,30 @@ public class CandidateService {
 
     public List<CandidateResponses.ProfessionTestResponse> listRandomTests(Long candidateId) {
         CandidateEntity candidate = candidateRepository.findById(candidateId)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_CANDIDATE_NOT_FOUND_BY_ID + candidateId));
+                .orElseThrow(() -> new DomainException(ErrorCode.CANDIDATE_NOT_FOUND,
+                        MSG_CANDIDATE_NOT_FOUND_BY_ID + candidateId));
 
         validateCandidateActive(candidate);
 
+        JobEntity job = candidate.getJob();
+
         return questionRepository
-                .findAllByActiveTrueAndProfessionIgnoreCaseOrderByIdDesc(candidate.getProfession())
+                .findAllByActiveTrueAndJobIdOrderByIdDesc(job.getId())
                 .stream()
-                .map(q -> new CandidateResponses.ProfessionTestResponse(q.getId(), q.getTitle(), q.getProfession()))
+                .map(q -> new CandidateResponses.ProfessionTestResponse(q.getId(), q.getTitle(), job.getName()))
                 .toList();
     }
 
-    @Transactional
     public CandidateResponses.StartResponse startTest(CandidateDtos.StartTestRequest req) {
+        // A second click waits here, before taking a connection, and then resumes the attempt the first one created.
+        return examLocks.withCandidate(req.candidateId(),
+                () -> transactionTemplate.execute(status -> startOrResume(req)));
+    }
+
+    private CandidateResponses.StartResponse startOrResume(CandidateDtos.StartTestRequest req) {
         CandidateEntity candidate = candidateRepository.findById(req.candidateId())
-                .orElseThrow(() -> new IllegalArgumentException(MSG_CANDIDATE_NOT_FOUND_BY_ID + req.candidateId()));
+                .orElseThrow(() -> new DomainException(ErrorCode.CANDIDATE_NOT_FOUND,
+                        MSG_CANDIDATE_NOT_FOUND_BY_ID + req.candidateId()));
 
         validateCandidateActive(candidate);
 
@@ -100,68 +130,122 @@ public class CandidateService {
                 .findTopByCandidateIdAndFinishedFalseOrderByStartedAtDesc(candidate.getId());
 
         if (unfinished.isPresent()) {
-            return buildStartResponse(unfinished.get());
+            AttemptEntity attempt = unfinished.get();
+            rejectSubmitted(attempt);
+            return attempt.getStartedAt() == null ? startPrepared(attempt) : buildStartResponse(attempt);
         }
 
-        if (maxAttemptsPerCandidate > 0
-                && attemptRepository.countByCandidateId(candidate.getId()) >= maxAttemptsPerCandidate) {
-            throw new IllegalArgumentException("Attempt limit exceeded for candidateId=" + candidate.getId()
+        if (attemptLimitReached(candidate.getId())) {
+            throw new DomainException(ErrorCode.ATTEMPT_LIMIT_REACHED,
+                    "Attempt limit exceeded for candidateId=" + candidate.getId()
                     + ". maxAttempts=" + maxAttemptsPerCandidate);
         }
 
+        JobEntity job = candidate.getJob();
         List<QuestionEntity> allQuestions = questionRepository
-                .findAllByActiveTrueAndProfessionIgnoreCaseOrderByIdDesc(candidate.getProfession());
+                .findAllByActiveTrueAndJobIdOrderByIdDesc(job.getId());
+
+        AttemptEntity attempt = composeAttempt(candidate, job, allQuestions, null, LocalDateTime.now());
+
+        if (!ExamWarmUp.replaying()) {
+            log.info("Attempt started id={} candidateId={} profession={} questionCount={}",
+                    attempt.getId(), candidate.getId(), job.getName(), attempt.getTotalQuestions());
+        }
+
+        return buildStartResponse(attempt);
+    }
 
-        if (allQuestions.isEmpty()) {
-            throw new IllegalArgumentException(MSG_NO_QUESTIONS_FOR_PROFESSION.formatted(candidate.getProfession()));
+    private CandidateResponses.StartResponse startPrepared(AttemptEntity attempt) {
+        ExamSessionEntity session = attempt.getSession();
+        LocalDateTime now = LocalDateTime.now();
+        if (session != null && now.isBefore(session.getWindowStart())) {
+            throw new DomainException(ErrorCode.EXAM_SESSION_NOT_OPEN,
+                    "Exam session opens at " + session.getWindowStart()
+                    + ". sessionId=" + session.getId());
+        }
+        if (session != null && !now.isBefore(session.getWindowEnd())) {
+            throw new DomainException(ErrorCode.EXAM_SESSION_NOT_OPEN,
+                    "Exam session closed at " + session.getWindowEnd()
+                    + ". sessionId=" + session.getId());
         }
 
-        int selectedCount = allQuestions.size();
-        List<QuestionEntity> selected = allQuestions;
+        attempt.setStartedAt(now);
+        attemptRepository.save(attempt);
+
+        log.info("Prepared attempt started id={} candidateId={} sessionId={}",
+                attempt.getId(), attempt.getCandidate().getId(), session == null ? null : session.getId());
+
+        return buildStartResponse(attempt);
+    }
+
+    boolean attemptLimitReached(Long candidateId) {
+        return maxAttemptsPerCandidate > 0 && attemptRepository.countByCandidateId(candidateId) >= maxAttemptsPerCandidate;
+    }
+
+    /**
+     * Writes an attempt over {@code questions} with each question pinned to its current version. A null
+     * {@code startedAt} leaves the attempt prepared: its payload is rendered now and it waits for the candidate.
+     */
+    AttemptEntity composeAttempt(CandidateEntity candidate, JobEntity job, List<QuestionEntity> questions,
+            ExamSessionEntity session, LocalDateTime startedAt) {
+        if (questions.isEmpty()) {
+            throw new DomainException(ErrorCode.NO_QUESTIONS_FOR_PROFESSION,
+                    MSG_NO_QUESTIONS_FOR_PROFESSION.formatted(job.getName()));
+        }
 
         AttemptEntity attempt = attemptRepository.save(AttemptEntity.builder()
                 .candidate(candidate)
-                .profession(candidate.getProfession())
+                .job(job)
+                .session(session)
                 .finished(false)
-                .totalQuestions(selectedCount)
+                .totalQuestions(questions.size())
                 .durationMinutes(examDurationMinutes)
-                .startedAt(LocalDateTime.now())
+                .startedAt(startedAt)
                 .build());
 
         List<AttemptQuestionEntity> attemptQuestions = new ArrayList<>();
-        for (int i = 0; i < selected.size(); i++) {
-            QuestionEntity question = selected.get(i);
+        for (int i = 0; i < questions.size(); i++) {
+            QuestionEntity question = questions.get(i);
             attemptQuestions.add(AttemptQuestionEntity.builder()
                     .attempt(attempt)
                     .question(question)
+                    .questionVersion(question.getCurrentVersion())
                     .displayOrder(i + 1)
                     .build());
         }
         attemptQuestionRepository.saveAll(attemptQuestions);
 
-        log.info("Attempt started id={} candidateId={} profession={} questionCount={}",
-                attempt.getId(), candidate.getId(), candidate.getProfession(), selectedCount);
-
-        return buildStartResponse(attempt);
+        if (startedAt == null) {
+            attempt.setPreparedPayload(writePayload(renderQuestions(attemptQuestions)));
+        }
+        return attempt;
     }
 
     @Transactional
-    public CandidateResponses.ProgressResponse saveProgress(Long attemptId, CandidateDtos.SaveProgressRequest req) {
-        AttemptEntity attempt = attemptRepository.findByIdAndCandidateId(attemptId, req.candidateId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        MSG_ATTEMPT_NOT_FOUND.formatted(attemptId, req.candidateId())));
+    public CandidateResponses.SaveProgressResponse saveProgress(Long attemptId, CandidateDtos.SaveProgressRequest req) {
+        Long clientSeq = req.clientSeq();
+        if (clientSeq != null) {
+            if (attemptRepository.advanceClientSeq(attemptId, req.candidateId(), clientSeq) == 0) {
+                return discardProgress(attemptId, req.candidateId(), clientSeq);
+            }
+            observeOnCommit(attemptId, clientSeq);
+        } else {
+            attemptRepository.incrementVersion(attemptId);
+        }
+
+        AttemptEntity attempt = findStartedAttempt(attemptId, req.candidateId());
 
         if (Boolean.TRUE.equals(attempt.getFinished())) {
-            throw new IllegalArgumentException(MSG_ATTEMPT_ALREADY_FINISHED + attemptId);
+            throw new DomainException(ErrorCode.ATTEMPT_ALREADY_FINISHED, MSG_ATTEMPT_ALREADY_FINISHED + attemptId);
         }
+        rejectSubmitted(attempt);
 
-        Map<Long, QuestionEntity> selectedQuestionMap = attemptQuestionRepository
-                .findAllByAttemptId(attemptId)
-                .stream()
+        List<AttemptQuestionEntity> attemptQuestions = attemptQuestionRepository.findAllByAttemptId(attemptId);
+        Map<Long, QuestionEntity> selectedQuestionMap = attemptQuestions.stream()
                 .map(AttemptQuestionEntity::getQuestion)
                 .collect(Collectors.toMap(QuestionEntity::getId, Function.identity()));
 
-        Map<Long, OptionEntity> optionsById = buildOptionsMap(selectedQuestionMap.keySet());
+        Map<Long, OptionEntity> optionsById = buildOptionsMap(attemptQuestions);
 
         Map<Long, AttemptAnswerEntity> answerMap = attemptAnswerRepository.findAllByAttemptId(attemptId).stream()
                 .collect(Collectors.toMap(a -> a.getQuestion().getId(), Function.identity()));
@@ -169,39 +253,75 @@ public class CandidateService {
         applyAnswers(req.answers(), attempt, selectedQuestionMap, optionsById, answerMap);
         attemptAnswerRepository.saveAll(answerMap.values());
 
-        return buildProgressResponse(attempt);
+        return new CandidateResponses.SaveProgressResponse(
+                buildProgressResponse(attempt), clientSeq, attempt.getLastClientSeq(), true);
+    }
+
+    private CandidateResponses.SaveProgressResponse discardProgress(Long attemptId, Long candidateId, Long clientSeq) {
+        AttemptEntity attempt = findStartedAttempt(attemptId, candidateId);
+
+        if (Boolean.TRUE.equals(attempt.getFinished())) {
+            throw new DomainException(ErrorCode.ATTEMPT_ALREADY_FINISHED, MSG_ATTEMPT_ALREADY_FINISHED + attemptId);
+        }
+        rejectSubmitted(attempt);
+
+        progressSequencer.observe(attemptId, attempt.getLastClientSeq());
+        log.debug("Stale progress discarded attemptId={} clientSeq={} lastClientSeq={}",
+                attemptId, clientSeq, attempt.getLastClientSeq());
+        return new CandidateResponses.SaveProgressResponse(null, clientSeq, attempt.getLastClientSeq(), false);
+    }
+
+    private void observeOnCommit(Long attemptId, long clientSeq) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                progressSequencer.observe(attemptId, clientSeq);
+            }
+        });
     }
 
     public CandidateResponses.ProgressResponse getProgress(Long attemptId, Long candidateId) {
-        AttemptEntity attempt = attemptRepository.findByIdAndCandidateId(attemptId, candidateId)
-                .orElseThrow(
-                        () -> new IllegalArgumentException(MSG_ATTEMPT_NOT_FOUND.formatted(attemptId, candidateId)));
+        AttemptEntity attempt = findStartedAttempt(attemptId, candidateId);
 
         return buildProgressResponse(attempt);
     }
 
-    @Transactional
-    public CandidateResponses.SubmitResponse submitAttempt(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
-        AttemptEntity attempt = attemptRepository.findByIdAndCandidateId(attemptId, req.candidateId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        MSG_ATTEMPT_NOT_FOUND.formatted(attemptId, req.candidateId())));
-
-        if (Boolean.TRUE.equals(attempt.getFinished())) {
-            throw new IllegalArgumentException(MSG_ATTEMPT_ALREADY_FINISHED + attemptId);
+    /** A submitted attempt waits for its score: it takes no more answers and is not resumed. */
+    private void rejectSubmitted(AttemptEntity attempt) {
+        if (attempt.getSubmittedAt() != null) {
+            throw new DomainException(ErrorCode.ATTEMPT_ALREADY_FINISHED,
+                    MSG_ATTEMPT_ALREADY_SUBMITTED + attempt.getId());
         }
+    }
 
-        Map<Long, QuestionEntity> selectedQuestionMap = attemptQuestionRepository
-                .findAllByAttemptId(attemptId)
-                .stream()
+    /** A prepared attempt the candidate has not started yet is not visible to progress or submit. */
+    AttemptEntity findStartedAttempt(Long attemptId, Long candidateId) {
+        return attemptRepository.findByIdAndCandidateId(attemptId, candidateId)
+                .filter(attempt -> attempt.getStartedAt() != null)
+                .orElseThrow(() -> new DomainException(ErrorCode.ATTEMPT_NOT_FOUND,
+                        MSG_ATTEMPT_NOT_FOUND.formatted(attemptId, candidateId)));
+    }
+
+    /**
+     * Applies the final answer sheet over the saved answers and finishes the attempt. The caller loads the attempt's
+     * questions and saved answers, so a batch of submissions can read them for all attempts at once.
+     */
+    CandidateResponses.SubmitResponse scoreAttempt(
+            AttemptEntity attempt,
+            List<AttemptQuestionEntity> attemptQuestions,
+            List<AttemptAnswerEntity> savedAnswers,
+            List<CandidateDtos.AnswerRequest> finalAnswers,
+            LocalDateTime finishedAt) {
+        Map<Long, QuestionEntity> selectedQuestionMap = attemptQuestions.stream()
                 .map(AttemptQuestionEntity::getQuestion)
                 .collect(Collectors.toMap(QuestionEntity::getId, Function.identity()));
 
-        Map<Long, OptionEntity> optionsById = buildOptionsMap(selectedQuestionMap.keySet());
+        Map<Long, OptionEntity> optionsById = buildOptionsMap(attemptQuestions);
 
-        Map<Long, AttemptAnswerEntity> answerMap = attemptAnswerRepository.findAllByAttemptId(attemptId).stream()
+        Map<Long, AttemptAnswerEntity> answerMap = savedAnswers.stream()
                 .collect(Collectors.toMap(a -> a.getQuestion().getId(), Function.identity()));
 
-        applyAnswers(req.answers(), attempt, selectedQuestionMap, optionsById, answerMap);
+        applyAnswers(finalAnswers, attempt, selectedQuestionMap, optionsById, answerMap);
 
         int correct = 0;
         for (Long questionId : selectedQuestionMap.keySet()) {
@@ -220,15 +340,24 @@ public class CandidateService {
         attempt.setCorrectAnswers(correct);
         attempt.setScore(Math.round(score * 100.0) / 100.0);
         attempt.setFinished(true);
-        attempt.setFinishedAt(LocalDateTime.now());
+        attempt.setFinishedAt(finishedAt);
         attemptRepository.save(attempt);
+        progressSequencer.forget(attempt.getId());
+        resultNotifications.attemptScored(attempt);
+        scoreDistributionService.attemptScored(attempt);
+
+        if (!ExamWarmUp.replaying()) {
+            log.info("Attempt submitted id={} candidateId={} score={}",
+                    attempt.getId(), attempt.getCandidate().getId(), attempt.getScore());
+        }
 
-        log.info("Attempt submitted id={} candidateId={} score={}",
-                attempt.getId(), req.candidateId(), attempt.getScore());
+        return toSubmitResponse(attempt);
+    }
 
+    CandidateResponses.SubmitResponse toSubmitResponse(AttemptEntity attempt) {
         return new CandidateResponses.SubmitResponse(
                 attempt.getId(),
-                correct,
+                attempt.getCorrectAnswers(),
                 attempt.getTotalQuestions(),
                 attempt.getScore(),
                 attempt.getStartedAt(),
@@ -236,12 +365,7 @@ public class CandidateService {
     }
 
     private CandidateResponses.ProgressResponse buildProgressResponse(AttemptEntity attempt) {
-        List<CandidateResponses.SavedAnswerPayload> savedAnswers = attemptAnswerRepository
-                .findAllByAttemptId(attempt.getId()).stream()
-                .map(answer -> new CandidateResponses.SavedAnswerPayload(
-                        answer.getQuestion().getId(),
-                        answer.getSelectedOption() == null ? null : answer.getSelectedOption().getId()))
-                .toList();
+        List<CandidateResponses.SavedAnswerPayload> savedAnswers = findSavedAnswers(attempt);
 
         int answeredCount = (int) savedAnswers.stream().filter(answer -> answer.selectedOptionId() != null).count();
 
@@ -254,22 +378,28 @@ public class CandidateService {
                 savedAnswers);
     }
 
+    /** Old finished attempts keep their answers packed in the archive; everything else has one row per answer. */
+    private List<CandidateResponses.SavedAnswerPayload> findSavedAnswers(AttemptEntity attempt) {
+        if (Boolean.TRUE.equals(attempt.getFinished())) {
+            Optional<List<PackedAnswers.Answer>> archived = answerArchiveService.findArchived(attempt.getId());
+            if (archived.isPresent()) {
+                return archived.get().stream()
+                        .map(answer -> new CandidateResponses.SavedAnswerPayload(
+                                answer.questionId(), answer.selectedOptionId()))
+                        .toList();
+            }
+        }
+        return attemptAnswerRepository.findAllByAttemptId(attempt.getId()).stream()
+                .map(answer -> new CandidateResponses.SavedAnswerPayload(
+                        answer.getQuestion().getId(),
+                        answer.getSelectedOption() == null ? null : answer.getSelectedOption().getId()))
+                .toList();
+    }
+
     private CandidateResponses.StartResponse buildStartResponse(AttemptEntity attempt) {
-        List<AttemptQuestionEntity> selectedQuestions = attemptQuestionRepository
-                .findAllByAttemptIdOrderByDisplayOrderAsc(attempt.getId());
-        Map<Long, List<OptionEntity>> optionsByQuestionId = mapOptionsByQuestionId(
-                selectedQuestions.stream().map(aq -> aq.getQuestion().getId()).toList());
-
-        List<CandidateResponses.QuestionPayload> questionPayloads = selectedQuestions.stream().map(attemptQuestion -> {
-            QuestionEntity question = attemptQuestion.getQuestion();
-            List<OptionEntity> options = new ArrayList<>(
-                    optionsByQuestionId.getOrDefault(question.getId(), Collections.emptyList()));
-            Collections.shuffle(options);
-            List<CandidateResponses.OptionPayload> optionPayloads = options.stream()
-                    .map(o -> new CandidateResponses.OptionPayload(o.getId(), o.getText()))
-                    .toList();
-            return new CandidateResponses.QuestionPayload(question.getId(), question.getText(), optionPayloads);
-        }).toList();
+        List<CandidateResponses.QuestionPayload> questionPayloads = attempt.getPreparedPayload() != null
+                ? readPayload(attempt.getPreparedPayload())
+                : renderQuestions(attemptQuestionRepository.findAllByAttemptIdOrderByDisplayOrderAsc(attempt.getId()));
 
         List<CandidateResponses.SavedAnswerPayload> savedAnswers = attemptAnswerRepository
                 .findAllByAttemptId(attempt.getId()).stream()
@@ -283,7 +413,7 @@ public class CandidateService {
         return new CandidateResponses.StartResponse(
                 attempt.getId(),
                 attemptNumber,
-                attempt.getProfession(),
+                attempt.getJob().getName(),
                 attempt.getTotalQuestions(),
                 resolveDuration(attempt),
                 attempt.getStartedAt(),
@@ -292,6 +422,36 @@ public class CandidateService {
                 savedAnswers);
     }
 
+    private List<CandidateResponses.QuestionPayload> renderQuestions(List<AttemptQuestionEntity> attemptQuestions) {
+        // Pinned versions never change, so their text and options come from the second-level cache once warm.
+        return attemptQuestions.stream().map(attemptQuestion -> {
+            QuestionVersionEntity version = attemptQuestion.getQuestionVersion();
+            List<OptionEntity> options = new ArrayList<>(version.getOptions());
+            Collections.shuffle(options);
+            List<CandidateResponses.OptionPayload> optionPayloads = options.stream()
+                    .map(o -> new CandidateResponses.OptionPayload(o.getId(), o.getText()))
+                    .toList();
+            return new CandidateResponses.QuestionPayload(
+                    attemptQuestion.getQuestion().getId(), version.getText(), optionPayloads);
+        }).toList();
+    }
+
+    private String writePayload(List<CandidateResponses.QuestionPayload> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render prepared attempt payload", e);
+        }
+    }
+
+    private List<CandidateResponses.QuestionPayload> readPayload(String payload) {
+        try {
+            return objectMapper.readValue(payload, PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read prepared attempt payload", e);
+        }
+    }
+
     private int resolveAttemptNumber(AttemptEntity attempt) {
         List<AttemptEntity> attempts = attemptRepository
                 .findAllByCandidateIdOrderByStartedAtAsc(attempt.getCandidate().getId());
@@ -349,28 +509,20 @@ public class CandidateService {
         }
     }
 
-    private Map<Long, OptionEntity> buildOptionsMap(Collection<Long> questionIds) {
+    /** Options of the versions the attempt pinned: an answer naming any other version's option is ignored. */
+    private Map<Long, OptionEntity> buildOptionsMap(Collection<AttemptQuestionEntity> attemptQuestions) {
         Map<Long, OptionEntity> optionsById = new HashMap<>();
-        if (questionIds == null || questionIds.isEmpty()) {
-            return optionsById;
-        }
-        for (OptionEntity option : optionRepository.findAllByQuestionIdIn(questionIds)) {
-            optionsById.put(option.getId(), option);
+        for (AttemptQuestionEntity attemptQuestion : attemptQuestions) {
+            for (OptionEntity option : attemptQuestion.getQuestionVersion().getOptions()) {
+                optionsById.put(option.getId(), option);
+            }
         }
         return optionsById;
     }
 
-    private Map<Long, List<OptionEntity>> mapOptionsByQuestionId(Collection<Long> questionIds) {
-        if (questionIds == null || questionIds.isEmpty()) {
-            return Map.of();
-        }
-        return optionRepository.findAllByQuestionIdIn(questionIds).stream()
-                .collect(Collectors.groupingBy(option -> option.getQuestion().getId()));
-    }
-
     private void validateCandidateActive(CandidateEntity candidate) {
         if (!Boolean.TRUE.equals(candidate.getActive())) {
-            throw new IllegalArgumentException(MSG_CANDIDATE_INACTIVE + candidate.getId());
+            throw new DomainException(ErrorCode.CANDIDATE_INACTIVE, MSG_CANDIDATE_INACTIVE + candidate.getId());
         }
     }
 
@@ -389,7 +541,7 @@ public class CandidateService {
         return new CandidateResponses.LoginResponse(
                 candidate.getId(),
                 candidate.getFullName(),
-                candidate.getProfession(),
+                candidate.getJob().getName(),
                 candidate.getLogin());
     }
 }
@@ -0,0 +1,234 @@
+package org.example.lms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.search.CandidateSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of exam starts, so a whole shift pressing "start" at once queues instead of exhausting
+ * Tomcat threads and database connections. A token bucket caps the start rate and global and per-profession limits
+ * cap starts running at once. A caller that cannot go now gets a ticket in a FIFO waiting room: polling again keeps
+ * its place, and capacity is only handed to a caller once everyone ahead of it who could use it has been served.
+ * Tickets that are not polled within the TTL are dropped, and Retry-After never exceeds half the TTL so a caller that
+ * obeys it keeps its place. Only candidates known to the search index get a ticket, so made-up ids cannot fill the
+ * waiting room. Per instance, like the other in-memory guards.
+ */
+@Component
+public class ExamAdmission {
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final LongSupplier nanoClock;
+    private final double ratePerNano;
+    private final double burst;
+    private final int maxConcurrent;
+    private final int maxConcurrentPerProfession;
+    private final int maxWaiting;
+    private final long ticketTtlNanos;
+    private final long maxRetryAfterSeconds;
+
+    private final LinkedHashMap<Long, Ticket> waitingRoom = new LinkedHashMap<>();
+    private final Map<Long, Integer> runningByJob = new HashMap<>();
+    private int running;
+    private double tokens;
+    private long refilledAt;
+
+    private final Timer waitTimer;
+    private final Counter admittedCounter;
+    private final Counter deferredCounter;
+
+    @Autowired
+    public ExamAdmission(
+            CandidateSearchIndex candidateSearchIndex,
+            MeterRegistry meterRegistry,
+            @Value("${exam.admission.rate-per-second:20}") double ratePerSecond,
+            @Value("${exam.admission.burst:40}") int burst,
+            @Value("${exam.admission.max-concurrent:8}") int maxConcurrent,
+            @Value("${exam.admission.max-concurrent-per-profession:0}") int maxConcurrentPerProfession,
+            @Value("${exam.admission.max-waiting:5000}") int maxWaiting,
+            @Value("${exam.admission.ticket-ttl-seconds:30}") long ticketTtlSeconds
+    ) {
+        this(candidateSearchIndex, meterRegistry, System::nanoTime, ratePerSecond, burst, maxConcurrent,
+                maxConcurrentPerProfession, maxWaiting, ticketTtlSeconds);
+    }
+
+    ExamAdmission(
+            CandidateSearchIndex candidateSearchIndex,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock,
+            double ratePerSecond,
+            int burst,
+            int maxConcurrent,
+            int maxConcurrentPerProfession,
+            int maxWaiting,
+            long ticketTtlSeconds
+    ) {
+        this.candidateSearchIndex = candidateSearchIndex;
+        this.nanoClock = nanoClock;
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentPerProfession = maxConcurrentPerProfession;
+        this.maxWaiting = maxWaiting;
+        this.ticketTtlNanos = TimeUnit.SECONDS.toNanos(ticketTtlSeconds);
+        this.maxRetryAfterSeconds = Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, ticketTtlSeconds / 2));
+        this.tokens = burst;
+        this.refilledAt = nanoClock.getAsLong();
+
+        Gauge.builder("exam.admission.waiting", this, ExamAdmission::waiting)
+                .description("Exam starts waiting for admission")
+                .register(meterRegistry);
+        Gauge.builder("exam.admission.running", this, ExamAdmission::running)
+                .description("Admitted exam starts still running")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("exam.admission.wait")
+                .description("Time from the first deferred start to admission")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        admittedCounter = Counter.builder("exam.admission.admitted").register(meterRegistry);
+        deferredCounter = Counter.builder("exam.admission.deferred").register(meterRegistry);
+    }
+
+    /** Admits the start or places the candidate in the waiting room; an admitted decision must be released. */
+    public Decision tryAdmit(Long candidateId) {
+        CandidateSearchIndex.Entry candidate = candidateSearchIndex.find(candidateId)
+                .orElseThrow(() -> new DomainException(ErrorCode.CANDIDATE_NOT_FOUND,
+                        "Candidate not found. candidateId=" + candidateId));
+        if (!Boolean.TRUE.equals(candidate.active())) {
+            throw new DomainException(ErrorCode.CANDIDATE_INACTIVE,
+                    "Candidate is inactive. candidateId=" + candidateId);
+        }
+
+        Decision decision = decide(candidateId, candidate.jobId());
+        (decision.admitted() ? admittedCounter : deferredCounter).increment();
+        return decision;
+    }
+
+    public synchronized void release(Decision decision) {
+        if (!decision.admitted()) {
+            return;
+        }
+        running--;
+        if (decision.jobId() != null) {
+            runningByJob.computeIfPresent(decision.jobId(), (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public synchronized int waiting() {
+        return waitingRoom.size();
+    }
+
+    public synchronized int running() {
+        return running;
+    }
+
+    private synchronized Decision decide(Long candidateId, Long jobId) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        expireTickets(now);
+
+        int ahead = 0;
+        int claimsAhead = 0;
+        int professionClaimsAhead = 0;
+        for (Ticket ticket : waitingRoom.values()) {
+            if (ticket.candidateId.equals(candidateId)) {
+                break;
+            }
+            ahead++;
+            if (professionFree(ticket.jobId) > 0) {
+                claimsAhead++;
+                if (jobId != null && jobId.equals(ticket.jobId)) {
+                    professionClaimsAhead++;
+                }
+            }
+        }
+
+        if (tokens >= claimsAhead + 1
+                && maxConcurrent - running >= claimsAhead + 1
+                && professionFree(jobId) >= professionClaimsAhead + 1) {
+            tokens -= 1;
+            running++;
+            if (jobId != null) {
+                runningByJob.merge(jobId, 1, Integer::sum);
+            }
+            Ticket ticket = waitingRoom.remove(candidateId);
+            if (ticket != null) {
+                waitTimer.record(Duration.ofNanos(now - ticket.createdAt));
+            }
+            return new Decision(true, 0, 0, jobId);
+        }
+
+        Ticket ticket = waitingRoom.get(candidateId);
+        if (ticket == null) {
+            if (waitingRoom.size() >= maxWaiting) {
+                return new Decision(false, -1, maxRetryAfterSeconds, jobId);
+            }
+            ticket = new Ticket(candidateId, jobId, now);
+            waitingRoom.put(candidateId, ticket);
+        }
+        ticket.polledAt = now;
+
+        int position = ahead + 1;
+        return new Decision(false, position, retryAfterSeconds(position), jobId);
+    }
+
+    private int professionFree(Long jobId) {
+        if (maxConcurrentPerProfession <= 0 || jobId == null) {
+            return Integer.MAX_VALUE;
+        }
+        return maxConcurrentPerProfession - runningByJob.getOrDefault(jobId, 0);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+        refilledAt = now;
+    }
+
+    private void expireTickets(long now) {
+        Iterator<Ticket> tickets = waitingRoom.values().iterator();
+        while (tickets.hasNext()) {
+            if (now - tickets.next().polledAt > ticketTtlNanos) {
+                tickets.remove();
+            }
+        }
+    }
+
+    private long retryAfterSeconds(int position) {
+        double seconds = position / (ratePerNano * TimeUnit.SECONDS.toNanos(1));
+        return Math.max(1, Math.min(maxRetryAfterSeconds, (long) Math.ceil(seconds)));
+    }
+
+    /** {@code position} is 1-based, or -1 when the waiting room is full and the caller holds no ticket. */
+    public record Decision(boolean admitted, int position, long retryAfterSeconds, Long jobId) {
+    }
+
+    private static final class Ticket {
+        private final Long candidateId;
+        private final Long jobId;
+        private final long createdAt;
+        private long polledAt;
+
+        private Ticket(Long candidateId, Long jobId, long createdAt) {
+            this.candidateId = candidateId;
+            this.jobId = jobId;
+            this.createdAt = createdAt;
+            this.polledAt = createdAt;
+        }
+
+    }
+}
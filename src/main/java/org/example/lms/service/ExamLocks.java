@@ -0,0 +1,112 @@
+package org.example.lms.service;
+
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks for exam admission (per candidate) and submission (per attempt), so a double click waits
+ * for the first request and then sees its committed result instead of racing it. Request paths take the stripe with
+ * {@link #withCandidate}/{@link #withAttempt} before their transaction opens, so a waiter does not hold a pooled
+ * connection; {@link #lockCandidate}/{@link #lockAttempt} lock inside a running transaction until it completes.
+ * Unrelated candidates only contend when they hash to the same stripe. Across instances the unique index on
+ * unfinished attempts and the attempt version column catch what these locks cannot.
+ */
+@Component
+public class ExamLocks {
+    static final int STRIPES = 1024;
+    private static final long CANDIDATE_SALT = 0x5DEECE66DL;
+    private static final long ATTEMPT_SALT = 0x2545F4914F6CDD1DL;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    @Value("${exam.lock-timeout-ms:10000}")
+    private long lockTimeoutMs;
+
+    public ExamLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs {@code action}, which opens its own transaction, while holding the candidate's stripe. Inside a
+     * transaction that is already running the stripe is held until that transaction completes instead.
+     */
+    public <T> T withCandidate(Long candidateId, Supplier<T> action) {
+        return holding(stripes[candidateStripe(candidateId)], action);
+    }
+
+    public <T> T withAttempt(Long attemptId, Supplier<T> action) {
+        return holding(stripes[attemptStripe(attemptId)], action);
+    }
+
+    public void lockCandidate(Long candidateId) {
+        lockUntilCompletion(stripes[candidateStripe(candidateId)]);
+    }
+
+    public void lockAttempt(Long attemptId) {
+        lockUntilCompletion(stripes[attemptStripe(attemptId)]);
+    }
+
+    static int candidateStripe(Long candidateId) {
+        return stripe(candidateId, CANDIDATE_SALT);
+    }
+
+    static int attemptStripe(Long attemptId) {
+        return stripe(attemptId, ATTEMPT_SALT);
+    }
+
+    private static int stripe(long id, long salt) {
+        // Fibonacci hashing: consecutive ids land on distant stripes.
+        return (int) (((id ^ salt) * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(STRIPES)));
+    }
+
+    private <T> T holding(ReentrantLock lock, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            lockUntilCompletion(lock);
+            return action.get();
+        }
+
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void lockUntilCompletion(ReentrantLock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Exam locks are released on transaction completion; no transaction is active");
+        }
+
+        acquire(lock);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new DomainException(ErrorCode.EXAM_BUSY,
+                        "Another request for this exam is still running, retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an exam lock", e);
+        }
+    }
+}
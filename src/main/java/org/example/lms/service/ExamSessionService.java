@@ -0,0 +1,183 @@
+package org.example.lms.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.entity.CandidateEntity;
+import org.example.lms.entity.ExamSessionEntity;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Exam sessions let HR announce a shift ahead of time. In the minutes before the window opens a background run
+ * composes each candidate's attempt and renders its payload in a transaction of its own, so the start click at the window
+ * only stamps {@code startedAt}. Prepared attempts nobody started are discarded once the window closes.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ExamSessionService {
+    private static final String MSG_SESSION_NOT_FOUND = "Exam session not found. sessionId=";
+
+    private final ExamSessionRepository examSessionRepository;
+    private final JobRepository jobRepository;
+    private final CandidateRepository candidateRepository;
+    private final QuestionRepository questionRepository;
+    private final AttemptRepository attemptRepository;
+    private final AttemptQuestionRepository attemptQuestionRepository;
+    private final CandidateService candidateService;
+    private final ExamLocks examLocks;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${exam.sessions.prepare-lead-minutes:15}")
+    private int prepareLeadMinutes;
+
+    @Transactional
+    public HrResponses.ExamSessionResponse createSession(HrDtos.CreateExamSessionRequest req, String hrUsername) {
+        if (!req.windowEnd().isAfter(req.windowStart())) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "windowEnd must be after windowStart");
+        }
+        if (!req.windowEnd().isAfter(LocalDateTime.now())) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "windowEnd must be in the future");
+        }
+
+        JobEntity job = jobRepository.findByNameIgnoreCase(req.profession().trim())
+                .orElseThrow(() -> new DomainException(ErrorCode.JOB_NOT_FOUND,
+                        "Job not found. profession=" + req.profession().trim()));
+
+        Set<Long> candidateIds = new LinkedHashSet<>(req.candidateIds());
+        Map<Long, CandidateEntity> candidates = new HashMap<>();
+        candidateRepository.findAllById(candidateIds).forEach(candidate -> candidates.put(candidate.getId(), candidate));
+
+        List<Long> missing = candidateIds.stream().filter(id -> !candidates.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new DomainException(ErrorCode.CANDIDATE_NOT_FOUND, "Candidates not found. candidateIds=" + missing);
+        }
+        List<Long> otherProfession = candidateIds.stream()
+                .filter(id -> !candidates.get(id).getJob().getId().equals(job.getId()))
+                .toList();
+        if (!otherProfession.isEmpty()) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST,
+                    "Candidates of another profession. candidateIds=" + otherProfession);
+        }
+
+        ExamSessionEntity session = examSessionRepository.save(ExamSessionEntity.builder()
+                .job(job)
+                .windowStart(req.windowStart())
+                .windowEnd(req.windowEnd())
+                .createdBy(hrUsername)
+                .createdAt(LocalDateTime.now())
+                .candidateIds(candidateIds)
+                .build());
+
+        log.info("Exam session created id={} profession={} windowStart={} candidates={}",
+                session.getId(), job.getName(), session.getWindowStart(), candidateIds.size());
+        return toResponse(session);
+    }
+
+    @Transactional(readOnly = true)
+    public HrResponses.ExamSessionResponse getSession(Long sessionId) {
+        return toResponse(examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new DomainException(ErrorCode.EXAM_SESSION_NOT_FOUND,
+                        MSG_SESSION_NOT_FOUND + sessionId)));
+    }
+
+    @Scheduled(fixedDelayString = "${exam.sessions.prepare-interval-ms:30000}")
+    public void prepareDueSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long sessionId : examSessionRepository.findIdsDueForPreparation(now.plusMinutes(prepareLeadMinutes), now)) {
+            try {
+                prepare(sessionId);
+            } catch (RuntimeException ex) {
+                // The next run picks the session up again; batches already committed are skipped then.
+                log.warn("Exam session preparation failed id={}", sessionId, ex);
+            }
+        }
+        discardUnstartedAttempts(now);
+    }
+
+    /** Prepares every candidate of the session that has no open attempt yet. Safe to repeat. */
+    public HrResponses.ExamSessionResponse prepare(Long sessionId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> candidateIds = transaction.execute(status -> new ArrayList<>(examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new DomainException(ErrorCode.EXAM_SESSION_NOT_FOUND,
+                        MSG_SESSION_NOT_FOUND + sessionId))
+                .getCandidateIds()));
+
+        long started = System.nanoTime();
+        int prepared = 0;
+        for (Long candidateId : candidateIds) {
+            // The same lock as startTest, held for one candidate's transaction only: a candidate who clicks early
+            // either gets this attempt or waits for it, and no other candidate waits on the rest of the session.
+            if (Boolean.TRUE.equals(examLocks.withCandidate(candidateId,
+                    () -> transaction.execute(status -> prepareCandidate(sessionId, candidateId))))) {
+                prepared++;
+            }
+        }
+
+        HrResponses.ExamSessionResponse response = transaction.execute(status -> {
+            ExamSessionEntity session = examSessionRepository.findById(sessionId).orElseThrow();
+            session.setPreparedAt(LocalDateTime.now());
+            return toResponse(session);
+        });
+        log.info("Exam session prepared id={} newAttempts={} candidates={} elapsedMs={}",
+                sessionId, prepared, candidateIds.size(), (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private boolean prepareCandidate(Long sessionId, Long candidateId) {
+        if (attemptRepository.findTopByCandidateIdAndFinishedFalseOrderByStartedAtDesc(candidateId).isPresent()) {
+            return false;
+        }
+        CandidateEntity candidate = candidateRepository.findById(candidateId).orElse(null);
+        if (candidate == null || !Boolean.TRUE.equals(candidate.getActive())
+                || candidateService.attemptLimitReached(candidateId)) {
+            return false;
+        }
+        ExamSessionEntity session = examSessionRepository.findById(sessionId).orElseThrow();
+        JobEntity job = session.getJob();
+        candidateService.composeAttempt(candidate, job,
+                questionRepository.findAllByActiveTrueAndJobIdOrderByIdDesc(job.getId()), session, null);
+        return true;
+    }
+
+    private void discardUnstartedAttempts(LocalDateTime now) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int discarded = transaction.execute(status -> {
+            List<Long> attemptIds = attemptRepository.findUnstartedIdsOfClosedSessions(now);
+            if (attemptIds.isEmpty()) {
+                return 0;
+            }
+            attemptQuestionRepository.deleteAllByAttemptIdIn(attemptIds);
+            attemptRepository.deleteAllByIdInBatch(attemptIds);
+            return attemptIds.size();
+        });
+        if (discarded > 0) {
+            log.info("Discarded prepared attempts of closed exam sessions count={}", discarded);
+        }
+    }
+
+    private HrResponses.ExamSessionResponse toResponse(ExamSessionEntity session) {
+        return new HrResponses.ExamSessionResponse(
+                session.getId(),
+                session.getJob().getName(),
+                session.getWindowStart(),
+                session.getWindowEnd(),
+                session.getCandidateIds().size(),
+                attemptRepository.countBySessionId(session.getId()),
+                attemptRepository.countBySessionIdAndStartedAtIsNotNull(session.getId()),
+                session.getPreparedAt());
+    }
+}
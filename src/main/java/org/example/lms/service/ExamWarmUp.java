@@ -0,0 +1,251 @@
+package org.example.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.datasource.ReplicaRoutingDataSource;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.entity.CandidateEntity;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.entity.QuestionEntity;
+import org.example.lms.entity.QuestionVersionEntity;
+import org.example.lms.repository.CandidateRepository;
+import org.example.lms.repository.JobRepository;
+import org.example.lms.repository.OptionRepository;
+import org.example.lms.repository.QuestionRepository;
+import org.example.lms.repository.SubmissionRepository;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brings a fresh instance up to speed before it reports ready. Spring publishes readiness only after every
+ * {@link ApplicationReadyEvent} listener has returned, so {@code /actuator/health/readiness} stays
+ * {@code REFUSING_TRAFFIC} while this runs. It opens the connections of every pool behind the data source, the
+ * replica's included, loads the questions and options of every active job into the second-level cache, and then
+ * runs start, save, the queued submit and its scoring for a throwaway candidate {@code iterations} times, each in a
+ * transaction that is rolled back, so the exam path is JIT-compiled before the first candidate arrives. The replay
+ * runs under the {@value #MDC_REPLAY} MDC key and the exam path does not log its attempts as real ones. A failing
+ * step is logged and never keeps the instance from starting.
+ */
+@Slf4j
+@Component
+public class ExamWarmUp {
+    static final String MDC_REPLAY = "warmUp";
+
+    private final DataSource dataSource;
+    private final JobRepository jobRepository;
+    private final QuestionRepository questionRepository;
+    private final OptionRepository optionRepository;
+    private final CandidateRepository candidateRepository;
+    private final CandidateService candidateService;
+    private final SubmissionQueue submissionQueue;
+    private final SubmissionWorker submissionWorker;
+    private final SubmissionRepository submissionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int iterations;
+    private final Timer duration;
+
+    public ExamWarmUp(
+            DataSource dataSource,
+            JobRepository jobRepository,
+            QuestionRepository questionRepository,
+            OptionRepository optionRepository,
+            CandidateRepository candidateRepository,
+            CandidateService candidateService,
+            SubmissionQueue submissionQueue,
+            SubmissionWorker submissionWorker,
+            SubmissionRepository submissionRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${exam.warm-up.enabled:true}") boolean enabled,
+            @Value("${exam.warm-up.iterations:200}") int iterations
+    ) {
+        this.dataSource = dataSource;
+        this.jobRepository = jobRepository;
+        this.questionRepository = questionRepository;
+        this.optionRepository = optionRepository;
+        this.candidateRepository = candidateRepository;
+        this.candidateService = candidateService;
+        this.submissionQueue = submissionQueue;
+        this.submissionWorker = submissionWorker;
+        this.submissionRepository = submissionRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.iterations = iterations;
+
+        duration = Timer.builder("exam.warmup.duration")
+                .description("Time from application ready to accepting traffic")
+                .register(meterRegistry);
+    }
+
+    /** Last among the ready listeners, so caches they load are in place when the exam path is exercised. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        int connections = fillPools();
+        List<Long> jobIds = preloadCatalog();
+        int cycles = jobIds.isEmpty() ? 0 : replayExams(jobIds.get(0));
+        long tookNanos = System.nanoTime() - started;
+        duration.record(tookNanos, TimeUnit.NANOSECONDS);
+        log.info("Warm-up done connections={} activeJobs={} examCycles={} tookMs={}",
+                connections, jobIds.size(), cycles, tookNanos / 1_000_000);
+    }
+
+    /** Holds the minimum idle count of every pool at once, so each of them has to be opened now. */
+    private int fillPools() {
+        int opened = 0;
+        for (HikariDataSource pool : pools()) {
+            List<Connection> held = new ArrayList<>();
+            try {
+                int target = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize());
+                while (held.size() < target) {
+                    held.add(pool.getConnection());
+                }
+            } catch (SQLException ex) {
+                log.warn("Warm-up could not fill pool={}: {}", pool.getPoolName(), ex.getMessage());
+            } finally {
+                opened += held.size();
+                held.forEach(ExamWarmUp::closeQuietly);
+            }
+        }
+        return opened;
+    }
+
+    /** The pool behind the data source, or the primary and replica pools a routing data source picks from. */
+    private List<HikariDataSource> pools() {
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return dataSource.unwrap(ReplicaRoutingDataSource.class).getResolvedDataSources().values().stream()
+                        .filter(HikariDataSource.class::isInstance)
+                        .map(HikariDataSource.class::cast)
+                        .toList();
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return List.of(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException ex) {
+            log.warn("Warm-up could not find the connection pools: {}", ex.getMessage());
+        }
+        return List.of();
+    }
+
+    /** Active jobs that have questions; their questions, current versions and options are cached on the way. */
+    private List<Long> preloadCatalog() {
+        try {
+            return transaction.execute(status -> {
+                List<Long> jobIds = new ArrayList<>();
+                for (JobEntity job : jobRepository.findAllByOrderByNameAsc()) {
+                    if (!Boolean.TRUE.equals(job.getActive())) {
+                        continue;
+                    }
+                    jobRepository.findByNameIgnoreCase(job.getName());
+                    List<Long> versionIds = questionRepository.findAllByActiveTrueAndJobIdOrderByIdDesc(job.getId())
+                            .stream()
+                            .map(QuestionEntity::getCurrentVersion)
+                            .filter(Objects::nonNull)
+                            .map(QuestionVersionEntity::getId)
+                            .toList();
+                    if (!versionIds.isEmpty()) {
+                        optionRepository.findAllByQuestionVersionIdInOrderByIdAsc(versionIds);
+                        jobIds.add(job.getId());
+                    }
+                }
+                return jobIds;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up could not preload the catalog", ex);
+            return List.of();
+        }
+    }
+
+    /** True on the thread replaying the exam path, whose attempts are rolled back. */
+    static boolean replaying() {
+        return MDC.get(MDC_REPLAY) != null;
+    }
+
+    private int replayExams(Long jobId) {
+        int cycles = 0;
+        try (MDC.MDCCloseable replay = MDC.putCloseable(MDC_REPLAY, "true")) {
+            for (; cycles < iterations; cycles++) {
+                transaction.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    replayExam(jobId);
+                });
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up exam cycle failed after cycles={}", cycles, ex);
+        }
+        return cycles;
+    }
+
+    private void replayExam(Long jobId) {
+        String login = "warmup-" + UUID.randomUUID();
+        CandidateEntity candidate = candidateRepository.save(CandidateEntity.builder()
+                .fullName("Warm-up")
+                .job(jobRepository.getReferenceById(jobId))
+                .login(login)
+                .passwordHash(login)
+                .active(true)
+                .build());
+
+        CandidateResponses.StartResponse start = candidateService.startTest(
+                new CandidateDtos.StartTestRequest(candidate.getId()));
+        List<CandidateDtos.AnswerRequest> answers = start.questions().stream()
+                .map(question -> new CandidateDtos.AnswerRequest(
+                        question.questionId(),
+                        question.options().isEmpty() ? null : question.options().get(0).optionId()))
+                .toList();
+        CandidateResponses.SaveProgressResponse saved = candidateService.saveProgress(start.attemptId(),
+                new CandidateDtos.SaveProgressRequest(candidate.getId(), answers.subList(0, answers.size() / 2), null));
+        // The submit endpoint only queues the sheet; the worker's scoring runs here on the same transaction.
+        CandidateResponses.SubmissionStatusResponse queued = submissionQueue.enqueue(start.attemptId(),
+                new CandidateDtos.SubmitAttemptRequest(candidate.getId(), answers));
+        submissionWorker.scoreBatch(List.of(submissionRepository.findByAttemptId(start.attemptId()).orElseThrow()));
+        CandidateResponses.SubmissionStatusResponse scored = submissionQueue.status(start.attemptId(), candidate.getId());
+        try {
+            // Responses go out as JSON; their serializers are warmed up too.
+            objectMapper.writeValueAsBytes(start);
+            objectMapper.writeValueAsBytes(saved);
+            objectMapper.writeValueAsBytes(queued);
+            objectMapper.writeValueAsBytes(scored);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Back in the pool or discarded either way.
+        }
+    }
+}
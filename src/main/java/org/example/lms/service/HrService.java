@@ -2,10 +2,22 @@ package org.example.lms.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.lms.datasource.ReplicaRoutingDataSource;
 import org.example.lms.dto.HrDtos;
 import org.example.lms.dto.HrResponses;
 import org.example.lms.entity.*;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.invalidation.ClusterInvalidation;
 import org.example.lms.repository.*;
+import org.example.lms.search.CandidateSearchIndex;
+import org.example.lms.search.QuestionSearchIndex;
+import org.example.lms.search.QuestionSimilarityIndex;
+import org.example.lms.search.SearchIndexLoader;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,44 +40,239 @@ public class HrService {
     private static final String MSG_JOB_NOT_FOUND_BY_ID = "Job not found. jobId=";
     private static final String MSG_JOB_NAME_ALREADY_EXISTS = "Job already exists. name=";
 
+    private static final Map<String, String> TEST_SORT_PROPERTIES = Map.of(
+            "id", "id",
+            "title", "title",
+            "profession", "job.name",
+            "active", "active",
+            "createdBy", "createdBy");
+    private static final Map<String, String> CANDIDATE_SORT_PROPERTIES = Map.of(
+            "id", "id",
+            "fullName", "fullName",
+            "profession", "job.name",
+            "login", "login",
+            "active", "active");
+    private static final Map<String, String> JOB_SORT_PROPERTIES = Map.of(
+            "id", "id",
+            "name", "name",
+            "active", "active",
+            "createdAt", "createdAt");
+
     private final QuestionRepository questionRepository;
     private final OptionRepository optionRepository;
+    private final QuestionVersionRepository questionVersionRepository;
     private final CandidateRepository candidateRepository;
     private final AttemptRepository attemptRepository;
     private final AttemptQuestionRepository attemptQuestionRepository;
     private final JobRepository jobRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final JobStatsCache jobStatsCache;
+    private final ResponseVersions responseVersions;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final QuestionSimilarityIndex questionSimilarityIndex;
+    private final SearchIndexLoader searchIndexLoader;
+    private final ClusterInvalidation clusterInvalidation;
     private final PasswordEncoder passwordEncoder;
 
+    @Transactional(readOnly = true)
     public List<HrResponses.TestResponse> listTests() {
         List<QuestionEntity> questions = questionRepository.findAllByActiveTrueOrderByIdDesc();
 
-        Map<Long, List<OptionEntity>> optionsByQuestionId = mapOptionsByQuestionId(
-                questions.stream().map(QuestionEntity::getId).toList()
-        );
+        Map<Long, List<OptionEntity>> optionsByQuestionId = mapOptionsByQuestionId(questions);
 
         return questions.stream()
                 .map(question -> toTestResponse(question, optionsByQuestionId))
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<HrResponses.CandidateResponse> listCandidates() {
         return candidateRepository.findAll().stream()
                 .map(this::toCandidateResponse)
                 .toList();
     }
 
+    public List<HrResponses.CandidateSearchHit> searchCandidates(String query, int limit) {
+        List<CandidateSearchIndex.Hit> hits = candidateSearchIndex.search(query, Math.min(Math.max(limit, 1), 50));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> jobNames = jobRepository.findAllById(hits.stream()
+                        .map(hit -> hit.entry().jobId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(JobEntity::getId, JobEntity::getName));
+
+        return hits.stream()
+                .map(hit -> new HrResponses.CandidateSearchHit(
+                        hit.entry().candidateId(),
+                        hit.entry().fullName(),
+                        jobNames.get(hit.entry().jobId()),
+                        hit.entry().login(),
+                        hit.entry().active(),
+                        Math.round(hit.score() * 1000.0) / 1000.0))
+                .toList();
+    }
+
+    public CandidateSearchIndex.IndexStats candidateSearchStats() {
+        return candidateSearchIndex.stats();
+    }
+
+    @Transactional(readOnly = true)
     public List<HrResponses.JobResponse> listJobs() {
+        Map<Long, JobStatsCache.JobCounts> countsByJobId = jobStatsCache.getAll();
+
         return jobRepository.findAllByOrderByNameAsc().stream()
-                .map(this::toJobResponse)
+                .map(job -> toJobResponse(job, countsByJobId.get(job.getId())))
                 .toList();
     }
 
+    public HrResponses.PageResponse<HrResponses.TestResponse> pageTests(
+            String profession,
+            Boolean active,
+            String query,
+            Pageable pageable
+    ) {
+        Long jobId = null;
+        if (normalize(profession) != null) {
+            Optional<JobEntity> job = jobRepository.findByNameIgnoreCase(profession.trim());
+            if (job.isEmpty()) {
+                return HrResponses.PageResponse.empty(pageable.getPageNumber(), pageable.getPageSize());
+            }
+            jobId = job.get().getId();
+        }
+
+        Page<QuestionRepository.QuestionRow> rows = questionRepository.findRows(
+                jobId,
+                active,
+                toLikePattern(query),
+                withAllowedSort(pageable, TEST_SORT_PROPERTIES, Sort.by(Sort.Direction.DESC, "id")));
+
+        Map<Long, List<OptionRepository.OptionRow>> optionsByQuestionId = rows.isEmpty()
+                ? Map.of()
+                : optionRepository.findRowsByQuestionVersionIdIn(
+                        rows.map(QuestionRepository.QuestionRow::getCurrentVersionId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OptionRepository.OptionRow::getQuestionId));
+
+        return HrResponses.PageResponse.of(rows, row -> new HrResponses.TestResponse(
+                row.getId(),
+                row.getTitle(),
+                row.getProfession(),
+                row.getText(),
+                row.getActive(),
+                row.getCreatedBy(),
+                optionsByQuestionId.getOrDefault(row.getId(), Collections.emptyList()).stream()
+                        .map(o -> new HrResponses.OptionResponse(o.getId(), o.getText(), o.getCorrect()))
+                        .toList()));
+    }
+
+    public HrResponses.PageResponse<HrResponses.QuestionSearchHit> searchTests(
+            String query,
+            String profession,
+            Boolean active,
+            Pageable pageable
+    ) {
+        Long jobId = null;
+        if (normalize(profession) != null) {
+            Optional<JobEntity> job = jobRepository.findByNameIgnoreCase(profession.trim());
+            if (job.isEmpty()) {
+                return HrResponses.PageResponse.empty(pageable.getPageNumber(), pageable.getPageSize());
+            }
+            jobId = job.get().getId();
+        }
+
+        QuestionSearchIndex.SearchPage result = questionSearchIndex.search(
+                query, jobId, active, pageable.getPageNumber(), pageable.getPageSize());
+
+        Map<Long, String> jobNames = result.hits().isEmpty()
+                ? Map.of()
+                : jobRepository.findAllById(result.hits().stream()
+                                .map(hit -> hit.entry().jobId())
+                                .collect(Collectors.toSet()))
+                        .stream()
+                        .collect(Collectors.toMap(JobEntity::getId, JobEntity::getName));
+
+        List<HrResponses.QuestionSearchHit> items = result.hits().stream()
+                .map(hit -> new HrResponses.QuestionSearchHit(
+                        hit.entry().questionId(),
+                        hit.entry().title(),
+                        jobNames.get(hit.entry().jobId()),
+                        hit.entry().active(),
+                        Math.round(hit.score() * 1000.0) / 1000.0,
+                        hit.titleHighlight(),
+                        hit.textHighlight(),
+                        hit.optionHighlights()))
+                .toList();
+
+        return new HrResponses.PageResponse<>(
+                items,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                result.totalHits(),
+                (int) Math.ceil((double) result.totalHits() / pageable.getPageSize()));
+    }
+
+    public HrResponses.PageResponse<HrResponses.CandidateResponse> pageCandidates(
+            String profession,
+            Boolean active,
+            String query,
+            Pageable pageable
+    ) {
+        Long jobId = null;
+        if (normalize(profession) != null) {
+            Optional<JobEntity> job = jobRepository.findByNameIgnoreCase(profession.trim());
+            if (job.isEmpty()) {
+                return HrResponses.PageResponse.empty(pageable.getPageNumber(), pageable.getPageSize());
+            }
+            jobId = job.get().getId();
+        }
+
+        Page<CandidateRepository.CandidateRow> rows = candidateRepository.findRows(
+                jobId,
+                active,
+                toLikePattern(query),
+                withAllowedSort(pageable, CANDIDATE_SORT_PROPERTIES, Sort.by(Sort.Direction.ASC, "id")));
+
+        return HrResponses.PageResponse.of(rows, row -> new HrResponses.CandidateResponse(
+                row.getId(),
+                row.getFullName(),
+                row.getProfession(),
+                row.getLogin(),
+                row.getActive(),
+                row.getEmail()));
+    }
+
+    public HrResponses.PageResponse<HrResponses.JobResponse> pageJobs(Boolean active, String query, Pageable pageable) {
+        Page<JobRepository.JobRow> rows = jobRepository.findRows(
+                active,
+                toLikePattern(query),
+                withAllowedSort(pageable, JOB_SORT_PROPERTIES, Sort.by(Sort.Direction.ASC, "name")));
+
+        Map<Long, JobStatsCache.JobCounts> countsByJobId =
+                jobStatsCache.getFor(rows.map(JobRepository.JobRow::getId).toList());
+
+        return HrResponses.PageResponse.of(rows, row -> {
+            JobStatsCache.JobCounts counts = countsByJobId.get(row.getId());
+            return new HrResponses.JobResponse(
+                    row.getId(),
+                    row.getName(),
+                    row.getDescription(),
+                    row.getActive(),
+                    row.getCreatedAt(),
+                    counts == null ? 0L : counts.candidateCount(),
+                    counts == null ? 0L : counts.questionCount());
+        });
+    }
+
     @Transactional
     public HrResponses.JobResponse createJob(HrDtos.CreateJobRequest req) {
         String name = req.name().trim();
 
         if (jobRepository.existsByNameIgnoreCase(name)) {
-            throw new IllegalArgumentException(MSG_JOB_NAME_ALREADY_EXISTS + name);
+            throw new DomainException(ErrorCode.JOB_NAME_TAKEN, MSG_JOB_NAME_ALREADY_EXISTS + name);
         }
 
         JobEntity job = jobRepository.save(JobEntity.builder()
@@ -75,6 +282,8 @@ public class HrService {
                 .createdAt(LocalDateTime.now())
                 .build());
 
+        responseVersions.catalogChanged(job.getId());
+        clusterInvalidation.jobChanged(job.getId());
         log.info("Job created id={} name={}", job.getId(), job.getName());
         return toJobResponse(job);
     }
@@ -82,18 +291,15 @@ public class HrService {
     @Transactional
     public HrResponses.JobResponse updateJob(Long jobId, HrDtos.UpdateJobRequest req) {
         JobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_JOB_NOT_FOUND_BY_ID + jobId));
-
-        String previousName = job.getName();
+                .orElseThrow(() -> new DomainException(ErrorCode.JOB_NOT_FOUND, MSG_JOB_NOT_FOUND_BY_ID + jobId));
 
         if (req.name() != null && !req.name().isBlank()) {
             String nextName = req.name().trim();
             if (jobRepository.existsByNameIgnoreCaseAndIdNot(nextName, jobId)) {
-                throw new IllegalArgumentException(MSG_JOB_NAME_ALREADY_EXISTS + nextName);
+                throw new DomainException(ErrorCode.JOB_NAME_TAKEN, MSG_JOB_NAME_ALREADY_EXISTS + nextName);
             }
 
             job.setName(nextName);
-            renameProfessionEverywhere(previousName, nextName);
         }
 
         if (req.description() != null) {
@@ -105,6 +311,8 @@ public class HrService {
         }
 
         JobEntity updated = jobRepository.save(job);
+        responseVersions.catalogChanged(jobId);
+        clusterInvalidation.jobChanged(jobId);
         log.info("Job updated id={} name={}", updated.getId(), updated.getName());
 
         return toJobResponse(updated);
@@ -113,91 +321,155 @@ public class HrService {
     @Transactional
     public void deleteJob(Long jobId) {
         JobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_JOB_NOT_FOUND_BY_ID + jobId));
+                .orElseThrow(() -> new DomainException(ErrorCode.JOB_NOT_FOUND, MSG_JOB_NOT_FOUND_BY_ID + jobId));
 
-        long questionCount = questionRepository.countByProfessionIgnoreCase(job.getName());
-        long candidateCount = candidateRepository.countByProfessionIgnoreCase(job.getName());
+        long questionCount = questionRepository.countByJobId(jobId);
+        long candidateCount = candidateRepository.countByJobId(jobId);
 
         if (questionCount > 0 || candidateCount > 0) {
-            throw new IllegalArgumentException("Cannot delete job with linked candidates/questions. candidateCount="
+            throw new DomainException(ErrorCode.STILL_IN_USE,
+                    "Cannot delete job with linked candidates/questions. candidateCount="
                     + candidateCount + ", questionCount=" + questionCount);
         }
 
+        if (examSessionRepository.countByJobId(jobId) > 0) {
+            throw new DomainException(ErrorCode.STILL_IN_USE, "Cannot delete job with exam sessions. jobId=" + jobId);
+        }
+
         jobRepository.delete(job);
+        jobStatsCache.invalidate();
+        responseVersions.catalogChanged(jobId);
+        clusterInvalidation.jobChanged(jobId);
 
         log.info("Job deleted id={} name={}", job.getId(), job.getName());
     }
 
     @Transactional
-    public HrResponses.TestResponse createTest(HrDtos.CreateTestRequest req, String hrUsername) {
+    public HrResponses.TestCreatedResponse createTest(HrDtos.CreateTestRequest req, String hrUsername) {
         long correctCount = req.options().stream().filter(HrDtos.OptionRequest::correct).count();
         if (correctCount != 1) {
-            throw new IllegalArgumentException(MSG_EXACTLY_ONE_OPTION_CORRECT + ". currentCorrectCount=" + correctCount);
+            throw new DomainException(ErrorCode.INVALID_REQUEST,
+                    MSG_EXACTLY_ONE_OPTION_CORRECT + ". currentCorrectCount=" + correctCount);
         }
 
-        String profession = req.profession().trim();
-        ensureJobExists(profession);
+        JobEntity job = resolveJob(req.profession());
 
         QuestionEntity question = questionRepository.save(QuestionEntity.builder()
                 .title(req.title().trim())
-                .profession(profession)
+                .job(job)
                 .active(req.active() == null || req.active())
                 .createdBy(hrUsername)
                 .text(req.questionText().trim())
                 .build());
+        publishVersion(question, question.getText(), req.options());
 
-        optionRepository.saveAll(req.options().stream()
-                .map(o -> OptionEntity.builder()
-                        .question(question)
-                        .text(o.text().trim())
-                        .correct(o.correct())
-                        .build())
-                .toList());
-
+        jobStatsCache.invalidate();
+        responseVersions.catalogChanged(job.getId());
+        clusterInvalidation.questionChanged(question.getId(), job.getId());
         log.info("HR {} created test(question) id={} title={}", hrUsername, question.getId(), question.getTitle());
 
-        return toTestResponse(question);
+        HrResponses.TestResponse response = toTestResponse(question);
+        QuestionSimilarityIndex.Entry similarityEntry = toSimilarityEntry(response, job.getId());
+        List<QuestionSimilarityIndex.Match> nearDuplicates = questionSimilarityIndex.findSimilar(
+                similarityEntry, QuestionSimilarityIndex.DEFAULT_THRESHOLD, 10);
+        if (!nearDuplicates.isEmpty()) {
+            log.warn("Test(question) id={} looks like a near-duplicate of ids={}", question.getId(),
+                    nearDuplicates.stream().map(match -> match.entry().questionId()).toList());
+        }
+
+        questionSearchIndex.put(toSearchEntry(response, job.getId()));
+        questionSimilarityIndex.put(similarityEntry);
+        return new HrResponses.TestCreatedResponse(response, toSimilarQuestions(nearDuplicates));
+    }
+
+    public HrResponses.DuplicateReport duplicateReport(String profession, Double threshold) {
+        Long jobId = null;
+        if (normalize(profession) != null) {
+            Optional<JobEntity> job = jobRepository.findByNameIgnoreCase(profession.trim());
+            if (job.isEmpty()) {
+                return new HrResponses.DuplicateReport(0, 0, List.of());
+            }
+            jobId = job.get().getId();
+        }
+
+        double minSimilarity = threshold == null ? QuestionSimilarityIndex.DEFAULT_THRESHOLD : threshold;
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "threshold must be in (0, 1]. threshold=" + threshold);
+        }
+
+        QuestionSimilarityIndex.DuplicateReport report = questionSimilarityIndex.report(jobId, minSimilarity);
+        Map<Long, String> jobNames = jobRepository.findAll().stream()
+                .collect(Collectors.toMap(JobEntity::getId, JobEntity::getName));
+
+        return new HrResponses.DuplicateReport(
+                report.questionCount(),
+                report.pairCount(),
+                report.clusters().stream()
+                        .map(cluster -> new HrResponses.DuplicateCluster(
+                                Math.round(cluster.similarity() * 1000.0) / 1000.0,
+                                cluster.questions().stream()
+                                        .map(entry -> new HrResponses.SimilarQuestion(
+                                                entry.questionId(),
+                                                entry.title(),
+                                                jobNames.get(entry.jobId()),
+                                                entry.active(),
+                                                null))
+                                        .toList()))
+                        .toList());
     }
 
     @Transactional
     public HrResponses.TestResponse updateTest(Long id, HrDtos.UpdateTestRequest req) {
         QuestionEntity question = questionRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_TEST_NOT_FOUND_BY_ID + id));
-
-        String previousProfession = question.getProfession();
+                .orElseThrow(() -> new DomainException(ErrorCode.QUESTION_NOT_FOUND, MSG_TEST_NOT_FOUND_BY_ID + id));
+        Long previousJobId = question.getJob().getId();
 
         if (req.title() != null && !req.title().isBlank()) {
             question.setTitle(req.title().trim());
         }
         if (req.profession() != null && !req.profession().isBlank()) {
-            String profession = req.profession().trim();
-            ensureJobExists(profession);
-            question.setProfession(profession);
-            if (!previousProfession.equalsIgnoreCase(profession)) {
-                // Profession rename for questions is local to this question via update.
-            }
+            question.setJob(resolveJob(req.profession()));
         }
         if (req.active() != null) {
             question.setActive(req.active());
         }
-        if (req.questionText() != null && !req.questionText().isBlank()) {
-            question.setText(req.questionText().trim());
+        if (req.questionText() != null && !req.questionText().isBlank()
+                && !req.questionText().trim().equals(question.getText())) {
+            publishVersion(question, req.questionText().trim(), currentOptions(question));
         }
 
         QuestionEntity updated = questionRepository.save(question);
+        jobStatsCache.invalidate();
+        responseVersions.catalogChanged(previousJobId, updated.getJob().getId());
+        clusterInvalidation.questionChanged(id, updated.getJob().getId());
+        if (!previousJobId.equals(updated.getJob().getId())) {
+            clusterInvalidation.questionChanged(id, previousJobId);
+        }
         log.info("Test(question) updated id={} title={}", updated.getId(), updated.getTitle());
-        return toTestResponse(updated);
+
+        HrResponses.TestResponse response = toTestResponse(updated);
+        questionSearchIndex.put(toSearchEntry(response, updated.getJob().getId()));
+        questionSimilarityIndex.put(toSimilarityEntry(response, updated.getJob().getId()));
+        return response;
     }
 
     @Transactional
     public void deleteTest(Long id) {
         if (attemptQuestionRepository.existsByQuestionId(id)) {
-            throw new IllegalArgumentException("Cannot delete question used in attempts. questionId=" + id);
+            throw new DomainException(ErrorCode.STILL_IN_USE,
+                    "Cannot delete question used in attempts. questionId=" + id);
         }
 
-        List<OptionEntity> oldOptions = optionRepository.findAllByQuestionId(id);
-        optionRepository.deleteAll(oldOptions);
-        questionRepository.deleteById(id);
+        QuestionEntity question = questionRepository.findById(id)
+                .orElseThrow(() -> new DomainException(ErrorCode.QUESTION_NOT_FOUND, MSG_TEST_NOT_FOUND_BY_ID + id));
+        Long jobId = question.getJob().getId();
+        // Unused by any attempt, so every version goes with it.
+        deleteQuestions(List.of(id));
+        jobStatsCache.invalidate();
+        responseVersions.catalogChanged(jobId);
+        clusterInvalidation.questionChanged(id, jobId);
+        questionSearchIndex.remove(id);
+        questionSimilarityIndex.remove(id);
         log.info("Test(question) deleted id={}", id);
     }
 
@@ -206,20 +478,24 @@ public class HrService {
         String login = req.login().trim();
 
         if (candidateRepository.existsByLoginIgnoreCase(login)) {
-            throw new IllegalArgumentException(MSG_CANDIDATE_LOGIN_ALREADY_EXISTS + login);
+            throw new DomainException(ErrorCode.CANDIDATE_LOGIN_TAKEN, MSG_CANDIDATE_LOGIN_ALREADY_EXISTS + login);
         }
 
-        String profession = req.profession().trim();
-        ensureJobExists(profession);
+        JobEntity job = resolveJob(req.profession());
 
         CandidateEntity saved = candidateRepository.save(CandidateEntity.builder()
                 .fullName(req.fullName().trim())
-                .profession(profession)
+                .job(job)
                 .login(login)
                 .passwordHash(normalizePasswordForStorage(req.password()))
                 .active(req.active() == null || req.active())
+                .email(normalizeEmail(req.email()))
                 .build());
 
+        jobStatsCache.invalidate();
+        candidateSearchIndex.put(toSearchEntry(saved));
+        responseVersions.candidatesChanged();
+        clusterInvalidation.candidateChanged(saved.getId(), job.getId());
         log.info("Candidate created id={} login={}", saved.getId(), saved.getLogin());
 
         return toCandidateResponse(saved);
@@ -228,16 +504,15 @@ public class HrService {
     @Transactional
     public HrResponses.CandidateResponse updateCandidate(Long candidateId, HrDtos.UpdateCandidateRequest req) {
         CandidateEntity candidate = candidateRepository.findById(candidateId)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_CANDIDATE_NOT_FOUND_BY_ID + candidateId));
+                .orElseThrow(() -> new DomainException(ErrorCode.CANDIDATE_NOT_FOUND,
+                        MSG_CANDIDATE_NOT_FOUND_BY_ID + candidateId));
 
         if (req.fullName() != null && !req.fullName().isBlank()) {
             candidate.setFullName(req.fullName().trim());
         }
 
         if (req.profession() != null && !req.profession().isBlank()) {
-            String profession = req.profession().trim();
-            ensureJobExists(profession);
-            candidate.setProfession(profession);
+            candidate.setJob(resolveJob(req.profession()));
         }
 
         if (req.password() != null && !req.password().isBlank()) {
@@ -248,7 +523,15 @@ public class HrService {
             candidate.setActive(req.active());
         }
 
+        if (req.email() != null) {
+            candidate.setEmail(normalizeEmail(req.email()));
+        }
+
         CandidateEntity updated = candidateRepository.save(candidate);
+        jobStatsCache.invalidate();
+        candidateSearchIndex.put(toSearchEntry(updated));
+        responseVersions.candidatesChanged();
+        clusterInvalidation.candidateChanged(candidateId, updated.getJob().getId());
         log.info("Candidate updated id={} login={}", updated.getId(), updated.getLogin());
         return toCandidateResponse(updated);
     }
@@ -256,17 +539,20 @@ public class HrService {
     @Transactional
     public HrResponses.CandidateResponse updateCandidatePassport(Long candidateId, HrDtos.UpdateCandidatePassportRequest req) {
         CandidateEntity candidate = candidateRepository.findById(candidateId)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_CANDIDATE_NOT_FOUND_BY_ID + candidateId));
+                .orElseThrow(() -> new DomainException(ErrorCode.CANDIDATE_NOT_FOUND,
+                        MSG_CANDIDATE_NOT_FOUND_BY_ID + candidateId));
 
         String passport = req.passport().trim();
         if (candidateRepository.existsByLoginIgnoreCaseAndIdNot(passport, candidateId)) {
-            throw new IllegalArgumentException(MSG_CANDIDATE_LOGIN_ALREADY_EXISTS + passport);
+            throw new DomainException(ErrorCode.CANDIDATE_LOGIN_TAKEN, MSG_CANDIDATE_LOGIN_ALREADY_EXISTS + passport);
         }
 
         candidate.setLogin(passport);
         candidate.setPasswordHash(passwordEncoder.encode(passport));
 
         CandidateEntity updated = candidateRepository.save(candidate);
+        candidateSearchIndex.put(toSearchEntry(updated));
+        clusterInvalidation.candidateChanged(candidateId, updated.getJob().getId());
         log.info("Candidate passport updated id={} login={}", updated.getId(), updated.getLogin());
         return toCandidateResponse(updated);
     }
@@ -274,46 +560,156 @@ public class HrService {
     @Transactional
     public void deleteCandidate(Long candidateId) {
         if (attemptRepository.countByCandidateId(candidateId) > 0) {
-            throw new IllegalArgumentException("Cannot delete candidate with attempts. candidateId=" + candidateId);
+            throw new DomainException(ErrorCode.STILL_IN_USE,
+                    "Cannot delete candidate with attempts. candidateId=" + candidateId);
         }
 
+        examSessionRepository.removeCandidate(candidateId);
         candidateRepository.deleteById(candidateId);
+        jobStatsCache.invalidate();
+        candidateSearchIndex.remove(candidateId);
+        responseVersions.candidatesChanged();
+        clusterInvalidation.candidateChanged(candidateId, null);
         log.info("Candidate deleted id={}", candidateId);
     }
 
+    /**
+     * Applies one action to many questions with set-based checks and one bulk statement. IDs that do not exist,
+     * or that attempts still use when deleting, are skipped and reported; the rest are applied together.
+     */
     @Transactional
-    public HrResponses.TestResponse updateQuestion(Long questionId, HrDtos.UpdateQuestionRequest req) {
-        QuestionEntity question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new IllegalArgumentException(MSG_QUESTION_NOT_FOUND_BY_ID + questionId));
+    public HrResponses.BulkResponse bulkTests(HrDtos.BulkRequest req) {
+        List<Long> ids = req.ids().stream().distinct().toList();
+        JobEntity targetJob = resolveBulkTargetJob(req);
+
+        Map<Long, Long> jobIdByQuestionId = questionRepository.findSearchRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(QuestionRepository.QuestionSearchRow::getId,
+                        QuestionRepository.QuestionSearchRow::getJobId));
+        Map<Long, HrResponses.BulkItemResponse> skipped = new HashMap<>();
+        for (Long id : ids) {
+            if (!jobIdByQuestionId.containsKey(id)) {
+                skipped.put(id, new HrResponses.BulkItemResponse(
+                        id, false, ErrorCode.QUESTION_NOT_FOUND, MSG_TEST_NOT_FOUND_BY_ID + id));
+            }
+        }
+        if (req.action() == HrDtos.BulkAction.DELETE && !jobIdByQuestionId.isEmpty()) {
+            for (Long id : attemptQuestionRepository.findUsedQuestionIds(jobIdByQuestionId.keySet())) {
+                skipped.put(id, new HrResponses.BulkItemResponse(id, false, ErrorCode.STILL_IN_USE,
+                        "Cannot delete question used in attempts. questionId=" + id));
+            }
+        }
+
+        List<Long> targets = ids.stream().filter(id -> !skipped.containsKey(id)).toList();
+        if (!targets.isEmpty()) {
+            switch (req.action()) {
+                case ACTIVATE -> questionRepository.updateActive(targets, true);
+                case DEACTIVATE -> questionRepository.updateActive(targets, false);
+                case REASSIGN -> questionRepository.updateJob(targets, targetJob);
+                case DELETE -> deleteQuestions(targets);
+            }
+
+            Set<Long> affectedJobIds = new HashSet<>();
+            targets.forEach(id -> affectedJobIds.add(jobIdByQuestionId.get(id)));
+            if (targetJob != null) {
+                affectedJobIds.add(targetJob.getId());
+            }
+            clusterInvalidation.questionsChanged(targets, affectedJobIds);
+            jobStatsCache.invalidate();
+            responseVersions.catalogChanged(affectedJobIds.toArray(Long[]::new));
+            searchIndexLoader.reloadQuestions(targets);
+        }
+
+        log.info("Bulk {} of tests(questions) requested={} applied={}", req.action(), ids.size(), targets.size());
+        return toBulkResponse(req.action(), ids, skipped);
+    }
+
+    /**
+     * Candidate counterpart of {@link #bulkTests}: deleting skips candidates that already have attempts and takes
+     * the rest out of their exam sessions first.
+     */
+    @Transactional
+    public HrResponses.BulkResponse bulkCandidates(HrDtos.BulkRequest req) {
+        List<Long> ids = req.ids().stream().distinct().toList();
+        JobEntity targetJob = resolveBulkTargetJob(req);
+
+        Set<Long> existing = candidateRepository.findSearchRowsByIdIn(ids).stream()
+                .map(CandidateRepository.CandidateSearchRow::getId)
+                .collect(Collectors.toSet());
+        Map<Long, HrResponses.BulkItemResponse> skipped = new HashMap<>();
+        for (Long id : ids) {
+            if (!existing.contains(id)) {
+                skipped.put(id, new HrResponses.BulkItemResponse(
+                        id, false, ErrorCode.CANDIDATE_NOT_FOUND, MSG_CANDIDATE_NOT_FOUND_BY_ID + id));
+            }
+        }
+        if (req.action() == HrDtos.BulkAction.DELETE && !existing.isEmpty()) {
+            for (Long id : attemptRepository.findCandidateIdsWithAttempts(existing)) {
+                skipped.put(id, new HrResponses.BulkItemResponse(id, false, ErrorCode.STILL_IN_USE,
+                        "Cannot delete candidate with attempts. candidateId=" + id));
+            }
+        }
+
+        List<Long> targets = ids.stream().filter(id -> !skipped.containsKey(id)).toList();
+        if (!targets.isEmpty()) {
+            switch (req.action()) {
+                case ACTIVATE -> candidateRepository.updateActive(targets, true);
+                case DEACTIVATE -> candidateRepository.updateActive(targets, false);
+                case REASSIGN -> candidateRepository.updateJob(targets, targetJob);
+                case DELETE -> {
+                    examSessionRepository.removeCandidates(targets);
+                    candidateRepository.deleteAllByIdIn(targets);
+                }
+            }
 
-        if (req.text() != null && !req.text().isBlank()) {
-            question.setText(req.text().trim());
+            Long jobId = targetJob == null ? null : targetJob.getId();
+            clusterInvalidation.candidatesChanged(targets, jobId);
+            jobStatsCache.invalidate();
+            responseVersions.candidatesChanged();
+            searchIndexLoader.reloadCandidates(targets);
         }
 
-        questionRepository.save(question);
+        log.info("Bulk {} of candidates requested={} applied={}", req.action(), ids.size(), targets.size());
+        return toBulkResponse(req.action(), ids, skipped);
+    }
+
+    @Transactional
+    public HrResponses.TestResponse updateQuestion(Long questionId, HrDtos.UpdateQuestionRequest req) {
+        QuestionEntity question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new DomainException(ErrorCode.QUESTION_NOT_FOUND,
+                        MSG_QUESTION_NOT_FOUND_BY_ID + questionId));
+
+        boolean textChanged = req.text() != null && !req.text().isBlank()
+                && !req.text().trim().equals(question.getText());
+        boolean optionsChanged = req.options() != null && !req.options().isEmpty();
 
-        if (req.options() != null && !req.options().isEmpty()) {
+        if (optionsChanged) {
             long correctCount = req.options().stream().filter(HrDtos.OptionRequest::correct).count();
             if (correctCount != 1) {
-                throw new IllegalArgumentException(
+                throw new DomainException(ErrorCode.INVALID_REQUEST,
                         MSG_EXACTLY_ONE_OPTION_CORRECT + ". currentCorrectCount=" + correctCount);
             }
-            List<OptionEntity> oldOptions = optionRepository.findAllByQuestionId(questionId);
-            optionRepository.deleteAll(oldOptions);
-            optionRepository.saveAll(req.options().stream()
-                    .map(o -> OptionEntity.builder()
-                            .question(question)
-                            .text(o.text().trim())
-                            .correct(o.correct())
-                            .build())
-                    .toList());
         }
 
+        // Attempts already running keep the version they pinned; only new attempts see the edit.
+        if (textChanged || optionsChanged) {
+            publishVersion(
+                    question,
+                    textChanged ? req.text().trim() : question.getText(),
+                    optionsChanged ? req.options() : currentOptions(question));
+            questionRepository.save(question);
+        }
+
+        responseVersions.catalogChanged(question.getJob().getId());
+        clusterInvalidation.questionChanged(questionId, question.getJob().getId());
         log.info("Question updated id={}", questionId);
 
-        return toTestResponse(question);
+        HrResponses.TestResponse response = toTestResponse(question);
+        questionSearchIndex.put(toSearchEntry(response, question.getJob().getId()));
+        questionSimilarityIndex.put(toSimilarityEntry(response, question.getJob().getId()));
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public List<HrResponses.ResultResponse> listResults(
             String job,
             LocalDate fromDate,
@@ -322,9 +718,25 @@ public class HrService {
             Double minScore,
             Double maxScore,
             String status
+    ) {
+        // HR expects an attempt to be listed as soon as the candidate has submitted it.
+        return ReplicaRoutingDataSource.freshRead(() ->
+                buildResults(job, fromDate, toDate, candidateQuery, minScore, maxScore, status));
+    }
+
+    private List<HrResponses.ResultResponse> buildResults(
+            String job,
+            LocalDate fromDate,
+            LocalDate toDate,
+            String candidateQuery,
+            Double minScore,
+            Double maxScore,
+            String status
     ) {
         String jobFilter = normalize(job);
-        String queryFilter = normalize(candidateQuery);
+        Set<Long> candidateIdsFilter = normalize(candidateQuery) == null
+                ? null
+                : candidateSearchIndex.findMatchingIds(candidateQuery);
         String statusFilter = normalize(status);
         LocalDateTime from = toStartOfDay(fromDate);
         LocalDateTime to = toEndOfDay(toDate);
@@ -339,7 +751,7 @@ public class HrService {
         return rows.stream()
                 .filter(row -> filterJob(row, jobFilter))
                 .filter(row -> filterDate(row, from, to))
-                .filter(row -> filterCandidate(row, queryFilter))
+                .filter(row -> candidateIdsFilter == null || candidateIdsFilter.contains(row.candidateId()))
                 .filter(row -> filterScore(row, minScore, maxScore))
                 .filter(row -> filterStatus(row, statusFilter))
                 .sorted(Comparator.comparing(this::startedAtOrMin).reversed())
@@ -393,7 +805,7 @@ public class HrService {
                 attempt.getCandidate().getId(),
                 attempt.getCandidate().getFullName(),
                 attempt.getCandidate().getLogin(),
-                attempt.getProfession(),
+                attempt.getJob().getName(),
                 attempt.getCorrectAnswers(),
                 attempt.getTotalQuestions(),
                 attempt.getScore(),
@@ -426,7 +838,7 @@ public class HrService {
                 candidate.getId(),
                 candidate.getFullName(),
                 candidate.getLogin(),
-                candidate.getProfession(),
+                candidate.getJob().getName(),
                 null,
                 null,
                 null,
@@ -454,13 +866,6 @@ public class HrService {
         return afterFrom && beforeTo;
     }
 
-    private boolean filterCandidate(HrResponses.ResultResponse row, String queryFilter) {
-        if (queryFilter == null) return true;
-        String fullName = normalize(row.candidateName());
-        String passport = normalize(row.passport());
-        return (fullName != null && fullName.contains(queryFilter)) || (passport != null && passport.contains(queryFilter));
-    }
-
     private boolean filterScore(HrResponses.ResultResponse row, Double minScore, Double maxScore) {
         if (minScore == null && maxScore == null) return true;
         if (!"completed".equals(row.status()) || row.score() == null) return false;
@@ -481,51 +886,70 @@ public class HrService {
         return Math.max(0, Duration.between(startedAt, end).getSeconds());
     }
 
-    private void renameProfessionEverywhere(String fromName, String toName) {
-        if (fromName.equalsIgnoreCase(toName)) {
-            return;
-        }
-
-        List<QuestionEntity> questions = questionRepository.findAll().stream()
-                .filter(q -> q.getProfession() != null && q.getProfession().equalsIgnoreCase(fromName))
-                .toList();
+    /** The pointer to the current version is cleared first because it references one of the versions. */
+    private void deleteQuestions(Collection<Long> questionIds) {
+        questionRepository.clearCurrentVersions(questionIds);
+        optionRepository.deleteAllByQuestionIdIn(questionIds);
+        questionVersionRepository.deleteAllByQuestionIdIn(questionIds);
+        questionRepository.deleteAllByIdIn(questionIds);
+    }
 
-        for (QuestionEntity question : questions) {
-            question.setProfession(toName);
+    private JobEntity resolveBulkTargetJob(HrDtos.BulkRequest req) {
+        if (req.action() != HrDtos.BulkAction.REASSIGN) {
+            return null;
         }
+        if (normalize(req.profession()) == null) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "profession is required to reassign");
+        }
+        return resolveJob(req.profession());
+    }
 
-        questionRepository.saveAll(questions);
-
-        List<CandidateEntity> candidates = candidateRepository.findAll().stream()
-                .filter(c -> c.getProfession() != null && c.getProfession().equalsIgnoreCase(fromName))
+    private HrResponses.BulkResponse toBulkResponse(HrDtos.BulkAction action, List<Long> ids,
+            Map<Long, HrResponses.BulkItemResponse> skipped) {
+        List<HrResponses.BulkItemResponse> results = ids.stream()
+                .map(id -> skipped.getOrDefault(id, new HrResponses.BulkItemResponse(id, true, null, null)))
                 .toList();
+        return new HrResponses.BulkResponse(action.name(), ids.size(), ids.size() - skipped.size(), results);
+    }
 
-        for (CandidateEntity candidate : candidates) {
-            candidate.setProfession(toName);
-        }
-
-        candidateRepository.saveAll(candidates);
+    private void publishVersion(QuestionEntity question, String text, List<HrDtos.OptionRequest> options) {
+        QuestionVersionEntity current = question.getCurrentVersion();
+        QuestionVersionEntity version = questionVersionRepository.save(QuestionVersionEntity.builder()
+                .question(question)
+                .version(current == null ? 1 : current.getVersion() + 1)
+                .text(text)
+                .createdAt(LocalDateTime.now())
+                .build());
 
-        List<AttemptEntity> attempts = attemptRepository.findAll().stream()
-                .filter(a -> a.getProfession() != null && a.getProfession().equalsIgnoreCase(fromName))
-                .toList();
+        optionRepository.saveAll(options.stream()
+                .map(o -> OptionEntity.builder()
+                        .question(question)
+                        .questionVersion(version)
+                        .text(o.text().trim())
+                        .correct(o.correct())
+                        .build())
+                .toList());
 
-        for (AttemptEntity attempt : attempts) {
-            attempt.setProfession(toName);
-        }
+        question.setText(text);
+        question.setCurrentVersion(version);
+    }
 
-        attemptRepository.saveAll(attempts);
+    private List<HrDtos.OptionRequest> currentOptions(QuestionEntity question) {
+        return optionRepository.findAllByQuestionVersionIdOrderByIdAsc(question.getCurrentVersion().getId()).stream()
+                .map(o -> new HrDtos.OptionRequest(o.getText(), o.getCorrect()))
+                .toList();
     }
 
     private HrResponses.TestResponse toTestResponse(QuestionEntity question) {
-        List<HrResponses.OptionResponse> options = optionRepository.findAllByQuestionId(question.getId()).stream()
+        List<HrResponses.OptionResponse> options = optionRepository
+                .findAllByQuestionVersionIdOrderByIdAsc(question.getCurrentVersion().getId()).stream()
                 .map(o -> new HrResponses.OptionResponse(o.getId(), o.getText(), o.getCorrect()))
                 .toList();
 
         return new HrResponses.TestResponse(
                 question.getId(),
                 question.getTitle(),
-                question.getProfession(),
+                question.getJob().getName(),
                 question.getText(),
                 question.getActive(),
                 question.getCreatedBy(),
@@ -543,7 +967,7 @@ public class HrService {
         return new HrResponses.TestResponse(
                 question.getId(),
                 question.getTitle(),
-                question.getProfession(),
+                question.getJob().getName(),
                 question.getText(),
                 question.getActive(),
                 question.getCreatedBy(),
@@ -551,12 +975,14 @@ public class HrService {
         );
     }
 
-    private Map<Long, List<OptionEntity>> mapOptionsByQuestionId(Collection<Long> questionIds) {
-        if (questionIds == null || questionIds.isEmpty()) {
+    private Map<Long, List<OptionEntity>> mapOptionsByQuestionId(Collection<QuestionEntity> questions) {
+        if (questions == null || questions.isEmpty()) {
             return Map.of();
         }
 
-        return optionRepository.findAllByQuestionIdIn(questionIds).stream()
+        return optionRepository.findAllByQuestionVersionIdInOrderByIdAsc(questions.stream()
+                        .map(question -> question.getCurrentVersion().getId())
+                        .toList()).stream()
                 .collect(Collectors.groupingBy(option -> option.getQuestion().getId()));
     }
 
@@ -564,48 +990,129 @@ public class HrService {
         return new HrResponses.CandidateResponse(
                 candidate.getId(),
                 candidate.getFullName(),
-                candidate.getProfession(),
+                candidate.getJob().getName(),
                 candidate.getLogin(),
-                candidate.getActive()
+                candidate.getActive(),
+                candidate.getEmail()
         );
     }
 
+    /** A blank e-mail clears the address. */
+    private static String normalizeEmail(String email) {
+        return email == null || email.isBlank() ? null : email.trim();
+    }
+
+    private QuestionSearchIndex.Entry toSearchEntry(HrResponses.TestResponse test, Long jobId) {
+        return new QuestionSearchIndex.Entry(
+                test.testId(),
+                jobId,
+                test.active(),
+                test.title(),
+                test.questionText(),
+                test.options().stream().map(HrResponses.OptionResponse::text).toList());
+    }
+
+    private QuestionSimilarityIndex.Entry toSimilarityEntry(HrResponses.TestResponse test, Long jobId) {
+        return new QuestionSimilarityIndex.Entry(
+                test.testId(),
+                jobId,
+                test.active(),
+                test.title(),
+                test.questionText(),
+                test.options().stream().map(HrResponses.OptionResponse::text).toList());
+    }
+
+    private List<HrResponses.SimilarQuestion> toSimilarQuestions(List<QuestionSimilarityIndex.Match> matches) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> jobNames = jobRepository.findAllById(matches.stream()
+                        .map(match -> match.entry().jobId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(JobEntity::getId, JobEntity::getName));
+
+        return matches.stream()
+                .map(match -> new HrResponses.SimilarQuestion(
+                        match.entry().questionId(),
+                        match.entry().title(),
+                        jobNames.get(match.entry().jobId()),
+                        match.entry().active(),
+                        Math.round(match.similarity() * 1000.0) / 1000.0))
+                .toList();
+    }
+
+    private CandidateSearchIndex.Entry toSearchEntry(CandidateEntity candidate) {
+        return new CandidateSearchIndex.Entry(
+                candidate.getId(),
+                candidate.getFullName(),
+                candidate.getLogin(),
+                candidate.getJob().getId(),
+                candidate.getActive());
+    }
+
     private HrResponses.JobResponse toJobResponse(JobEntity job) {
+        return toJobResponse(job, jobStatsCache.get(job.getId()));
+    }
+
+    private HrResponses.JobResponse toJobResponse(JobEntity job, JobStatsCache.JobCounts counts) {
         return new HrResponses.JobResponse(
                 job.getId(),
                 job.getName(),
                 job.getDescription(),
                 job.getActive(),
                 job.getCreatedAt(),
-                candidateRepository.countByProfessionIgnoreCase(job.getName()),
-                questionRepository.countByProfessionIgnoreCase(job.getName())
+                counts == null ? 0L : counts.candidateCount(),
+                counts == null ? 0L : counts.questionCount()
         );
     }
 
-    private void ensureJobExists(String profession) {
+    private JobEntity resolveJob(String profession) {
         String value = profession.trim();
 
         if (value.isEmpty()) {
-            throw new IllegalArgumentException("profession is required");
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "profession is required");
         }
 
-        if (jobRepository.findByNameIgnoreCase(value).isPresent()) {
-            return;
+        return jobRepository.findByNameIgnoreCase(value)
+                .orElseGet(() -> jobRepository.save(JobEntity.builder()
+                        .name(value)
+                        .description(null)
+                        .active(true)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    private String toLikePattern(String query) {
+        String value = normalize(query);
+        if (value == null) {
+            return null;
         }
 
-        jobRepository.save(JobEntity.builder()
-                .name(value)
-                .description(null)
-                .active(true)
-                .createdAt(LocalDateTime.now())
-                .build());
+        String escaped = value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private Pageable withAllowedSort(Pageable pageable, Map<String, String> allowedProperties, Sort defaultSort) {
+        List<Sort.Order> orders = pageable.getSort().stream()
+                .filter(order -> allowedProperties.containsKey(order.getProperty()))
+                .map(order -> order.withProperty(allowedProperties.get(order.getProperty())))
+                .toList();
+
+        return PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                orders.isEmpty() ? defaultSort : Sort.by(orders));
     }
 
     private String normalizePasswordForStorage(String password) {
         String raw = password == null ? "" : password.trim();
 
         if (raw.isEmpty()) {
-            throw new IllegalArgumentException("password is required");
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "password is required");
         }
 
         if (isBcryptHash(raw)) {
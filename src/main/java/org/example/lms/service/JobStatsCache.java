@@ -0,0 +1,106 @@
+package org.example.lms.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.lms.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Candidate/question counts per job, computed by one grouped aggregate.
+ * With {@code exam.job-stats.cache-ttl-seconds > 0} the result is kept for that long,
+ * and any candidate or question write drops it through {@link #invalidate()}, again once the
+ * surrounding transaction completes so a reload racing the commit is not kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobStatsCache {
+    private static final JobCounts EMPTY = new JobCounts(0L, 0L);
+
+    private final JobRepository jobRepository;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${exam.job-stats.cache-ttl-seconds:0}")
+    private long ttlSeconds;
+
+    private volatile Snapshot snapshot;
+
+    public Map<Long, JobCounts> getAll() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(ttlSeconds)) {
+            return current.counts();
+        }
+
+        long startedGeneration = generation.get();
+        Map<Long, JobCounts> counts = jobRepository.findAllStats().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        JobRepository.JobStats::getJobId,
+                        stats -> new JobCounts(stats.getCandidateCount(), stats.getQuestionCount())));
+
+        if (ttlSeconds > 0 && generation.get() == startedGeneration) {
+            snapshot = new Snapshot(counts, System.nanoTime());
+        }
+        return counts;
+    }
+
+    /**
+     * Counts for the given jobs only: served from the cached snapshot when it is fresh, otherwise by a
+     * filtered aggregate so that one page of jobs does not pay for a whole-table grouping.
+     */
+    public Map<Long, JobCounts> getFor(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(ttlSeconds)) {
+            Map<Long, JobCounts> counts = new HashMap<>();
+            jobIds.forEach(jobId -> counts.put(jobId, current.counts().getOrDefault(jobId, EMPTY)));
+            return counts;
+        }
+
+        return jobRepository.findStatsByJobIdIn(jobIds).stream()
+                .collect(Collectors.toMap(
+                        JobRepository.JobStats::getJobId,
+                        stats -> new JobCounts(stats.getCandidateCount(), stats.getQuestionCount())));
+    }
+
+    public JobCounts get(Long jobId) {
+        return getAll().getOrDefault(jobId, EMPTY);
+    }
+
+    public void invalidate() {
+        evict();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    public record JobCounts(Long candidateCount, Long questionCount) {
+    }
+
+    private record Snapshot(Map<Long, JobCounts> counts, long loadedAtNanos) {
+        boolean isFresh(long ttlSeconds) {
+            return ttlSeconds > 0 && System.nanoTime() - loadedAtNanos < Duration.ofSeconds(ttlSeconds).toNanos();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.lms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.entity.MailOutboxEntity;
+import org.example.lms.repository.MailOutboxRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Delivers the mail outbox. Each cycle claims a batch of due messages and hands them to the mail server over one
+ * connection, then deletes what was sent. A message that failed is retried with exponential backoff and marked
+ * failed after {@code max-tries}; one that cannot even be built (a malformed address) fails at once. Sending is
+ * paced by a token bucket of {@code rate-per-second}. Without {@code spring.mail.host} there is no sender and the
+ * outbox only fills up.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+    private final MailOutboxRepository mailOutboxRepository;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final TransactionTemplate transaction;
+    private final String from;
+    private final int batchSize;
+    private final double ratePerSecond;
+    private final long claimTimeoutSeconds;
+    private final long backoffSeconds;
+    private final long maxBackoffSeconds;
+    private final int maxTries;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    private double tokens;
+    private long refilledAtNanos = System.nanoTime();
+
+    public MailDispatcher(
+            MailOutboxRepository mailOutboxRepository,
+            ObjectProvider<JavaMailSender> mailSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${exam.notifications.from:lms@localhost}") String from,
+            @Value("${exam.notifications.batch-size:50}") int batchSize,
+            @Value("${exam.notifications.rate-per-second:5}") double ratePerSecond,
+            @Value("${exam.notifications.claim-timeout-seconds:300}") long claimTimeoutSeconds,
+            @Value("${exam.notifications.backoff-seconds:30}") long backoffSeconds,
+            @Value("${exam.notifications.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${exam.notifications.max-tries:8}") int maxTries
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+        this.backoffSeconds = backoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.maxTries = maxTries;
+        this.tokens = batchSize;
+
+        sent = Counter.builder("exam.mail.sent").register(meterRegistry);
+        retried = Counter.builder("exam.mail.retried").register(meterRegistry);
+        failed = Counter.builder("exam.mail.failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${exam.notifications.dispatch-interval-ms:5000}")
+    public void scheduledDispatch() {
+        try {
+            dispatch();
+        } catch (RuntimeException ex) {
+            log.warn("Mail dispatch cycle failed", ex);
+        }
+    }
+
+    /** Sends one batch of due messages; returns how many were delivered. */
+    public synchronized int dispatch() {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            return 0;
+        }
+        int limit = takeTokens();
+        if (limit == 0) {
+            return 0;
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxEntity> batch = transaction.execute(status -> {
+            mailOutboxRepository.claim(claimToken, now, now.plusSeconds(claimTimeoutSeconds), limit);
+            return mailOutboxRepository.findAllByClaimTokenOrderByIdAsc(claimToken);
+        });
+        tokens += limit - batch.size();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        Set<Long> unsendable = new HashSet<>();
+        Map<MimeMessage, MailOutboxEntity> byMessage = new IdentityHashMap<>();
+        for (MailOutboxEntity mail : batch) {
+            try {
+                byMessage.put(toMessage(sender, mail), mail);
+            } catch (MessagingException ex) {
+                unsendable.add(mail.getId());
+                errors.put(mail.getId(), ex.getMessage());
+            }
+        }
+
+        if (!byMessage.isEmpty()) {
+            try {
+                sender.send(byMessage.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException ex) {
+                if (ex.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(mail -> errors.put(mail.getId(), ex.getMessage()));
+                } else {
+                    ex.getFailedMessages().forEach((message, cause) -> {
+                        MailOutboxEntity mail = byMessage.get(message);
+                        if (mail != null) {
+                            errors.put(mail.getId(), cause.getMessage());
+                        }
+                    });
+                }
+            } catch (MailException ex) {
+                byMessage.values().forEach(mail -> errors.put(mail.getId(), ex.getMessage()));
+            }
+        }
+
+        List<Long> sentIds = batch.stream().map(MailOutboxEntity::getId).filter(id -> !errors.containsKey(id)).toList();
+        transaction.executeWithoutResult(status -> {
+            mailOutboxRepository.deleteAllByIdInBatch(sentIds);
+            mailOutboxRepository.findAllById(errors.keySet())
+                    .forEach(mail -> recordFailure(mail, errors.get(mail.getId()), unsendable.contains(mail.getId())));
+        });
+
+        sent.increment(sentIds.size());
+        if (!errors.isEmpty()) {
+            log.warn("Mail dispatch sent={} failed={}", sentIds.size(), errors.size());
+        }
+        return sentIds.size();
+    }
+
+    private MimeMessage toMessage(JavaMailSender sender, MailOutboxEntity mail) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody());
+        return message;
+    }
+
+    private void recordFailure(MailOutboxEntity mail, String error, boolean permanent) {
+        LocalDateTime now = LocalDateTime.now();
+        int tries = mail.getTries() + 1;
+        mail.setTries(tries);
+        mail.setClaimToken(null);
+        mail.setLastError(abbreviate(error));
+        if (permanent || tries >= maxTries) {
+            mail.setFailedAt(now);
+            failed.increment();
+            log.error("Mail delivery gave up id={} attemptId={} tries={} error={}",
+                    mail.getId(), mail.getAttemptId(), tries, error);
+        } else {
+            mail.setNextAttemptAt(now.plusSeconds(backoff(tries)));
+            retried.increment();
+        }
+    }
+
+    /** Seconds to wait after the given number of failed tries: doubles each time, capped at {@code max-backoff}. */
+    long backoff(int tries) {
+        long delay = backoffSeconds << Math.min(tries - 1, 30);
+        return Math.min(delay, maxBackoffSeconds);
+    }
+
+    private int takeTokens() {
+        long nowNanos = System.nanoTime();
+        tokens = Math.min(batchSize, tokens + (nowNanos - refilledAtNanos) / 1e9 * ratePerSecond);
+        refilledAtNanos = nowNanos;
+        int taken = (int) Math.floor(tokens);
+        tokens -= taken;
+        return taken;
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return "Delivery failed";
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
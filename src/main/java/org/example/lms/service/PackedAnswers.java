@@ -0,0 +1,65 @@
+package org.example.lms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec for archived answer sheets. Questions come in display order with their option ids in id order; each
+ * question takes one selection byte (0 = unanswered, n = the n-th option) and one bit of the correctness bitset.
+ * A 40-question sheet packs into 45 bytes instead of 40 attempt_answers rows.
+ */
+final class PackedAnswers {
+    private PackedAnswers() {
+    }
+
+    static Packed pack(List<Question> questions, Map<Long, Answer> answersByQuestion) {
+        byte[] selections = new byte[questions.size()];
+        byte[] correctBits = new byte[(questions.size() + 7) / 8];
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            Answer answer = answersByQuestion.get(question.questionId());
+            if (answer == null || answer.selectedOptionId() == null) {
+                continue;
+            }
+            int index = question.optionIds().indexOf(answer.selectedOptionId());
+            if (index < 0 || index > 254) {
+                throw new IllegalStateException("Cannot pack option %d of question %d"
+                        .formatted(answer.selectedOptionId(), question.questionId()));
+            }
+            selections[i] = (byte) (index + 1);
+            if (answer.correct()) {
+                correctBits[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return new Packed(selections, correctBits);
+    }
+
+    /** Answered questions only; an unanswered question has no entry. */
+    static List<Answer> unpack(List<Question> questions, Packed packed) {
+        if (packed.selections().length != questions.size()) {
+            throw new IllegalStateException("Packed sheet has %d questions, attempt has %d"
+                    .formatted(packed.selections().length, questions.size()));
+        }
+        List<Answer> answers = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            int selection = Byte.toUnsignedInt(packed.selections()[i]);
+            if (selection == 0) {
+                continue;
+            }
+            Question question = questions.get(i);
+            boolean correct = (packed.correctBits()[i >> 3] & (1 << (i & 7))) != 0;
+            answers.add(new Answer(question.questionId(), question.optionIds().get(selection - 1), correct));
+        }
+        return answers;
+    }
+
+    record Question(Long questionId, List<Long> optionIds) {
+    }
+
+    record Answer(Long questionId, Long selectedOptionId, boolean correct) {
+    }
+
+    record Packed(byte[] selections, byte[] correctBits) {
+    }
+}
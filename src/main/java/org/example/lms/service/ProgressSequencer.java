@@ -0,0 +1,61 @@
+package org.example.lms.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Highest autosave {@code clientSeq} committed per unfinished attempt, so stale and repeated saves are turned away
+ * before they reach the database. Per instance and only a pre-filter: {@code attempts.last_client_seq} stays the
+ * authority, and a restart or another instance just means the database check does the work. Only committed
+ * sequences are recorded: a retry racing its still running original waits on the attempt row instead, and is
+ * applied if the original rolls back.
+ * <p>
+ * Attempts nobody saved for a whole exam duration are dropped, so attempts that are never submitted do not stay.
+ */
+@Component
+public class ProgressSequencer {
+    private final Map<Long, Committed> committed = new ConcurrentHashMap<>();
+
+    @Value("${exam.duration-minutes:60}")
+    private long examDurationMinutes;
+
+    /** True if a save with {@code clientSeq} or a newer one has already committed for the attempt. */
+    public boolean isStale(Long attemptId, long clientSeq) {
+        Committed current = committed.get(attemptId);
+        return current != null && current.clientSeq() >= clientSeq;
+    }
+
+    /** Adopts a sequence committed in the database, by this instance or another one. */
+    public void observe(Long attemptId, Long clientSeq) {
+        if (clientSeq != null) {
+            committed.merge(attemptId, new Committed(clientSeq, System.nanoTime()),
+                    (current, seen) -> current.clientSeq() >= seen.clientSeq() ? current.touched(seen) : seen);
+        }
+    }
+
+    public Long lastCommitted(Long attemptId) {
+        Committed current = committed.get(attemptId);
+        return current == null ? null : current.clientSeq();
+    }
+
+    public void forget(Long attemptId) {
+        committed.remove(attemptId);
+    }
+
+    @Scheduled(fixedDelayString = "${exam.progress.sequencer-sweep-ms:60000}")
+    public void evictIdle() {
+        long idleBefore = System.nanoTime() - Duration.ofMinutes(examDurationMinutes).toNanos();
+        committed.values().removeIf(entry -> entry.seenAtNanos() - idleBefore < 0);
+    }
+
+    private record Committed(long clientSeq, long seenAtNanos) {
+        Committed touched(Committed seen) {
+            return new Committed(clientSeq, seen.seenAtNanos());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.lms.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.entity.OptionEntity;
+import org.example.lms.entity.QuestionEntity;
+import org.example.lms.entity.QuestionVersionEntity;
+import org.example.lms.repository.JobRepository;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Second-level cache of jobs, questions, question versions and options plus the cached job-by-name lookup (see ehcache.xml).
+ * Writes through JPA keep it current on their own; {@link #evictAll()} is for rows changed behind Hibernate's
+ * back, e.g. by manual SQL. The narrower evictions drop what another instance changed, see
+ * {@link org.example.lms.invalidation.ClusterInvalidation}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(
+            JobEntity.class, QuestionEntity.class, QuestionVersionEntity.class, OptionEntity.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ResponseVersions responseVersions;
+
+    public void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+        responseVersions.invalidateAll();
+        log.info("Second-level cache evicted");
+    }
+
+    public void evictJob(Long jobId) {
+        Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(JobEntity.class, jobId);
+        cache.evictQueryRegion(JobRepository.NAME_LOOKUP_CACHE_REGION);
+    }
+
+    /** Versions and options are keyed by their own ids, so their regions go whole. */
+    public void evictQuestion(Long questionId) {
+        Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(QuestionEntity.class, questionId);
+        cache.evictEntityData(QuestionVersionEntity.class);
+        cache.evictEntityData(OptionEntity.class);
+    }
+
+    public CacheStats stats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<RegionStats> regions = new ArrayList<>();
+        if (statistics.isStatisticsEnabled()) {
+            for (Class<?> entity : CACHED_ENTITIES) {
+                regions.add(toRegionStats(entity.getName(), statistics.getDomainDataRegionStatistics(entity.getName())));
+            }
+            regions.add(toRegionStats(JobRepository.NAME_LOOKUP_CACHE_REGION,
+                    statistics.getQueryRegionStatistics(JobRepository.NAME_LOOKUP_CACHE_REGION)));
+        }
+        return new CacheStats(statistics.isStatisticsEnabled(), regions);
+    }
+
+    private RegionStats toRegionStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new RegionStats(region, 0, 0, 0);
+        }
+        return new RegionStats(
+                region,
+                statistics.getHitCount(),
+                statistics.getMissCount(),
+                statistics.getPutCount());
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public record CacheStats(boolean statisticsEnabled, List<RegionStats> regions) {
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts) {
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.lms.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.lms.repository.AttemptRepository;
+import org.example.lms.search.CandidateSearchIndex;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the polled read endpoints, so {@code If-None-Match} is answered from
+ * memory. Every change bumps its counters before the write and again after the transaction completes: a read
+ * racing the commit then carries a tag that is already stale. Tags start with an epoch taken at boot and on
+ * {@link #invalidateAll()}, so a restart or a change made outside the services invalidates them all.
+ * Counters are per instance; changes made on other instances arrive through
+ * {@link org.example.lms.invalidation.ClusterInvalidation}. Attempt tags are the exception: progress saves land on
+ * any node, so they carry the attempt's {@code @Version} column, read by primary key, instead of a counter.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseVersions {
+    private final String bootTime = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong resets = new AtomicLong();
+    private volatile String epoch = bootTime + ".0";
+    private final AtomicLong catalog = new AtomicLong();
+    private final AtomicLong candidates = new AtomicLong();
+    private final Map<Long, AtomicLong> jobs = new ConcurrentHashMap<>();
+
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final AttemptRepository attemptRepository;
+
+    /** Questions, options or the jobs themselves changed; {@code jobIds} are the professions affected. */
+    public void catalogChanged(Long... jobIds) {
+        twice(() -> {
+            catalog.incrementAndGet();
+            for (Long jobId : jobIds) {
+                if (jobId != null) {
+                    jobs.computeIfAbsent(jobId, id -> new AtomicLong()).incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /** Candidate records changed: job counts and the candidate's profession or active flag may differ. */
+    public void candidatesChanged() {
+        twice(() -> {
+            catalog.incrementAndGet();
+            candidates.incrementAndGet();
+        });
+    }
+
+    /** For writes that bypass the services, e.g. seeding or manual SQL followed by a cache eviction. */
+    public void invalidateAll() {
+        epoch = bootTime + "." + resets.incrementAndGet();
+    }
+
+    public String catalogTag(String resource) {
+        return resource + "-" + epoch + "-" + catalog.get();
+    }
+
+    /** {@code null} when the candidate is not known in memory; the caller then skips the conditional check. */
+    public String candidateTestsTag(Long candidateId) {
+        long candidatesVersion = candidates.get();
+        return candidateSearchIndex.find(candidateId)
+                .map(entry -> "tests-" + epoch + "-" + candidateId + "-" + entry.jobId() + "-" + entry.active()
+                        + "-" + candidatesVersion + "-" + version(jobs, entry.jobId()))
+                .orElse(null);
+    }
+
+    /** {@code null} when the attempt does not exist for the candidate; the caller then skips the conditional check. */
+    public String attemptTag(Long attemptId, Long candidateId) {
+        return attemptRepository.findVersion(attemptId, candidateId)
+                .map(version -> "attempt-" + epoch + "-" + attemptId + "-" + candidateId + "-" + version)
+                .orElse(null);
+    }
+
+    private static long version(Map<Long, AtomicLong> versions, Long id) {
+        AtomicLong version = versions.get(id);
+        return version == null ? 0 : version.get();
+    }
+
+    private static void twice(Runnable bump) {
+        bump.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.lms.service;
+
+import org.example.lms.entity.AttemptEntity;
+import org.example.lms.entity.CandidateEntity;
+import org.example.lms.entity.MailOutboxEntity;
+import org.example.lms.repository.MailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the result e-mails of a finished attempt to the mail outbox, in the transaction that scores it. Nothing
+ * here talks to the mail server; {@link MailDispatcher} delivers the rows after commit.
+ */
+@Component
+public class ResultNotifications {
+    private static final DateTimeFormatter FINISHED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final boolean enabled;
+    private final List<String> supervisors;
+
+    public ResultNotifications(
+            MailOutboxRepository mailOutboxRepository,
+            @Value("${exam.notifications.enabled:false}") boolean enabled,
+            @Value("${exam.notifications.supervisors:}") List<String> supervisors
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.enabled = enabled;
+        this.supervisors = supervisors.stream().map(String::trim).filter(address -> !address.isEmpty()).toList();
+    }
+
+    void attemptScored(AttemptEntity attempt) {
+        if (!enabled) {
+            return;
+        }
+        CandidateEntity candidate = attempt.getCandidate();
+        Set<String> recipients = new LinkedHashSet<>();
+        if (candidate.getEmail() != null) {
+            recipients.add(candidate.getEmail());
+        }
+        recipients.addAll(supervisors);
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        String subject = "Exam result: %s, %s".formatted(candidate.getFullName(), attempt.getJob().getName());
+        String body = """
+                Candidate: %s (%s)
+                Profession: %s
+                Score: %.2f%% (%d of %d correct)
+                Finished at: %s
+                Attempt: %d
+                """.formatted(
+                candidate.getFullName(), candidate.getLogin(),
+                attempt.getJob().getName(),
+                attempt.getScore(), attempt.getCorrectAnswers(), attempt.getTotalQuestions(),
+                attempt.getFinishedAt().format(FINISHED_AT_FORMAT),
+                attempt.getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        mailOutboxRepository.saveAll(recipients.stream()
+                .map(recipient -> MailOutboxEntity.builder()
+                        .attemptId(attempt.getId())
+                        .recipient(recipient)
+                        .subject(subject)
+                        .body(body)
+                        .createdAt(now)
+                        .nextAttemptAt(now)
+                        .tries(0)
+                        .build())
+                .toList());
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.lms.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.entity.AttemptEntity;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.entity.ScoreRollupEntity;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.repository.AttemptRepository;
+import org.example.lms.repository.JobRepository;
+import org.example.lms.repository.ScoreRollupRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Where a score sits among all finished attempts of the same job. Each job keeps a {@link ScoreHistogram} that
+ * scoring feeds after commit, so percentile and rank queries never scan attempts. The histograms are rebuilt
+ * from one grouped query at startup and on every refresh, which also picks up attempts scored by other
+ * instances. Trend charts read daily rollups of closed days plus a live aggregate of the days not rolled up yet.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScoreDistributionService {
+    static final int ROLLUP_BINS = 10;
+    private static final String PERIOD_DAY = "day";
+    private static final String PERIOD_WEEK = "week";
+
+    private final AttemptRepository attemptRepository;
+    private final JobRepository jobRepository;
+    private final ScoreRollupRepository scoreRollupRepository;
+
+    private volatile Map<Long, ScoreHistogram> histograms = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHistograms() {
+        Map<Long, ScoreHistogram> rebuilt = new ConcurrentHashMap<>();
+        for (AttemptRepository.ScoreCount row : attemptRepository.countFinishedByJobAndScore()) {
+            rebuilt.computeIfAbsent(row.getJobId(), jobId -> new ScoreHistogram()).add(row.getScore(), row.getAttempts());
+        }
+        histograms = rebuilt;
+    }
+
+    @Scheduled(fixedDelayString = "${exam.score-distribution.refresh-interval-ms:300000}",
+            initialDelayString = "${exam.score-distribution.refresh-interval-ms:300000}")
+    public void refresh() {
+        loadHistograms();
+        rollUp();
+    }
+
+    /** Counts a freshly scored attempt once its transaction commits. */
+    void attemptScored(AttemptEntity attempt) {
+        Long jobId = attempt.getJob().getId();
+        double score = attempt.getScore();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                histograms.computeIfAbsent(jobId, id -> new ScoreHistogram()).add(score, 1);
+            }
+        });
+    }
+
+    /**
+     * Rolls finished attempts up into daily histograms for every closed day since the last rollup. The last rolled
+     * day is recomputed, so a sheet scored just after midnight with the previous day's finish time is not lost.
+     */
+    @Transactional
+    public int rollUp() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = scoreRollupRepository.findLastDay();
+        if (from == null) {
+            LocalDateTime firstFinishedAt = attemptRepository.findFirstFinishedAt();
+            if (firstFinishedAt == null) {
+                return 0;
+            }
+            from = firstFinishedAt.toLocalDate();
+        }
+        if (!from.isBefore(today)) {
+            return 0;
+        }
+        scoreRollupRepository.deleteFromDay(from);
+        int rows = scoreRollupRepository.rollUp(from.atStartOfDay(), today.atStartOfDay());
+        log.info("Score rollups rebuilt from={} to={} rows={}", from, today.minusDays(1), rows);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public HrResponses.ScoreStandingResponse standing(Long attemptId) {
+        AttemptEntity attempt = attemptRepository.findById(attemptId)
+                .orElseThrow(() -> new DomainException(ErrorCode.ATTEMPT_NOT_FOUND,
+                        "Attempt not found. attemptId=" + attemptId));
+        if (!Boolean.TRUE.equals(attempt.getFinished()) || attempt.getScore() == null) {
+            throw new DomainException(ErrorCode.ATTEMPT_NOT_SCORED,
+                    "Attempt is not scored yet. attemptId=" + attemptId);
+        }
+        ScoreHistogram histogram = histograms.getOrDefault(attempt.getJob().getId(), new ScoreHistogram());
+        return new HrResponses.ScoreStandingResponse(
+                attemptId,
+                attempt.getJob().getName(),
+                attempt.getScore(),
+                Math.round(histogram.percentileOf(attempt.getScore()) * 100.0) / 100.0,
+                histogram.rank(attempt.getScore()),
+                histogram.total());
+    }
+
+    @Transactional(readOnly = true)
+    public HrResponses.ScoreDistributionResponse distribution(String profession, String period, LocalDate fromDate,
+                                                              LocalDate toDate) {
+        if (profession == null || profession.isBlank()) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "profession is required");
+        }
+        JobEntity job = jobRepository.findByNameIgnoreCase(profession.trim())
+                .orElseThrow(() -> new DomainException(ErrorCode.JOB_NOT_FOUND,
+                        "Job not found. profession=" + profession.trim()));
+        String periodValue = period == null || period.isBlank() ? PERIOD_DAY : period.trim().toLowerCase();
+        boolean weekly = switch (periodValue) {
+            case PERIOD_DAY -> false;
+            case PERIOD_WEEK -> true;
+            default -> throw new DomainException(ErrorCode.INVALID_REQUEST, "period must be day or week");
+        };
+
+        LocalDate to = toDate == null ? LocalDate.now() : toDate;
+        LocalDate from = fromDate != null ? fromDate
+                : weekly ? periodStart(to, true).minusWeeks(11) : to.minusDays(29);
+        if (from.isAfter(to)) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "fromDate must not be after toDate");
+        }
+
+        Map<LocalDate, Bucket> buckets = new TreeMap<>();
+        LocalDate start = periodStart(from, weekly);
+        while (!start.isAfter(to)) {
+            buckets.put(start, new Bucket());
+            start = weekly ? start.plusWeeks(1) : start.plusDays(1);
+        }
+
+        LocalDate lastRolled = scoreRollupRepository.findLastDay();
+        for (ScoreRollupEntity rollup : scoreRollupRepository.findAllByJobIdAndDayBetween(job.getId(), from, to)) {
+            buckets.get(periodStart(rollup.getDay(), weekly))
+                    .add(rollup.getBin(), rollup.getAttempts(), rollup.getScoreSum());
+        }
+        LocalDate liveFrom = lastRolled == null || lastRolled.isBefore(from) ? from : lastRolled.plusDays(1);
+        if (!liveFrom.isAfter(to)) {
+            for (ScoreRollupRepository.BinRow row : scoreRollupRepository.findLiveBins(
+                    job.getId(), liveFrom.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+                buckets.get(periodStart(row.getRollupDay(), weekly))
+                        .add(row.getScoreBin(), row.getAttempts(), row.getScoreSum());
+            }
+        }
+
+        ScoreHistogram histogram = histograms.getOrDefault(job.getId(), new ScoreHistogram());
+        return new HrResponses.ScoreDistributionResponse(
+                job.getName(),
+                periodValue,
+                histogram.total(),
+                histogram.quantile(0.25),
+                histogram.quantile(0.5),
+                histogram.quantile(0.75),
+                histogram.quantile(0.9),
+                buckets.entrySet().stream().map(entry -> entry.getValue().toResponse(entry.getKey())).toList());
+    }
+
+    private static LocalDate periodStart(LocalDate day, boolean weekly) {
+        return weekly ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    private static final class Bucket {
+        private final long[] bins = new long[ROLLUP_BINS];
+        private long attempts;
+        private double scoreSum;
+
+        void add(int bin, long count, double sum) {
+            bins[bin] += count;
+            attempts += count;
+            scoreSum += sum;
+        }
+
+        HrResponses.ScoreBucketResponse toResponse(LocalDate periodStart) {
+            return new HrResponses.ScoreBucketResponse(
+                    periodStart,
+                    attempts,
+                    attempts == 0 ? null : Math.round(scoreSum / attempts * 100.0) / 100.0,
+                    Arrays.stream(bins).boxed().toList());
+        }
+    }
+}
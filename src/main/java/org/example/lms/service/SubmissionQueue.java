@@ -0,0 +1,118 @@
+package org.example.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.entity.AttemptEntity;
+import org.example.lms.entity.SubmissionEntity;
+import org.example.lms.repository.AttemptRepository;
+import org.example.lms.repository.SubmissionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Front half of the submit pipeline: stores the final answer sheet and returns at once, then reports the
+ * score once {@link SubmissionWorker} has it. Queuing marks the attempt submitted, which closes it to autosaves and
+ * resumes. A repeated submit of a queued or scored attempt changes nothing.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SubmissionQueue {
+    static final String STATUS_PENDING = "pending";
+    static final String STATUS_SCORED = "scored";
+    static final String STATUS_FAILED = "failed";
+    static final String STATUS_NOT_SUBMITTED = "not-submitted";
+
+    private final AttemptRepository attemptRepository;
+    private final SubmissionRepository submissionRepository;
+    private final CandidateService candidateService;
+    private final ExamLocks examLocks;
+    private final SubmissionWorker submissionWorker;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CandidateResponses.SubmissionStatusResponse enqueue(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
+        return examLocks.withAttempt(attemptId, () -> transactionTemplate.execute(status -> store(attemptId, req)));
+    }
+
+    private CandidateResponses.SubmissionStatusResponse store(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
+        AttemptEntity attempt = candidateService.findStartedAttempt(attemptId, req.candidateId());
+        Optional<SubmissionEntity> queued = submissionRepository.findByAttemptId(attemptId);
+        if (queued.isPresent()) {
+            return toStatus(attemptId, queued.get());
+        }
+        if (Boolean.TRUE.equals(attempt.getFinished())) {
+            return scored(attempt);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        attemptRepository.markSubmitted(attemptId, now);
+        SubmissionEntity submission = submissionRepository.save(SubmissionEntity.builder()
+                .attemptId(attemptId)
+                .candidateId(req.candidateId())
+                .answers(writeAnswers(req))
+                .enqueuedAt(now)
+                .tries(0)
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submissionWorker.wakeUp();
+            }
+        });
+
+        if (!ExamWarmUp.replaying()) {
+            log.info("Attempt queued for scoring id={} candidateId={} submissionId={}",
+                    attemptId, req.candidateId(), submission.getId());
+        }
+        return toStatus(attemptId, submission);
+    }
+
+    @Transactional(readOnly = true)
+    public CandidateResponses.SubmissionStatusResponse status(Long attemptId, Long candidateId) {
+        AttemptEntity attempt = candidateService.findStartedAttempt(attemptId, candidateId);
+        // A scored sheet leaves the queue; one that failed stays, and its attempt was closed without a score.
+        Optional<SubmissionEntity> queued = submissionRepository.findByAttemptId(attemptId);
+        if (queued.isPresent()) {
+            return toStatus(attemptId, queued.get());
+        }
+        if (Boolean.TRUE.equals(attempt.getFinished())) {
+            return scored(attempt);
+        }
+        return new CandidateResponses.SubmissionStatusResponse(attemptId, STATUS_NOT_SUBMITTED, null, null, null);
+    }
+
+    private CandidateResponses.SubmissionStatusResponse scored(AttemptEntity attempt) {
+        return new CandidateResponses.SubmissionStatusResponse(
+                attempt.getId(), STATUS_SCORED, null, null, candidateService.toSubmitResponse(attempt));
+    }
+
+    private CandidateResponses.SubmissionStatusResponse toStatus(Long attemptId, SubmissionEntity submission) {
+        if (submission.getFailedAt() != null) {
+            return new CandidateResponses.SubmissionStatusResponse(
+                    attemptId, STATUS_FAILED, null, submission.getError(), null);
+        }
+        long ahead = submissionRepository.countByFailedAtIsNullAndIdLessThan(submission.getId());
+        return new CandidateResponses.SubmissionStatusResponse(
+                attemptId, STATUS_PENDING, (int) ahead + 1, null, null);
+    }
+
+    private String writeAnswers(CandidateDtos.SubmitAttemptRequest req) {
+        try {
+            return objectMapper.writeValueAsString(req.answers());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store answer sheet", e);
+        }
+    }
+}
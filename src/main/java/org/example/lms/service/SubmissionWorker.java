@@ -0,0 +1,279 @@
+package org.example.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.entity.AttemptAnswerEntity;
+import org.example.lms.entity.AttemptEntity;
+import org.example.lms.entity.AttemptQuestionEntity;
+import org.example.lms.entity.SubmissionEntity;
+import org.example.lms.repository.AttemptAnswerRepository;
+import org.example.lms.repository.AttemptQuestionRepository;
+import org.example.lms.repository.AttemptRepository;
+import org.example.lms.repository.SubmissionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Back half of the submit pipeline. Workers claim the oldest queued answer sheets in batches and score a whole
+ * batch in one transaction, reading questions and saved answers for all its attempts at once. When a batch
+ * fails, its sheets are retried one per transaction so that one bad sheet cannot hold up the rest. A sheet that
+ * keeps failing is marked failed after {@code max-tries} and its attempt is closed without a score, so the
+ * candidate is not locked out by an attempt that can never finish. Claims of a worker that died expire and are picked up
+ * again. Workers wake up on a local enqueue and otherwise poll, so sheets queued on other instances are drained too.
+ */
+@Component
+@Slf4j
+public class SubmissionWorker implements SmartLifecycle {
+    private static final TypeReference<List<CandidateDtos.AnswerRequest>> ANSWERS_TYPE = new TypeReference<>() {
+    };
+
+    private final SubmissionRepository submissionRepository;
+    private final AttemptRepository attemptRepository;
+    private final AttemptQuestionRepository attemptQuestionRepository;
+    private final AttemptAnswerRepository attemptAnswerRepository;
+    private final CandidateService candidateService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long claimTimeoutSeconds;
+    private final int maxTries;
+
+    private final Semaphore wakeups = new Semaphore(0);
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer latency;
+    private final DistributionSummary batchSizes;
+    private final Counter scored;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public SubmissionWorker(
+            SubmissionRepository submissionRepository,
+            AttemptRepository attemptRepository,
+            AttemptQuestionRepository attemptQuestionRepository,
+            AttemptAnswerRepository attemptAnswerRepository,
+            CandidateService candidateService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${exam.submit.workers:2}") int workers,
+            @Value("${exam.submit.batch-size:100}") int batchSize,
+            @Value("${exam.submit.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${exam.submit.claim-timeout-seconds:60}") long claimTimeoutSeconds,
+            @Value("${exam.submit.max-tries:3}") int maxTries
+    ) {
+        this.submissionRepository = submissionRepository;
+        this.attemptRepository = attemptRepository;
+        this.attemptQuestionRepository = attemptQuestionRepository;
+        this.attemptAnswerRepository = attemptAnswerRepository;
+        this.candidateService = candidateService;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+        this.maxTries = maxTries;
+
+        Gauge.builder("exam.submit.queue.depth", depth, AtomicLong::get)
+                .description("Answer sheets waiting to be scored, as of the last drain")
+                .register(meterRegistry);
+        latency = Timer.builder("exam.submit.latency")
+                .description("Time from submit to committed score")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("exam.submit.batch.size").register(meterRegistry);
+        scored = Counter.builder("exam.submit.scored").register(meterRegistry);
+        failed = Counter.builder("exam.submit.failed").register(meterRegistry);
+    }
+
+    public void wakeUp() {
+        wakeups.release();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (workers <= 0) {
+            return;
+        }
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "submission-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (drain() == 0) {
+                    wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.warn("Submission worker cycle failed", ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /** Claims and scores one batch; returns how many sheets it took. */
+    public int drain() {
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<SubmissionEntity> batch = transaction.execute(status -> {
+            submissionRepository.claim(claimToken, now, now.minusSeconds(claimTimeoutSeconds), batchSize);
+            return submissionRepository.findAllByClaimTokenOrderByIdAsc(claimToken);
+        });
+
+        if (!batch.isEmpty()) {
+            batchSizes.record(batch.size());
+            try {
+                transaction.executeWithoutResult(status -> scoreBatch(batch));
+                batch.forEach(this::recordScored);
+            } catch (RuntimeException ex) {
+                log.warn("Scoring batch of {} failed, retrying one by one", batch.size(), ex);
+                batch.forEach(this::scoreAlone);
+            }
+        }
+
+        depth.set(submissionRepository.countByFailedAtIsNull());
+        return batch.size();
+    }
+
+    /** Scores and removes the given sheets in the caller's transaction. */
+    void scoreBatch(List<SubmissionEntity> batch) {
+        List<Long> attemptIds = batch.stream().map(SubmissionEntity::getAttemptId).toList();
+        Map<Long, AttemptEntity> attempts = attemptRepository.findAllWithCandidateByIdIn(attemptIds).stream()
+                .collect(Collectors.toMap(AttemptEntity::getId, Function.identity()));
+        Map<Long, List<AttemptQuestionEntity>> questionsByAttempt = attemptQuestionRepository
+                .findAllByAttemptIdIn(attemptIds).stream()
+                .collect(Collectors.groupingBy(question -> question.getAttempt().getId()));
+        Map<Long, List<AttemptAnswerEntity>> answersByAttempt = attemptAnswerRepository
+                .findAllByAttemptIdIn(attemptIds).stream()
+                .collect(Collectors.groupingBy(answer -> answer.getAttempt().getId()));
+
+        for (SubmissionEntity submission : batch) {
+            AttemptEntity attempt = attempts.get(submission.getAttemptId());
+            // A sheet queued again after its attempt was scored or closed has nothing left to score: it is dropped.
+            if (attempt != null && !Boolean.TRUE.equals(attempt.getFinished())) {
+                candidateService.scoreAttempt(
+                        attempt,
+                        questionsByAttempt.getOrDefault(attempt.getId(), List.of()),
+                        answersByAttempt.getOrDefault(attempt.getId(), List.of()),
+                        readAnswers(submission),
+                        submission.getEnqueuedAt());
+            }
+        }
+        submissionRepository.deleteAllByIdInBatch(batch.stream().map(SubmissionEntity::getId).toList());
+    }
+
+    private void scoreAlone(SubmissionEntity submission) {
+        try {
+            transaction.executeWithoutResult(status -> scoreBatch(List.of(submission)));
+            recordScored(submission);
+        } catch (RuntimeException ex) {
+            boolean giveUp = submission.getTries() >= maxTries;
+            LocalDateTime now = LocalDateTime.now();
+            transaction.executeWithoutResult(status -> {
+                submissionRepository.findById(submission.getId()).ifPresent(row -> {
+                    row.setClaimToken(null);
+                    row.setClaimedAt(null);
+                    if (giveUp) {
+                        row.setFailedAt(now);
+                        row.setError(abbreviate(ex.getMessage()));
+                    }
+                });
+                if (giveUp) {
+                    attemptRepository.closeUnscored(submission.getAttemptId(), now);
+                }
+            });
+            if (giveUp) {
+                failed.increment();
+                log.error("Scoring gave up, attempt closed unscored attemptId={} tries={}",
+                        submission.getAttemptId(), submission.getTries(), ex);
+            } else {
+                log.warn("Scoring failed attemptId={} tries={}, will retry", submission.getAttemptId(),
+                        submission.getTries(), ex);
+            }
+        }
+    }
+
+    private void recordScored(SubmissionEntity submission) {
+        scored.increment();
+        latency.record(Duration.between(submission.getEnqueuedAt(), LocalDateTime.now()));
+    }
+
+    private List<CandidateDtos.AnswerRequest> readAnswers(SubmissionEntity submission) {
+        try {
+            return objectMapper.readValue(submission.getAnswers(), ANSWERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable answer sheet. submissionId=" + submission.getId(), e);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return "Scoring failed";
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- H2 counterpart of the PostgreSQL partial index: H2 has no partial indexes, so the unique index goes on a
+-- generated column that is null once the attempt is finished.
+alter table attempts add column unfinished_candidate_id bigint
+    generated always as (case when finished then null else candidate_id end);
+create unique index uk_attempts_candidate_unfinished on attempts (unfinished_candidate_id);
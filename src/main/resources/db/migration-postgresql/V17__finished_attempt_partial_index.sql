@@ -0,0 +1,4 @@
+-- Every reader of finished_at (answer archiving, score rollups, the first finished day) also asks for finished =
+-- true, so the index only needs finished attempts. H2 has no partial indexes and keeps the full one from V13.
+drop index idx_attempts_finished_at;
+create index idx_attempts_finished_at on attempts (finished_at) where finished = true;
@@ -0,0 +1,5 @@
+-- Spring Data compiles *IgnoreCase finders to upper(column) = upper(?), which only an expression index serves.
+-- CandidateRepository.findByLoginIgnoreCase / existsByLoginIgnoreCase[AndIdNot]
+create index idx_candidates_login_upper on candidates (upper(login));
+-- JobRepository.findByNameIgnoreCase / existsByNameIgnoreCase[AndIdNot]
+create index idx_jobs_name_upper on jobs (upper(name));
@@ -0,0 +1,2 @@
+-- At most one unfinished attempt per candidate, whichever node admits it.
+create unique index uk_attempts_candidate_unfinished on attempts (candidate_id) where finished = false;
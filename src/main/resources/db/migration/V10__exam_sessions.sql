@@ -0,0 +1,28 @@
+-- Scheduled exam sessions: HR names the profession, the window and the candidates ahead of time, and attempts are
+-- composed before the window opens. A prepared attempt has no started_at until the candidate presses "start".
+create table exam_sessions (
+    id bigint generated by default as identity primary key,
+    job_id bigint not null references jobs (id),
+    window_start timestamp(6) not null,
+    window_end timestamp(6) not null,
+    created_by varchar(255) not null,
+    created_at timestamp(6) not null,
+    prepared_at timestamp(6)
+);
+create index idx_exam_sessions_window_start on exam_sessions (window_start);
+create index idx_exam_sessions_job_id on exam_sessions (job_id);
+
+create table exam_session_candidates (
+    session_id bigint not null references exam_sessions (id),
+    candidate_id bigint not null references candidates (id),
+    primary key (session_id, candidate_id)
+);
+create index idx_exam_session_candidates_candidate_id on exam_session_candidates (candidate_id);
+
+alter table attempts alter column started_at drop not null;
+alter table attempts add column session_id bigint;
+alter table attempts add constraint fk_attempts_session foreign key (session_id) references exam_sessions (id);
+create index idx_attempts_session_id on attempts (session_id);
+
+-- Question payload rendered when the attempt was prepared, served as is on start and resume.
+alter table attempts add column prepared_payload text;
@@ -0,0 +1,17 @@
+-- Final answer sheets waiting to be scored. A submit only inserts here; scoring workers claim rows in batches,
+-- score many attempts per transaction and delete the rows they finished. One row per attempt makes a repeated
+-- submit a no-op.
+create table submission_queue (
+    id bigint generated by default as identity primary key,
+    attempt_id bigint not null references attempts (id),
+    candidate_id bigint not null references candidates (id),
+    answers text not null,
+    enqueued_at timestamp(6) not null,
+    claim_token varchar(36),
+    claimed_at timestamp(6),
+    tries integer not null default 0,
+    failed_at timestamp(6),
+    error varchar(1000),
+    constraint uk_submission_queue_attempt unique (attempt_id)
+);
+create index idx_submission_queue_claim_token on submission_queue (claim_token);
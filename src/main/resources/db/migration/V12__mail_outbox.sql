@@ -0,0 +1,19 @@
+alter table candidates add column email varchar(255);
+
+-- Transactional outbox for result e-mails: rows are written in the transaction that finishes an attempt and
+-- delivered later by the mail dispatcher, so the mail server is never on the submit path.
+create table mail_outbox (
+    id bigint generated by default as identity primary key,
+    attempt_id bigint references attempts (id),
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    created_at timestamp(6) not null,
+    next_attempt_at timestamp(6) not null,
+    tries integer not null default 0,
+    claim_token varchar(36),
+    last_error varchar(1000),
+    failed_at timestamp(6)
+);
+create index idx_mail_outbox_next_attempt_at on mail_outbox (next_attempt_at);
+create index idx_mail_outbox_claim_token on mail_outbox (claim_token);
@@ -0,0 +1,12 @@
+-- Daily score histograms per job in ten 10-point bins (the last one includes 100), rolled up from finished attempts
+-- once a day has closed. Trend charts read these instead of scanning attempts.
+create table score_daily_rollups (
+    job_id bigint not null references jobs (id),
+    rollup_day date not null,
+    score_bin integer not null,
+    attempts bigint not null,
+    score_sum double precision not null,
+    primary key (job_id, rollup_day, score_bin)
+);
+
+create index idx_attempts_finished_at on attempts (finished_at);
@@ -0,0 +1,9 @@
+-- One packed row per archived finished attempt instead of one attempt_answers row per question. Questions are in
+-- attempt_questions display order: selections holds one byte per question (0 = unanswered, n = the n-th option of
+-- the question version by id) and correct_bits one bit per question.
+create table attempt_answer_archives (
+    attempt_id bigint primary key references attempts (id),
+    selections bytea not null,
+    correct_bits bytea not null,
+    archived_at timestamp(6) not null
+);
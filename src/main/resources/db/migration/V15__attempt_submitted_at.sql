@@ -0,0 +1,3 @@
+-- Set when the final answer sheet is queued. From then on the attempt is closed to autosaves and is not resumed,
+-- although it stays unfinished until a scoring worker has scored it.
+alter table attempts add column submitted_at timestamp(6);
@@ -0,0 +1,2 @@
+-- Subjects carry the candidate and profession names, which have no length limit of their own.
+alter table mail_outbox alter column subject set data type text;
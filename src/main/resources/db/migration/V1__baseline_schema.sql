@@ -0,0 +1,64 @@
+create table if not exists jobs (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    description text,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    constraint uk_jobs_name unique (name)
+);
+
+create table if not exists candidates (
+    id bigint generated by default as identity primary key,
+    full_name varchar(255) not null,
+    profession varchar(255) not null,
+    login varchar(255) not null,
+    password_hash varchar(255) not null,
+    active boolean not null,
+    constraint uk_candidates_login unique (login)
+);
+
+create table if not exists questions (
+    id bigint generated by default as identity primary key,
+    title varchar(255) not null,
+    profession varchar(255) not null,
+    active boolean not null,
+    created_by varchar(255) not null,
+    text text not null
+);
+
+create table if not exists options (
+    id bigint generated by default as identity primary key,
+    question_id bigint not null references questions (id),
+    text text not null,
+    correct boolean not null
+);
+
+create table if not exists attempts (
+    id bigint generated by default as identity primary key,
+    candidate_id bigint not null references candidates (id),
+    profession varchar(255) not null,
+    finished boolean not null,
+    total_questions integer not null,
+    duration_minutes integer,
+    correct_answers integer,
+    score float(53),
+    started_at timestamp(6) not null,
+    finished_at timestamp(6)
+);
+
+create table if not exists attempt_questions (
+    id bigint generated by default as identity primary key,
+    attempt_id bigint not null references attempts (id),
+    question_id bigint not null references questions (id),
+    display_order integer,
+    constraint uk_attempt_questions_attempt_question unique (attempt_id, question_id)
+);
+
+create table if not exists attempt_answers (
+    id bigint generated by default as identity primary key,
+    attempt_id bigint not null references attempts (id),
+    question_id bigint not null references questions (id),
+    selected_option_id bigint references options (id),
+    correct boolean not null,
+    constraint uk_attempt_answers_attempt_question unique (attempt_id, question_id)
+);
@@ -0,0 +1,33 @@
+-- Every distinct profession spelling that has no job yet gets one, so the backfill below never leaves a gap.
+insert into jobs (name, description, active, created_at)
+select min(src.profession), 'Auto-created by profession migration', true, current_timestamp
+from (
+    select profession from questions
+    union
+    select profession from candidates
+    union
+    select profession from attempts
+) src
+where not exists (select 1 from jobs j where lower(j.name) = lower(src.profession))
+group by lower(src.profession);
+
+alter table questions add column job_id bigint;
+update questions q set job_id = (select min(j.id) from jobs j where lower(j.name) = lower(q.profession));
+alter table questions alter column job_id set not null;
+alter table questions add constraint fk_questions_job foreign key (job_id) references jobs (id);
+alter table questions drop column profession;
+create index idx_questions_job_id on questions (job_id);
+
+alter table candidates add column job_id bigint;
+update candidates c set job_id = (select min(j.id) from jobs j where lower(j.name) = lower(c.profession));
+alter table candidates alter column job_id set not null;
+alter table candidates add constraint fk_candidates_job foreign key (job_id) references jobs (id);
+alter table candidates drop column profession;
+create index idx_candidates_job_id on candidates (job_id);
+
+alter table attempts add column job_id bigint;
+update attempts a set job_id = (select min(j.id) from jobs j where lower(j.name) = lower(a.profession));
+alter table attempts alter column job_id set not null;
+alter table attempts add constraint fk_attempts_job foreign key (job_id) references jobs (id);
+alter table attempts drop column profession;
+create index idx_attempts_job_id on attempts (job_id);
@@ -0,0 +1,24 @@
+-- One index per repository finder (see org.example.lms.repository). Unique constraints from V1 already cover
+-- attempt_answers(attempt_id[, question_id]), attempt_questions(attempt_id, question_id), candidates(login) and
+-- jobs(name); case-insensitive login/name lookups live in the vendor folder because they need expression indexes.
+
+-- AttemptRepository: active attempt lookup, attempt counting and history by candidate.
+create index idx_attempts_candidate_finished_started on attempts (candidate_id, finished, started_at);
+-- AttemptRepository.findAllWithCandidateOrderByStartedAtDesc (HR results).
+create index idx_attempts_started_at on attempts (started_at);
+
+-- AttemptQuestionRepository: exam paper in display order, and "is this question used" before delete.
+create index idx_attempt_questions_attempt_order on attempt_questions (attempt_id, display_order);
+create index idx_attempt_questions_question_id on attempt_questions (question_id);
+
+-- Foreign keys checked when questions and options are deleted or replaced.
+create index idx_attempt_answers_question_id on attempt_answers (question_id);
+create index idx_attempt_answers_selected_option_id on attempt_answers (selected_option_id);
+
+-- OptionRepository: options by question id(s).
+create index idx_options_question_id on options (question_id);
+
+-- QuestionRepository: active bank per profession (newest first) and counts; the job-only index becomes redundant.
+create index idx_questions_job_active_id on questions (job_id, active, id);
+create index idx_questions_active_id on questions (active, id);
+drop index idx_questions_job_id;
@@ -0,0 +1,7 @@
+-- Fingerprint of each seed set TestDataSeeder applied, so unchanged seeds are skipped at startup.
+-- V4 is the PostgreSQL-only expression index script in db/migration-postgresql.
+create table seed_state (
+    name varchar(64) primary key,
+    fingerprint varchar(64) not null,
+    applied_at timestamp(6) not null
+);
@@ -0,0 +1,33 @@
+-- Question content becomes immutable: an edit publishes a new version with its own option rows, attempts pin the
+-- version they started with, and questions point at the version new attempts get. Existing content is version 1.
+create table question_versions (
+    id bigint generated by default as identity primary key,
+    question_id bigint not null references questions (id),
+    version integer not null,
+    text text not null,
+    created_at timestamp(6) not null,
+    constraint uk_question_versions_question_version unique (question_id, version)
+);
+
+insert into question_versions (question_id, version, text, created_at)
+select id, 1, text, current_timestamp from questions;
+
+-- Nullable: a question row is written before its first version.
+alter table questions add column current_version_id bigint;
+update questions q set current_version_id = (select v.id from question_versions v where v.question_id = q.id);
+alter table questions add constraint fk_questions_current_version
+    foreign key (current_version_id) references question_versions (id);
+
+alter table options add column question_version_id bigint;
+update options o set question_version_id = (select q.current_version_id from questions q where q.id = o.question_id);
+alter table options alter column question_version_id set not null;
+alter table options add constraint fk_options_question_version
+    foreign key (question_version_id) references question_versions (id);
+create index idx_options_question_version_id on options (question_version_id);
+
+alter table attempt_questions add column question_version_id bigint;
+update attempt_questions aq set question_version_id = (select q.current_version_id from questions q where q.id = aq.question_id);
+alter table attempt_questions alter column question_version_id set not null;
+alter table attempt_questions add constraint fk_attempt_questions_question_version
+    foreign key (question_version_id) references question_versions (id);
+create index idx_attempt_questions_question_version_id on attempt_questions (question_version_id);
@@ -0,0 +1,2 @@
+-- Highest autosave sequence number applied per attempt; older or repeated saves are discarded against it.
+alter table attempts add column last_client_seq bigint;
@@ -0,0 +1,14 @@
+-- Optimistic lock for attempts: two submits of the same attempt on different nodes can no longer both score it.
+alter table attempts add column version bigint not null default 0;
+
+-- The admission race could leave several open attempts per candidate. Keep the newest one open and close the
+-- others unscored, so the unique guard on unfinished attempts (V9, vendor folders) can be created.
+update attempts a
+set finished = true, finished_at = current_timestamp
+where a.finished = false
+  and exists (
+    select 1 from attempts b
+    where b.candidate_id = a.candidate_id
+      and b.finished = false
+      and (b.started_at > a.started_at or (b.started_at = a.started_at and b.id > a.id))
+  );
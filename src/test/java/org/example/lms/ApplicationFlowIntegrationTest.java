@@ -2,6 +2,7 @@ package org.example.lms;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.lms.service.SubmissionWorker;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -16,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -29,6 +31,9 @@ class ApplicationFlowIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SubmissionWorker submissionWorker;
+
     @Test
     void shouldSupportHrCandidateExamAndResultsFlow() throws Exception {
         String profession = "qa-engineer";
@@ -59,7 +64,16 @@ class ApplicationFlowIntegrationTest {
                                   "active": true
                                 }
                                 """))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.testId").isNumber())
+                .andExpect(jsonPath("$.data.nearDuplicates").isEmpty());
+
+        mockMvc.perform(get("/api/hr/tests/duplicates")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("profession", "qa-engineer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.questionCount").value(1))
+                .andExpect(jsonPath("$.data.clusters").isEmpty());
 
         MvcResult createCandidate = mockMvc.perform(post("/api/hr/candidates")
                         .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
@@ -79,6 +93,72 @@ class ApplicationFlowIntegrationTest {
         JsonNode candidateJson = objectMapper.readTree(createCandidate.getResponse().getContentAsString());
         long candidateId = candidateJson.get("data").get("candidateId").asLong();
 
+        MvcResult jobs = mockMvc.perform(get("/api/hr/jobs")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode qaJob = null;
+        for (JsonNode job : objectMapper.readTree(jobs.getResponse().getContentAsString()).get("data")) {
+            if (profession.equals(job.get("name").asText())) {
+                qaJob = job;
+            }
+        }
+        assertThat(qaJob).isNotNull();
+        assertThat(qaJob.get("candidateCount").asLong()).isEqualTo(1);
+        assertThat(qaJob.get("questionCount").asLong()).isEqualTo(1);
+
+        MvcResult testsPage = mockMvc.perform(get("/api/hr/tests/page")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("profession", profession)
+                        .param("q", "regression")
+                        .param("sort", "profession,asc"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode testsPageJson = objectMapper.readTree(testsPage.getResponse().getContentAsString()).get("data");
+        assertThat(testsPageJson.get("totalElements").asLong()).isEqualTo(1);
+        assertThat(testsPageJson.get("items").get(0).get("options").size()).isEqualTo(2);
+
+        MvcResult candidatesPage = mockMvc.perform(get("/api/hr/candidates/page")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("profession", profession)
+                        .param("active", "true")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode candidatesPageJson = objectMapper.readTree(candidatesPage.getResponse().getContentAsString()).get("data");
+        assertThat(candidatesPageJson.get("items").get(0).get("candidateId").asLong()).isEqualTo(candidateId);
+
+        mockMvc.perform(get("/api/hr/jobs/page")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("q", "qa-")
+                        .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].questionCount").value(1))
+                .andExpect(jsonPath("$.data.items[0].candidateCount").value(1));
+
+        mockMvc.perform(get("/api/hr/jobs/page")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("q", "qa_engineer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(0));
+
+        mockMvc.perform(get("/api/hr/candidates/search")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("q", "Алис"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].candidateId").value(candidateId));
+
+        mockMvc.perform(get("/api/hr/tests/search")
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
+                        .param("q", "regression testi")
+                        .param("profession", profession))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.items[0].textHighlight").value("What is <em>regression</em> <em>testing</em>?"));
+
         MvcResult login = mockMvc.perform(post("/api/candidate/auth/passport-login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("""
@@ -93,6 +173,18 @@ class ApplicationFlowIntegrationTest {
         JsonNode loginJson = objectMapper.readTree(login.getResponse().getContentAsString());
         assertThat(loginJson.get("data").get("candidateId").asLong()).isEqualTo(candidateId);
 
+        mockMvc.perform(post("/api/candidate/auth/passport-login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "fullName": "Mallory Doe",
+                                  "passport": "AA1111111"
+                                }
+                                """))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.code").value("INVALID_CREDENTIALS"));
+
         MvcResult start = mockMvc.perform(post("/api/candidate/tests/start")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("""
@@ -136,7 +228,15 @@ class ApplicationFlowIntegrationTest {
                                   ]
                                 }
                                 """.formatted(candidateId, questionId, optionId)))
-                .andExpect(status().isOk());
+                .andExpect(status().isAccepted());
+
+        // Scoring workers are off in tests; drain the queue the way a worker would.
+        submissionWorker.drain();
+        mockMvc.perform(get("/api/candidate/attempts/{attemptId}/result", attemptId)
+                        .param("candidateId", String.valueOf(candidateId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("scored"))
+                .andExpect(jsonPath("$.data.result.attemptId").value(attemptId));
 
         MvcResult results = mockMvc.perform(get("/api/hr/results")
                         .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123"))
@@ -148,6 +248,11 @@ class ApplicationFlowIntegrationTest {
         JsonNode resultsJson = objectMapper.readTree(results.getResponse().getContentAsString());
         assertThat(resultsJson.get("data").isArray()).isTrue();
         assertThat(resultsJson.get("data").size()).isGreaterThan(0);
+
+        mockMvc.perform(get("/api/hr/results/{attemptId}/standing", Long.MAX_VALUE)
+                        .with(SecurityMockMvcRequestPostProcessors.httpBasic("hr", "hr123")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("ATTEMPT_NOT_FOUND"));
     }
 
     @Test
@@ -0,0 +1,165 @@
+package org.example.lms;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.lms.repository.AttemptRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AttemptRepository attemptRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldAnswerUnchangedCatalogWith304WithoutQueries() throws Exception {
+        MockHttpServletRequestBuilder listTests = get("/api/hr/tests").with(httpBasic("hr", "hr123"));
+        String etag = etag(listTests);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get("/api/hr/tests").with(httpBasic("hr", "hr123")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+
+        String jobsEtag = etag(get("/api/hr/jobs").with(httpBasic("hr", "hr123")));
+        JsonNode created = data(mockMvc.perform(post("/api/hr/tests")
+                .with(httpBasic("hr", "hr123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                          "title": "Lockout basics",
+                          "profession": "electrician",
+                          "questionText": "Who removes a personal lock after maintenance?",
+                          "options": [
+                            {"text":"The person who applied it","correct":true},
+                            {"text":"Any electrician on shift","correct":false}
+                          ],
+                          "active": true
+                        }
+                        """)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+
+        String changed = etag(get("/api/hr/tests").with(httpBasic("hr", "hr123")).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(changed).isNotEqualTo(etag);
+        assertThat(etag(get("/api/hr/jobs").with(httpBasic("hr", "hr123")).header(HttpHeaders.IF_NONE_MATCH, jobsEtag)))
+                .isNotEqualTo(jobsEtag);
+
+        mockMvc.perform(put("/api/hr/tests/{id}", created.get("testId").asLong())
+                        .with(httpBasic("hr", "hr123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Lockout basics 2\"}"))
+                .andExpect(status().isOk());
+        assertThat(etag(get("/api/hr/tests").with(httpBasic("hr", "hr123")).header(HttpHeaders.IF_NONE_MATCH, changed)))
+                .isNotEqualTo(changed);
+    }
+
+    @Test
+    void shouldVersionCandidateTestsPerProfessionAndProgressPerAttempt() throws Exception {
+        JsonNode login = data(mockMvc.perform(post("/api/candidate/auth/passport-login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fullName\": \"Malika Karimova\", \"passport\": \"AB7654321\"}"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        long candidateId = login.get("candidateId").asLong();
+
+        String testsEtag = etag(get("/api/candidate/{candidateId}/tests", candidateId));
+        createTest("mechanic", "Which tool checks shaft alignment?");
+        mockMvc.perform(get("/api/candidate/{candidateId}/tests", candidateId).header(HttpHeaders.IF_NONE_MATCH, testsEtag))
+                .andExpect(status().isNotModified());
+        createTest("operator", "Which valve is opened first when priming a pump?");
+        assertThat(etag(get("/api/candidate/{candidateId}/tests", candidateId).header(HttpHeaders.IF_NONE_MATCH, testsEtag)))
+                .isNotEqualTo(testsEtag);
+
+        JsonNode start = data(mockMvc.perform(post("/api/candidate/tests/start")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"candidateId\": %d}".formatted(candidateId)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        long attemptId = start.get("attemptId").asLong();
+        JsonNode question = start.get("questions").get(0);
+
+        String progressEtag = etag(get("/api/candidate/attempts/{attemptId}/progress", attemptId)
+                .param("candidateId", String.valueOf(candidateId)));
+        mockMvc.perform(get("/api/candidate/attempts/{attemptId}/progress", attemptId)
+                        .param("candidateId", String.valueOf(candidateId))
+                        .header(HttpHeaders.IF_NONE_MATCH, progressEtag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/candidate/attempts/{attemptId}/progress", attemptId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"candidateId": %d, "answers": [{"questionId": %d, "selectedOptionId": %d}]}
+                                """.formatted(candidateId, question.get("questionId").asLong(),
+                                question.get("options").get(0).get("optionId").asLong())))
+                .andExpect(status().isOk());
+
+        String savedEtag = etag(get("/api/candidate/attempts/{attemptId}/progress", attemptId)
+                .param("candidateId", String.valueOf(candidateId))
+                .header(HttpHeaders.IF_NONE_MATCH, progressEtag));
+        assertThat(savedEtag).isNotEqualTo(progressEtag);
+
+        // A save taken by another node only shows up here through the attempt row.
+        transactionTemplate.executeWithoutResult(status -> attemptRepository.incrementVersion(attemptId));
+        assertThat(etag(get("/api/candidate/attempts/{attemptId}/progress", attemptId)
+                .param("candidateId", String.valueOf(candidateId))
+                .header(HttpHeaders.IF_NONE_MATCH, savedEtag)))
+                .isNotEqualTo(savedEtag);
+    }
+
+    private void createTest(String profession, String questionText) throws Exception {
+        mockMvc.perform(post("/api/hr/tests")
+                        .with(httpBasic("hr", "hr123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "%s",
+                                  "profession": "%s",
+                                  "questionText": "%s",
+                                  "options": [
+                                    {"text":"First","correct":true},
+                                    {"text":"Second","correct":false}
+                                  ]
+                                }
+                                """.formatted(questionText, profession, questionText)))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private JsonNode data(String body) throws Exception {
+        return objectMapper.readTree(body).get("data");
+    }
+}
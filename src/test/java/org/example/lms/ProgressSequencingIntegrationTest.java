@@ -0,0 +1,160 @@
+package org.example.lms;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.service.CandidateService;
+import org.example.lms.service.HrService;
+import org.example.lms.service.ProgressSequencer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProgressSequencingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private ProgressSequencer progressSequencer;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldDiscardStaleAndRepeatedSavesWithoutSql() throws Exception {
+        Exam exam = startExam("SQ0000001");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        JsonNode saved = save(exam, 2, exam.firstOptionId());
+        assertThat(saved.get("message").asText()).isEqualTo("Progress saved");
+        assertThat(saved.get("data").get("applied").asBoolean()).isTrue();
+        assertThat(saved.get("data").get("answeredCount").asInt()).isEqualTo(1);
+
+        long statements = statistics.getPrepareStatementCount();
+        JsonNode stale = save(exam, 1, exam.secondOptionId());
+        JsonNode repeated = save(exam, 2, exam.firstOptionId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+
+        assertThat(stale.get("message").asText()).isEqualTo("Progress already saved");
+        assertThat(stale.get("data").get("applied").asBoolean()).isFalse();
+        assertThat(stale.get("data").get("lastClientSeq").asLong()).isEqualTo(2);
+        assertThat(stale.get("data").has("savedAnswers")).isFalse();
+        assertThat(repeated.get("data").get("applied").asBoolean()).isFalse();
+
+        // A restarted instance has no memory of the attempt; the database check still refuses the older save.
+        progressSequencer.forget(exam.attemptId());
+        JsonNode afterRestart = save(exam, 1, exam.secondOptionId());
+        assertThat(afterRestart.get("data").get("applied").asBoolean()).isFalse();
+        assertThat(afterRestart.get("data").get("lastClientSeq").asLong()).isEqualTo(2);
+        assertThat(selectedOption(exam)).isEqualTo(exam.firstOptionId());
+    }
+
+    @Test
+    void shouldKeepTheNewestOfConcurrentOutOfOrderSaves() throws Exception {
+        Exam exam = startExam("SQ0000002");
+        List<Integer> sequences = new ArrayList<>(IntStream.rangeClosed(1, 40).boxed().toList());
+        Collections.shuffle(sequences);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonNode>> results = new ArrayList<>();
+            for (int seq : sequences) {
+                long option = seq % 2 == 0 ? exam.firstOptionId() : exam.secondOptionId();
+                results.add(pool.submit(() -> save(exam, seq, option)));
+            }
+            for (Future<JsonNode> result : results) {
+                assertThat(result.get().get("success").asBoolean()).isTrue();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(selectedOption(exam)).isEqualTo(exam.firstOptionId());
+        assertThat(save(exam, 40, exam.secondOptionId()).get("data").get("applied").asBoolean()).isFalse();
+        assertThat(save(exam, 41, exam.secondOptionId()).get("data").get("applied").asBoolean()).isTrue();
+        assertThat(selectedOption(exam)).isEqualTo(exam.secondOptionId());
+    }
+
+    @Test
+    void shouldApplyARetryWhoseOriginalRolledBack() throws Exception {
+        Exam exam = startExam("SQ0000003");
+
+        // The original save of clientSeq 5 is still running when its retry arrives, and then rolls back.
+        transactionTemplate.executeWithoutResult(status -> {
+            candidateService.saveProgress(exam.attemptId(), new CandidateDtos.SaveProgressRequest(exam.candidateId(),
+                    List.of(new CandidateDtos.AnswerRequest(exam.questionId(), exam.firstOptionId())), 5L));
+            assertThat(progressSequencer.isStale(exam.attemptId(), 5)).isFalse();
+            status.setRollbackOnly();
+        });
+
+        JsonNode retry = save(exam, 5, exam.firstOptionId());
+        assertThat(retry.get("data").get("applied").asBoolean()).isTrue();
+        assertThat(selectedOption(exam)).isEqualTo(exam.firstOptionId());
+        assertThat(progressSequencer.lastCommitted(exam.attemptId())).isEqualTo(5L);
+    }
+
+    private Exam startExam(String login) {
+        String profession = "sequencing-" + login.toLowerCase();
+        hrService.createJob(new HrDtos.CreateJobRequest(profession, null, true));
+        Long questionId = hrService.createTest(new HrDtos.CreateTestRequest(
+                "Autosave " + login, profession, "Which reading is logged at shift handover for " + login + "?",
+                List.of(new HrDtos.OptionRequest("Pressure", true), new HrDtos.OptionRequest("Weather", false)),
+                true), "hr").test().testId();
+        Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Sequencing Candidate", profession, login, login, true)).candidateId();
+
+        CandidateResponses.StartResponse start = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        List<CandidateResponses.OptionPayload> options = start.questions().get(0).options();
+        return new Exam(start.attemptId(), candidateId, questionId, options.get(0).optionId(), options.get(1).optionId());
+    }
+
+    private JsonNode save(Exam exam, long clientSeq, long optionId) throws Exception {
+        String body = mockMvc.perform(post("/api/candidate/attempts/{attemptId}/progress", exam.attemptId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"candidateId": %d, "clientSeq": %d, "answers": [{"questionId": %d, "selectedOptionId": %d}]}
+                                """.formatted(exam.candidateId(), clientSeq, exam.questionId(), optionId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private Long selectedOption(Exam exam) {
+        return candidateService.getProgress(exam.attemptId(), exam.candidateId()).savedAnswers().get(0).selectedOptionId();
+    }
+
+    private record Exam(Long attemptId, Long candidateId, Long questionId, Long firstOptionId, Long secondOptionId) {
+    }
+}
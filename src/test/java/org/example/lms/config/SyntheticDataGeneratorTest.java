@@ -0,0 +1,67 @@
+package org.example.lms.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scaledb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "exam.seed.scale-factor=1"
+})
+@ActiveProfiles("test")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestDataSeeder testDataSeeder;
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void shouldGenerateOneUnitAndSkipWhenFingerprintsAreUnchanged() throws Exception {
+        List<Long> seeded = counts();
+        assertThat(count("select count(*) from candidates where login like 'SX%'")).isEqualTo(1_000);
+        assertThat(count("select count(*) from attempts a join candidates c on c.id = a.candidate_id where c.login like 'SX%'"))
+                .isEqualTo(250);
+        assertThat(count("select count(*) from attempt_answers")).isEqualTo(10_000);
+        assertThat(count("select count(*) from attempt_questions")).isEqualTo(10_000);
+        assertThat(count("select count(*) from attempt_answers aa join options o on o.id = aa.selected_option_id"
+                + " where aa.correct <> o.correct")).isZero();
+        assertThat(count("select count(*) from attempts where correct_answers ="
+                + " (select count(*) from attempt_answers aa where aa.attempt_id = attempts.id and aa.correct)"))
+                .isEqualTo(250);
+        assertThat(jdbcTemplate.queryForList("select name from seed_state", String.class))
+                .containsExactlyInAnyOrder("base", "scale");
+
+        String hash = jdbcTemplate.queryForObject("select password_hash from candidates where login = 'SX0000000'", String.class);
+        assertThat(passwordEncoder.matches("SX0000000", hash)).isTrue();
+
+        testDataSeeder.run();
+        syntheticDataGenerator.generate(1);
+
+        assertThat(counts()).isEqualTo(seeded);
+    }
+
+    private List<Long> counts() {
+        return List.of(
+                count("select count(*) from candidates"),
+                count("select count(*) from questions"),
+                count("select count(*) from options"),
+                count("select count(*) from attempts"),
+                count("select count(*) from attempt_answers"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
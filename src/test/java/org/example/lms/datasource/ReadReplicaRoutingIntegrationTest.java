@@ -0,0 +1,64 @@
+package org.example.lms.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.service.CandidateService;
+import org.example.lms.service.HrService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "exam.replica.url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "exam.replica.lag-query=select 0",
+        "exam.replica.lag-probe-interval-ms=600000"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:routingreplica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        REPLICA.update("insert into jobs (name, description, active, created_at) values ('replica-only', null, true, now())");
+    }
+
+    @Test
+    void shouldServeReportsFromReplicaAndKeepWritesAndFreshReadsOnPrimary() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+
+        assertThat(hrService.listJobs()).extracting(HrResponses.JobResponse::name).contains("replica-only");
+
+        Long candidateId = primary.queryForObject("select id from candidates where login = 'AA1234567'", Long.class);
+        candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        assertThat(primary.queryForObject("select count(*) from attempts", Long.class)).isEqualTo(1);
+        assertThat(REPLICA.queryForObject("select count(*) from attempts", Long.class)).isZero();
+
+        hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Lag Tekshiruv", "electrician", "AZ0000001", "AZ0000001", true));
+
+        assertThat(hrService.listCandidates()).extracting(HrResponses.CandidateResponse::login)
+                .doesNotContain("AZ0000001");
+        assertThat(hrService.listResults(null, null, null, null, null, null, "not-started"))
+                .extracting(HrResponses.ResultResponse::passport)
+                .contains("AZ0000001");
+    }
+}
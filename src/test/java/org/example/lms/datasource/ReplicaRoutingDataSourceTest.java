@@ -0,0 +1,95 @@
+package org.example.lms.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "select seconds from replica_lag";
+
+    @Test
+    void shouldSendOnlyReadOnlyTransactionsToReplica() {
+        Fixture fixture = new Fixture(database("primary"), database("replica"), Duration.ZERO);
+
+        assertThat(fixture.read(false)).isEqualTo("replica");
+        assertThat(fixture.write()).isEqualTo("primary");
+        assertThat(fixture.jdbc.queryForObject("select name from marker", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldKeepFreshReadsOnPrimaryUntilReplicaHasCaughtUp() {
+        DataSource replica = database("replica");
+        Fixture fixture = new Fixture(database("primary"), replica, Duration.ZERO);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+
+        replicaJdbc.update("update replica_lag set seconds = 5");
+        fixture.write();
+        assertThat(fixture.read(true)).isEqualTo("primary");
+        assertThat(fixture.read(false)).isEqualTo("replica");
+
+        replicaJdbc.update("update replica_lag set seconds = 0");
+        assertThat(fixture.read(true)).isEqualTo("replica");
+
+        replicaJdbc.update("update replica_lag set seconds = 60");
+        assertThat(fixture.read(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaIsDown() {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        Fixture fixture = new Fixture(database("primary"), missing, Duration.ZERO);
+
+        assertThat(fixture.read(false)).isEqualTo("primary");
+        assertThat(fixture.read(true)).isEqualTo("primary");
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table marker (name varchar(16))");
+        jdbc.update("insert into marker values (?)", name);
+        jdbc.execute("create table replica_lag (seconds int)");
+        jdbc.update("insert into replica_lag values (0)");
+        return dataSource;
+    }
+
+    private static class Fixture {
+        final JdbcTemplate jdbc;
+        final DataSourceTransactionManager transactionManager;
+
+        Fixture(DataSource primary, DataSource replica, Duration lagProbeInterval) {
+            DataSource routed = new ReplicaRoutingDataSource(primary, replica, LAG_QUERY,
+                    Duration.ofSeconds(30), lagProbeInterval, Duration.ofMinutes(1)).lazy();
+            this.jdbc = new JdbcTemplate(routed);
+            this.transactionManager = new DataSourceTransactionManager(routed);
+        }
+
+        String read(boolean fresh) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            return fresh
+                    ? ReplicaRoutingDataSource.freshRead(() -> transaction.execute(status -> marker()))
+                    : transaction.execute(status -> marker());
+        }
+
+        String write() {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                jdbc.update("update marker set name = name");
+                return marker();
+            });
+        }
+
+        private String marker() {
+            return jdbc.queryForObject("select name from marker", String.class);
+        }
+    }
+}
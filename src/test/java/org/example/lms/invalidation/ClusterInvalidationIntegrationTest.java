@@ -0,0 +1,172 @@
+package org.example.lms.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.repository.JobRepository;
+import org.example.lms.search.CandidateSearchIndex;
+import org.example.lms.search.QuestionSearchIndex;
+import org.example.lms.service.HrService;
+import org.example.lms.service.ResponseVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plays a second instance by changing rows behind this one's back and sending its messages on the local bus.
+ */
+@SpringBootTest(properties = "exam.invalidation.gap-grace-ms=0")
+@ActiveProfiles("test")
+class ClusterInvalidationIntegrationTest {
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private ClusterInvalidation clusterInvalidation;
+    @Autowired
+    private LocalInvalidationBus bus;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private CandidateSearchIndex candidateSearchIndex;
+    @Autowired
+    private QuestionSearchIndex questionSearchIndex;
+    @Autowired
+    private ResponseVersions responseVersions;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldEncodeCompactMessages() {
+        InvalidationMessage message = new InvalidationMessage(InvalidationMessage.Kind.QUESTION, 42, 7L, "k3x9ab", 118);
+        assertThat(message.encode()).isEqualTo("Q:42:7:k3x9ab:118");
+        assertThat(InvalidationMessage.decode(message.encode())).isEqualTo(message);
+        assertThat(InvalidationMessage.decode("C:5::k3x9ab:1").jobId()).isNull();
+
+        InvalidationMessage bulk = new InvalidationMessage(
+                InvalidationMessage.Kind.CANDIDATE, List.of(5L, 6L, 9L), List.of(3L), "k3x9ab", 119);
+        assertThat(bulk.encode()).isEqualTo("C:5,6,9:3:k3x9ab:119");
+        assertThat(InvalidationMessage.decode(bulk.encode())).isEqualTo(bulk);
+        assertThat(InvalidationMessage.decode("R:::k3x9ab:120").ids()).isEmpty();
+    }
+
+    @Test
+    void shouldSendOneMessagePerBulkEditAndApplyItWhole() {
+        HrResponses.JobResponse job = hrService.createJob(new HrDtos.CreateJobRequest("ci-compressor-operator", null, true));
+        Long first = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Bulk First", job.name(), "CI0000004", "CI0000004", true)).candidateId();
+        Long second = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Bulk Second", job.name(), "CI0000005", "CI0000005", true)).candidateId();
+
+        double published = count("exam.invalidation.published");
+        hrService.bulkCandidates(new HrDtos.BulkRequest(HrDtos.BulkAction.DEACTIVATE, List.of(first, second), null));
+        assertThat(count("exam.invalidation.published")).isEqualTo(published + 1);
+
+        jdbcTemplate.update("update candidates set active = true where id in (?, ?)", first, second);
+        bus.send("C:" + first + "," + second + "::other3:1");
+        assertThat(List.of(first, second)).allSatisfy(id -> assertThat(candidateSearchIndex.find(id))
+                .map(CandidateSearchIndex.Entry::active).contains(true));
+
+        double resyncs = count("exam.invalidation.resyncs");
+        bus.send("R:::other3:2");
+        assertThat(count("exam.invalidation.resyncs")).isEqualTo(resyncs + 1);
+    }
+
+    @Test
+    void shouldPublishHrEditsOnCommitOnly() {
+        double before = count("exam.invalidation.published");
+        HrResponses.JobResponse job = hrService.createJob(new HrDtos.CreateJobRequest("ci-boiler-operator", null, true));
+        hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Published Candidate", job.name(), "CI0000001", "CI0000001", true));
+        assertThat(count("exam.invalidation.published")).isEqualTo(before + 2);
+
+        try {
+            hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                    "Duplicate Candidate", job.name(), "CI0000001", "CI0000001", true));
+        } catch (RuntimeException expected) {
+            // Login taken: rolled back, nothing to tell the other instances.
+        }
+        assertThat(count("exam.invalidation.published")).isEqualTo(before + 2);
+    }
+
+    @Test
+    void shouldApplyChangesMadeOnAnotherInstance() {
+        HrResponses.JobResponse job = hrService.createJob(new HrDtos.CreateJobRequest("ci-pump-operator", "before", true));
+        Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Remote Candidate", job.name(), "CI0000002", "CI0000002", true)).candidateId();
+        Long questionId = hrService.createTest(new HrDtos.CreateTestRequest(
+                "Pump priming", job.name(), "What must be done before starting a centrifugal pump?",
+                List.of(new HrDtos.OptionRequest("Prime it", true), new HrDtos.OptionRequest("Nothing", false)),
+                true), "hr").test().testId();
+        assertThat(jobRepository.findById(job.jobId())).map(JobEntity::getDescription).contains("before");
+
+        jdbcTemplate.update("update jobs set description = 'after' where id = ?", job.jobId());
+        jdbcTemplate.update("update candidates set full_name = 'Renamed Elsewhere' where id = ?", candidateId);
+        jdbcTemplate.update("update questions set title = 'Cavitation check' where id = ?", questionId);
+        bus.send("J:" + job.jobId() + ":" + job.jobId() + ":other1:1");
+        bus.send("C:" + candidateId + ":" + job.jobId() + ":other1:2");
+        bus.send("Q:" + questionId + ":" + job.jobId() + ":other1:3");
+
+        assertThat(jobRepository.findById(job.jobId())).map(JobEntity::getDescription).contains("after");
+        assertThat(candidateSearchIndex.find(candidateId)).map(CandidateSearchIndex.Entry::fullName)
+                .contains("Renamed Elsewhere");
+        assertThat(questionSearchIndex.search("cavitation", job.jobId(), null, 0, 10).hits())
+                .extracting(hit -> hit.entry().questionId())
+                .containsExactly(questionId);
+
+        jdbcTemplate.update("delete from candidates where id = ?", candidateId);
+        bus.send("C:" + candidateId + "::other1:4");
+        assertThat(candidateSearchIndex.find(candidateId)).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreItsOwnMessages() {
+        double applied = count("exam.invalidation.applied");
+        bus.send("J:1:1:" + clusterInvalidation.origin() + ":1");
+        assertThat(count("exam.invalidation.applied")).isEqualTo(applied);
+    }
+
+    @Test
+    void shouldResyncAfterALostMessageOrAReconnect() {
+        HrResponses.JobResponse job = hrService.createJob(new HrDtos.CreateJobRequest("ci-crane-operator", null, true));
+        Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Lost Update", job.name(), "CI0000003", "CI0000003", true)).candidateId();
+
+        double resyncs = count("exam.invalidation.resyncs");
+        bus.send("J:" + job.jobId() + ":" + job.jobId() + ":other2:1");
+        bus.send("J:" + job.jobId() + ":" + job.jobId() + ":other2:2");
+        clusterInvalidation.checkGaps();
+        assertThat(count("exam.invalidation.resyncs")).isEqualTo(resyncs);
+
+        // Version 3, the candidate change, never arrives.
+        jdbcTemplate.update("update candidates set full_name = 'Found By Resync' where id = ?", candidateId);
+        bus.send("J:" + job.jobId() + ":" + job.jobId() + ":other2:4");
+        String catalogTag = responseVersions.catalogTag("tests");
+        clusterInvalidation.checkGaps();
+        assertThat(count("exam.invalidation.resyncs")).isEqualTo(resyncs + 1);
+        assertThat(candidateSearchIndex.find(candidateId)).map(CandidateSearchIndex.Entry::fullName)
+                .contains("Found By Resync");
+        assertThat(responseVersions.catalogTag("tests")).isNotEqualTo(catalogTag);
+
+        jdbcTemplate.update("update candidates set full_name = 'Found After Reconnect' where id = ?", candidateId);
+        catalogTag = responseVersions.catalogTag("tests");
+        bus.reconnect();
+        assertThat(count("exam.invalidation.resyncs")).isEqualTo(resyncs + 2);
+        assertThat(responseVersions.catalogTag("tests")).isNotEqualTo(catalogTag);
+        assertThat(candidateSearchIndex.find(candidateId)).map(CandidateSearchIndex.Entry::fullName)
+                .contains("Found After Reconnect");
+    }
+
+    private double count(String meter) {
+        return meterRegistry.counter(meter).count();
+    }
+}
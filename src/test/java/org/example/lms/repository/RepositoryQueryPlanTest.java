@@ -0,0 +1,166 @@
+package org.example.lms.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the SQL of every selective repository finder on the migrated H2 schema and fails on a table scan.
+ * Whole-table listings (findAll, findAllRows, findAllSearchRows, findAllStats, findAllByOrderByNameAsc,
+ * findAllWithCandidateOrderByStartedAtDesc) and the optional-filter page queries (findRows) are left out on
+ * purpose. H2 cannot index expressions or keep partial indexes, so the *IgnoreCase finders and the partial index on
+ * finished attempts are checked against the Postgres migrations.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.lms.repository.RecordingStatementInspector")
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AttemptRepository attemptRepository;
+    @Autowired
+    private AttemptQuestionRepository attemptQuestionRepository;
+    @Autowired
+    private AttemptAnswerRepository attemptAnswerRepository;
+    @Autowired
+    private OptionRepository optionRepository;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private QuestionVersionRepository questionVersionRepository;
+    @Autowired
+    private CandidateRepository candidateRepository;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Test
+    void shouldServeEverySelectiveFinderFromAnIndex() {
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("AttemptRepository.findByIdAndCandidateId", () -> attemptRepository.findByIdAndCandidateId(1L, 1L));
+        finders.put("AttemptRepository.findTopByCandidateIdAndFinishedFalseOrderByStartedAtDesc",
+                () -> attemptRepository.findTopByCandidateIdAndFinishedFalseOrderByStartedAtDesc(1L));
+        finders.put("AttemptRepository.countByCandidateId", () -> attemptRepository.countByCandidateId(1L));
+        finders.put("AttemptRepository.findAllByCandidateIdOrderByStartedAtAsc",
+                () -> attemptRepository.findAllByCandidateIdOrderByStartedAtAsc(1L));
+        finders.put("AttemptRepository.countBySessionId", () -> attemptRepository.countBySessionId(1L));
+        finders.put("AttemptRepository.findUnstartedIdsOfClosedSessions",
+                () -> attemptRepository.findUnstartedIdsOfClosedSessions(LocalDateTime.now()));
+        finders.put("AttemptQuestionRepository.findAllByAttemptId", () -> attemptQuestionRepository.findAllByAttemptId(1L));
+        finders.put("AttemptQuestionRepository.findAllByAttemptIdOrderByDisplayOrderAsc",
+                () -> attemptQuestionRepository.findAllByAttemptIdOrderByDisplayOrderAsc(1L));
+        finders.put("AttemptQuestionRepository.existsByQuestionId", () -> attemptQuestionRepository.existsByQuestionId(1L));
+        finders.put("AttemptAnswerRepository.findAllByAttemptId", () -> attemptAnswerRepository.findAllByAttemptId(1L));
+        finders.put("AttemptAnswerRepository.findByAttemptIdAndQuestionId",
+                () -> attemptAnswerRepository.findByAttemptIdAndQuestionId(1L, 1L));
+        finders.put("AttemptAnswerRepository.findArchivableAttemptIds",
+                () -> attemptAnswerRepository.findArchivableAttemptIds(LocalDateTime.now(), PageRequest.ofSize(100)));
+        finders.put("OptionRepository.findAllByQuestionId", () -> optionRepository.findAllByQuestionId(1L));
+        finders.put("OptionRepository.findAllByQuestionVersionIdOrderByIdAsc",
+                () -> optionRepository.findAllByQuestionVersionIdOrderByIdAsc(1L));
+        finders.put("OptionRepository.findAllByQuestionVersionIdInOrderByIdAsc",
+                () -> optionRepository.findAllByQuestionVersionIdInOrderByIdAsc(List.of(1L, 2L)));
+        finders.put("OptionRepository.findRowsByQuestionVersionIdIn",
+                () -> optionRepository.findRowsByQuestionVersionIdIn(List.of(1L, 2L)));
+        finders.put("QuestionVersionRepository.findAllByQuestionIdOrderByVersionAsc",
+                () -> questionVersionRepository.findAllByQuestionIdOrderByVersionAsc(1L));
+        finders.put("QuestionRepository.findAllByActiveTrueOrderByIdDesc", () -> questionRepository.findAllByActiveTrueOrderByIdDesc());
+        finders.put("QuestionRepository.findAllByActiveTrueAndJobIdOrderByIdDesc",
+                () -> questionRepository.findAllByActiveTrueAndJobIdOrderByIdDesc(1L));
+        finders.put("QuestionRepository.countByJobId", () -> questionRepository.countByJobId(1L));
+        finders.put("CandidateRepository.countByJobId", () -> candidateRepository.countByJobId(1L));
+        finders.put("SubmissionRepository.findByAttemptId", () -> submissionRepository.findByAttemptId(1L));
+        finders.put("SubmissionRepository.findAllByClaimTokenOrderByIdAsc",
+                () -> submissionRepository.findAllByClaimTokenOrderByIdAsc("x"));
+
+        finders.forEach((finder, call) -> {
+            RecordingStatementInspector.drain();
+            call.run();
+            List<String> statements = RecordingStatementInspector.drain();
+
+            assertThat(statements).as(finder).isNotEmpty();
+            for (String sql : statements) {
+                assertThat(explain(sql)).as(finder + "\n" + sql).doesNotContain(".tableScan");
+            }
+        });
+    }
+
+    @Test
+    void shouldCreateDesignedIndexSet() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where table_schema = 'public'", String.class);
+
+        assertThat(indexes).contains(
+                "idx_attempts_candidate_finished_started",
+                "idx_attempts_started_at",
+                "idx_attempts_job_id",
+                "idx_attempt_questions_attempt_order",
+                "idx_attempt_questions_question_id",
+                "idx_attempt_answers_question_id",
+                "idx_attempt_answers_selected_option_id",
+                "idx_options_question_id",
+                "idx_options_question_version_id",
+                "idx_attempt_questions_question_version_id",
+                "idx_questions_job_active_id",
+                "idx_questions_active_id",
+                "idx_candidates_job_id",
+                "idx_attempts_finished_at",
+                "idx_attempts_session_id",
+                "idx_submission_queue_claim_token");
+        assertThat(indexes).doesNotContain("idx_questions_job_id");
+    }
+
+    @Test
+    void shouldMatchIgnoreCaseFindersToPostgresExpressionIndexes() throws Exception {
+        List<Map.Entry<String, Runnable>> finders = List.of(
+                Map.entry("upper(ce1_0.login)=upper(?)", () -> candidateRepository.findByLoginIgnoreCase("x")),
+                Map.entry("upper(ce1_0.login)=upper(?)", () -> candidateRepository.existsByLoginIgnoreCase("x")),
+                Map.entry("upper(ce1_0.login)=upper(?)", () -> candidateRepository.existsByLoginIgnoreCaseAndIdNot("x", 1L)),
+                Map.entry("upper(je1_0.name)=upper(?)", () -> jobRepository.findByNameIgnoreCase("x")),
+                Map.entry("upper(je1_0.name)=upper(?)", () -> jobRepository.existsByNameIgnoreCase("x")),
+                Map.entry("upper(je1_0.name)=upper(?)", () -> jobRepository.existsByNameIgnoreCaseAndIdNot("x", 1L)));
+
+        for (Map.Entry<String, Runnable> finder : finders) {
+            RecordingStatementInspector.drain();
+            finder.getValue().run();
+            assertThat(RecordingStatementInspector.drain()).anySatisfy(sql -> assertThat(sql).contains(finder.getKey()));
+        }
+
+        String migration = new ClassPathResource("db/migration-postgresql/V4__case_insensitive_lookup_indexes.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertThat(migration)
+                .contains("on candidates (upper(login))")
+                .contains("on jobs (upper(name))");
+    }
+
+    @Test
+    void shouldKeepOnlyFinishedAttemptsInThePostgresFinishedAtIndex() throws Exception {
+        String migration = new ClassPathResource("db/migration-postgresql/V17__finished_attempt_partial_index.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertThat(migration).contains("on attempts (finished_at) where finished = true");
+    }
+
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(ch -> ch == '?').count();
+        return String.join("\n", jdbcTemplate.query("explain " + sql, ps -> {
+            for (int i = 1; i <= parameters; i++) {
+                ps.setObject(i, 1);
+            }
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandidateSearchIndexTest {
+
+    @Test
+    void shouldMatchLatinAndCyrillicSpellings() {
+        CandidateSearchIndex index = new CandidateSearchIndex();
+        index.rebuild(List.of(
+                entry(1L, "Шоҳруҳ Ўринбоев", "AC1000001"),
+                entry(2L, "Malika Karimova", "AB7654321"),
+                entry(3L, "G‘ayrat O'tkirov", "AD2000002")));
+
+        assertThat(index.search("shohruh", 5)).extracting(hit -> hit.entry().candidateId()).first().isEqualTo(1L);
+        assertThat(index.search("Карим", 5)).extracting(hit -> hit.entry().candidateId()).first().isEqualTo(2L);
+        assertThat(index.findMatchingIds("gayrat otkir")).containsExactly(3L);
+        assertThat(index.findMatchingIds("7654")).containsExactly(2L);
+        assertThat(index.findMatchingIds("ab")).containsExactly(2L);
+    }
+
+    @Test
+    void shouldReflectUpdatesAndDeletes() {
+        CandidateSearchIndex index = new CandidateSearchIndex();
+        index.rebuild(List.of(entry(1L, "Ali Valiyev", "AA1234567")));
+
+        index.put(entry(1L, "Ali Toshmatov", "AA1234567"));
+        assertThat(index.findMatchingIds("valiyev")).isEmpty();
+        assertThat(index.findMatchingIds("toshmat")).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.findMatchingIds("toshmat")).isEmpty();
+        assertThat(index.stats().documentCount()).isZero();
+        assertThat(index.stats().trigramCount()).isZero();
+    }
+
+    @Test
+    void shouldRankTypeaheadHitsAtHundredThousandCandidates() {
+        String[] first = {"Ali", "Malika", "Jasur", "Dilnoza", "Sherzod", "Nodira", "Bekzod", "Gulnora", "Sardor",
+                "Zarina", "Otabek", "Madina", "Rustam", "Feruza", "Jahongir", "Kamola", "Aziz", "Shahnoza", "Bobur", "Lola"};
+        String[] roots = {"Vali", "Karim", "Toshmat", "Rahim", "Yusup", "Ergash", "Qodir", "Said", "Umar", "Nazar",
+                "Xolmat", "Abdulla", "Sobir", "Islom", "Mirzo", "Tursun", "Hamid", "Jalil", "Sultan", "Normat"};
+        String[] suffixes = {"ov", "ova", "iyev", "iyeva", "jonov", "jonova"};
+
+        List<CandidateSearchIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            String lastName = roots[(i / 20) % roots.length] + suffixes[(i / 400) % suffixes.length];
+            entries.add(entry((long) i, first[i % first.length] + " " + lastName, "AA%07d".formatted(i)));
+        }
+
+        CandidateSearchIndex index = new CandidateSearchIndex();
+        index.rebuild(entries);
+
+        String[] queries = {"sherz", "karimova", "aa00123", "Юсупов", "dilnoza rah", "bobur umarjon"};
+        for (String query : queries) {
+            assertThat(index.search(query, 10)).isNotEmpty().hasSizeLessThanOrEqualTo(10);
+        }
+
+        assertThat(index.stats().documentCount()).isEqualTo(100_000);
+        assertThat(index.search("aa0012345", 1).get(0).entry().candidateId()).isEqualTo(12_345L);
+        assertThat(index.search("Sherzod Karimova", 10))
+                .extracting(hit -> hit.entry().fullName())
+                .first()
+                .isEqualTo("Sherzod Karimova");
+    }
+
+    @Test
+    void shouldCountAndCapTheScratchKeptByConcurrentSearches() throws Exception {
+        List<CandidateSearchIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            entries.add(entry((long) i, "Candidate " + i, "AB%07d".formatted(i)));
+        }
+        CandidateSearchIndex index = new CandidateSearchIndex();
+        index.rebuild(entries);
+        assertThat(index.stats().scratchBytes()).isZero();
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> searches = new ArrayList<>();
+            for (int i = 0; i < 320; i++) {
+                // Too few exact matches for the limit, so the overlap pass borrows scratch counters.
+                searches.add(pool.submit(() -> index.search("candidat 12", 50)));
+            }
+            for (Future<?> search : searches) {
+                search.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        CandidateSearchIndex.IndexStats stats = index.stats();
+        long perScratch = 24 + 2 * (16 + 4L * entries.size());
+        assertThat(stats.scratchBytes()).isPositive()
+                .isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors() * perScratch);
+        assertThat(stats.estimatedBytes()).isGreaterThan(stats.scratchBytes());
+
+        index.rebuild(entries.subList(0, 10));
+        assertThat(index.stats().scratchBytes()).isZero();
+    }
+
+    private static CandidateSearchIndex.Entry entry(Long id, String fullName, String login) {
+        return new CandidateSearchIndex.Entry(id, fullName, login, 1L, true);
+    }
+}
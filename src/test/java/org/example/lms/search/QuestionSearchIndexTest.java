@@ -0,0 +1,92 @@
+package org.example.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionSearchIndexTest {
+
+    @Test
+    void shouldRankTitleHitsAboveTextAndOptionHits() {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        index.rebuild(List.of(
+                entry(1L, 10L, true, "Shift handover", "Who signs the log?", "Compressor operator", "Supervisor"),
+                entry(2L, 10L, true, "Compressor start-up", "What is checked first?", "Oil level", "Paint"),
+                entry(3L, 10L, true, "Cooling loop", "When does the compressor trip?", "High temperature", "Never")));
+
+        assertThat(ids(index.search("compressor", null, null, 0, 10)))
+                .containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void shouldPreferQuestionsMatchingEveryQueryTerm() {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        index.rebuild(List.of(
+                entry(1L, 10L, true, "Pump pressure", "Pressure drop on the suction side", "Cavitation", "Nothing"),
+                entry(2L, 10L, true, "Pump lubrication", "How often is the pump greased?", "Weekly", "Never"),
+                entry(3L, 10L, true, "Valve pressure", "Pressure relief setting", "Above rated", "Below rated")));
+
+        QuestionSearchIndex.SearchPage page = index.search("pump pressure", null, null, 0, 10);
+
+        assertThat(ids(page).get(0)).isEqualTo(1L);
+        assertThat(page.totalHits()).isEqualTo(3);
+        assertThat(page.hits().get(0).titleHighlight()).isEqualTo("<em>Pump</em> <em>pressure</em>");
+    }
+
+    @Test
+    void shouldMatchTheLastWordAsAPrefix() {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        index.rebuild(List.of(
+                entry(1L, 10L, true, "Regression testing", "Why is it repeated after a change?", "Safety", "Habit"),
+                entry(2L, 10L, true, "Transformer oil", "What does the oil sample show?", "Moisture", "Colour")));
+
+        assertThat(ids(index.search("regression testi", null, null, 0, 10))).containsExactly(1L);
+        assertThat(ids(index.search("transf", null, null, 0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("transf oil", null, null, 0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("transf regression", null, null, 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldApplyJobAndActiveFiltersAndPageAfterFiltering() {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        index.rebuild(List.of(
+                entry(1L, 10L, true, "Valve check", "Valve position", "Open", "Closed"),
+                entry(2L, 10L, false, "Valve repair", "Valve seal", "Replace", "Ignore"),
+                entry(3L, 20L, true, "Valve audit", "Valve register", "Yes", "No"),
+                entry(4L, 10L, true, "Valve labels", "Valve tags", "Red", "Blue")));
+
+        assertThat(ids(index.search("valve", 10L, null, 0, 10))).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(ids(index.search("valve", null, false, 0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("valve", 10L, true, 0, 10))).containsExactlyInAnyOrder(1L, 4L);
+
+        QuestionSearchIndex.SearchPage second = index.search("valve", 10L, true, 1, 1);
+        assertThat(second.totalHits()).isEqualTo(2);
+        assertThat(second.hits()).hasSize(1);
+        assertThat(index.search("valve", 30L, null, 0, 10).totalHits()).isZero();
+    }
+
+    @Test
+    void shouldReflectUpdatesAndDeletes() {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        index.rebuild(List.of(entry(1L, 10L, true, "Boiler feed water", "Hardness limit", "Low", "High")));
+
+        index.put(entry(1L, 10L, true, "Condensate return", "Hardness limit", "Low", "High"));
+        assertThat(ids(index.search("boiler", null, null, 0, 10))).isEmpty();
+        assertThat(ids(index.search("condensate", null, null, 0, 10))).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("hardness", null, null, 0, 10).totalHits()).isZero();
+        assertThat(index.search("va", null, null, 0, 10).hits()).isEmpty();
+    }
+
+    private static List<Long> ids(QuestionSearchIndex.SearchPage page) {
+        return page.hits().stream().map(hit -> hit.entry().questionId()).toList();
+    }
+
+    private static QuestionSearchIndex.Entry entry(Long id, Long jobId, boolean active, String title, String text,
+                                                   String... options) {
+        return new QuestionSearchIndex.Entry(id, jobId, active, title, text, List.of(options));
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionSimilarityIndexTest {
+
+    @Test
+    void shouldFlagRewordedQuestionWithShuffledOptions() {
+        QuestionSimilarityIndex index = new QuestionSimilarityIndex();
+        index.rebuild(List.of(
+                entry(1L, 10L, "What is the first check before starting an industrial pump?",
+                        "Paint condition", "Lubrication and suction line readiness", "Room lighting"),
+                entry(2L, 10L, "A sudden pressure drop usually indicates:",
+                        "Possible leakage or cavitation", "Normal operation", "Too much lubrication")));
+
+        List<QuestionSimilarityIndex.Match> matches = index.findSimilar(
+                entry(null, 10L, "What is the first check before starting an industrial pump ?",
+                        "Room lighting", "Lubrication and suction-line readiness", "Paint condition"),
+                QuestionSimilarityIndex.DEFAULT_THRESHOLD, 5);
+
+        assertThat(matches).extracting(match -> match.entry().questionId()).containsExactly(1L);
+        assertThat(index.findSimilar(entry(1L, 10L, "What is the first check before starting an industrial pump?",
+                "Paint condition", "Lubrication and suction line readiness", "Room lighting"), 0.8, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectUpdatesAndDeletes() {
+        QuestionSimilarityIndex index = new QuestionSimilarityIndex();
+        index.rebuild(List.of(entry(1L, 10L, "Before repairing a panel, what should be done first?",
+                "Switch off and lock out the power", "Only inform the supervisor")));
+        QuestionSimilarityIndex.Entry probe = entry(null, 10L, "Before repairing a panel, what should be done first?",
+                "Switch off and lock out the power", "Only inform the supervisor");
+
+        index.put(entry(1L, 10L, "Which document defines workplace hazard controls?", "Shift menu", "Inventory list"));
+        assertThat(index.findSimilar(probe, 0.8, 5)).isEmpty();
+
+        index.put(entry(2L, 10L, "Before repairing a panel, what should be done first?",
+                "Switch off and lock out the power", "Only inform the supervisor"));
+        assertThat(index.findSimilar(probe, 0.8, 5)).extracting(match -> match.entry().questionId()).containsExactly(2L);
+
+        index.remove(2L);
+        assertThat(index.findSimilar(probe, 0.8, 5)).isEmpty();
+    }
+
+    @Test
+    void shouldClusterDuplicatesAcrossLargeBank() {
+        String[] words = ("pump valve compressor boiler exchanger turbine reactor conveyor starting stopping inspecting "
+                + "cleaning repairing calibrating isolating pressure temperature vibration leakage noise corrosion limit "
+                + "operator shift passport permit gauge seal bearing motor filter line tank flange").split(" ");
+        Random random = new Random(42);
+
+        List<QuestionSimilarityIndex.Entry> entries = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 12; i++) {
+                text.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            entries.add(entry(id, id % 2 == 0 ? 10L : 20L, text.toString().trim() + "?",
+                    words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)], "No check is needed"));
+        }
+        QuestionSimilarityIndex.Entry original = entries.get(41);
+        entries.add(entry(5_001L, 20L, original.text().toUpperCase(), "No check is needed", original.options().get(0)));
+
+        QuestionSimilarityIndex index = new QuestionSimilarityIndex();
+        index.rebuild(entries);
+
+        QuestionSimilarityIndex.DuplicateReport report = index.report(null, 0.9);
+        assertThat(report.questionCount()).isEqualTo(entries.size());
+        assertThat(report.clusters()).hasSize(1);
+        assertThat(report.clusters().get(0).questions())
+                .extracting(QuestionSimilarityIndex.Entry::questionId)
+                .containsExactly(42L, 5_001L);
+
+        assertThat(index.report(20L, 0.9).clusters()).isEmpty();
+    }
+
+    private static QuestionSimilarityIndex.Entry entry(Long id, Long jobId, String text, String... options) {
+        return new QuestionSimilarityIndex.Entry(id, jobId, true, "Question " + id, text, List.of(options));
+    }
+}
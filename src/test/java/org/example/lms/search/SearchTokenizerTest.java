@@ -0,0 +1,35 @@
+package org.example.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void shouldFoldInflectedAndCyrillicFormsOntoOneStem() {
+        assertThat(SearchTokenizer.tokenize("Nasoslarning")).containsExactly("nasos");
+        assertThat(SearchTokenizer.tokenize("nasosni")).containsExactly("nasos");
+        assertThat(SearchTokenizer.tokenize("Насос")).containsExactly("nasos");
+        assertThat(SearchTokenizer.tokenize("pumps")).containsExactly("pump");
+        assertThat(SearchTokenizer.tokenize("testing tests tested")).containsExactly("test", "test", "test");
+    }
+
+    @Test
+    void shouldDropStopWordsAndKeepNumbers() {
+        assertThat(SearchTokenizer.tokenize("Qaysi nasoslar va kompressorlar")).containsExactly("nasos", "kompressor");
+        assertThat(SearchTokenizer.tokenize("Which pump is used for 220 volts?"))
+                .containsExactly("pump", "used", "220", "volt");
+        assertThat(SearchTokenizer.tokenize("  ?! ")).isEmpty();
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnUnstemmedWordsForQueries() {
+        assertThat(SearchTokenizer.words("O‘lchov asboblari va testi"))
+                .containsExactly("olchov", "asboblari", "testi");
+        assertThat(SearchTokenizer.stem("olchov")).isEqualTo("olch");
+        assertThat(SearchTokenizer.stem("gas")).isEqualTo("gas");
+        assertThat(SearchTokenizer.stem("2024")).isEqualTo("2024");
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.repository.AttemptAnswerArchiveRepository;
+import org.example.lms.repository.AttemptAnswerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AnswerArchiveIntegrationTest {
+    private static final String PROFESSION = "archive-compressor-operator";
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private SubmissionQueue submissionQueue;
+    @Autowired
+    private SubmissionWorker submissionWorker;
+    @Autowired
+    private AnswerArchiveService answerArchiveService;
+    @Autowired
+    private AttemptAnswerRepository attemptAnswerRepository;
+    @Autowired
+    private AttemptAnswerArchiveRepository attemptAnswerArchiveRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldServeOldAttemptsFromThePackedArchive() {
+        hrService.createJob(new HrDtos.CreateJobRequest(PROFESSION, null, true));
+        for (String stage : List.of("first", "second", "third")) {
+            hrService.createTest(new HrDtos.CreateTestRequest(
+                    "Surge " + stage, PROFESSION, "Does the " + stage + " stage need anti-surge control?",
+                    List.of(new HrDtos.OptionRequest("Yes", true), new HrDtos.OptionRequest("No", false),
+                            new HrDtos.OptionRequest("Only in winter", false)),
+                    true), "hr");
+        }
+        Long oldAttemptId = takeExam("AR0000001");
+        Long recentAttemptId = takeExam("AR0000002");
+        Long oldCandidateId = candidateIdOf(oldAttemptId);
+        CandidateResponses.ProgressResponse before = candidateService.getProgress(oldAttemptId, oldCandidateId);
+
+        jdbcTemplate.update("update attempts set finished_at = ? where id = ?",
+                LocalDateTime.now().minusDays(40), oldAttemptId);
+        answerArchiveService.archiveOldAttempts();
+
+        assertThat(attemptAnswerRepository.findAllByAttemptId(oldAttemptId)).isEmpty();
+        assertThat(attemptAnswerArchiveRepository.findById(oldAttemptId)).hasValueSatisfying(archive ->
+                assertThat(archive.getSelections()).hasSize(3));
+        assertThat(attemptAnswerRepository.findAllByAttemptId(recentAttemptId)).isNotEmpty();
+        assertThat(attemptAnswerArchiveRepository.findById(recentAttemptId)).isEmpty();
+
+        CandidateResponses.ProgressResponse after = candidateService.getProgress(oldAttemptId, oldCandidateId);
+        assertThat(after.answeredCount()).isEqualTo(2);
+        assertThat(after.savedAnswers()).containsExactlyInAnyOrderElementsOf(before.savedAnswers().stream()
+                .filter(answer -> answer.selectedOptionId() != null)
+                .toList());
+    }
+
+    /** Answers two of the three questions: the first one right, the second one wrong. */
+    private Long takeExam(String login) {
+        Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Archive Candidate", PROFESSION, login, login, true)).candidateId();
+        CandidateResponses.StartResponse start = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        CandidateResponses.QuestionPayload first = start.questions().get(0);
+        CandidateResponses.QuestionPayload second = start.questions().get(1);
+        submit(start.attemptId(), new CandidateDtos.SubmitAttemptRequest(candidateId, List.of(
+                new CandidateDtos.AnswerRequest(first.questionId(), optionId(first, "Yes")),
+                new CandidateDtos.AnswerRequest(second.questionId(), optionId(second, "Only in winter")))));
+        return start.attemptId();
+    }
+
+    private Long candidateIdOf(Long attemptId) {
+        return jdbcTemplate.queryForObject("select candidate_id from attempts where id = ?", Long.class, attemptId);
+    }
+
+    private static Long optionId(CandidateResponses.QuestionPayload question, String text) {
+        return question.options().stream()
+                .filter(option -> option.text().equals(text))
+                .findFirst().orElseThrow().optionId();
+    }
+
+    /** Queues the sheet and drains the queue, as the submit endpoint and a worker would. */
+    private CandidateResponses.SubmitResponse submit(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
+        submissionQueue.enqueue(attemptId, req);
+        while (submissionWorker.drain() > 0) {
+            // Sheets left by other tests may be ahead of this one.
+        }
+        return submissionQueue.status(attemptId, req.candidateId()).result();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.search.CandidateSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkOperationsIntegrationTest {
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private CandidateSearchIndex candidateSearchIndex;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldChangeCandidatesTogetherAndReportEachId() {
+        String profession = "bulk-shift-operator";
+        createQuestion(profession, "Shift handover");
+        Long examined = createCandidate(profession, "BK0000001");
+        Long second = createCandidate(profession, "BK0000002");
+        Long third = createCandidate(profession, "BK0000003");
+        candidateService.startTest(new CandidateDtos.StartTestRequest(examined));
+
+        HrResponses.BulkResponse deactivated = hrService.bulkCandidates(new HrDtos.BulkRequest(
+                HrDtos.BulkAction.DEACTIVATE, List.of(examined, second, second, Long.MAX_VALUE), null));
+        assertThat(deactivated.requested()).isEqualTo(3);
+        assertThat(deactivated.applied()).isEqualTo(2);
+        assertThat(deactivated.results()).extracting(HrResponses.BulkItemResponse::code)
+                .containsExactly(null, null, ErrorCode.CANDIDATE_NOT_FOUND);
+        assertThat(jdbcTemplate.queryForList("select active from candidates where id in (?, ?, ?) order by id",
+                Boolean.class, examined, second, third)).containsExactly(false, false, true);
+        assertThat(candidateSearchIndex.find(second)).map(CandidateSearchIndex.Entry::active).contains(false);
+
+        hrService.bulkCandidates(new HrDtos.BulkRequest(
+                HrDtos.BulkAction.REASSIGN, List.of(second, third), "bulk-night-operator"));
+        Long nightJobId = jdbcTemplate.queryForObject(
+                "select id from jobs where name = 'bulk-night-operator'", Long.class);
+        assertThat(candidateSearchIndex.find(third)).map(CandidateSearchIndex.Entry::jobId).contains(nightJobId);
+
+        HrResponses.BulkResponse deleted = hrService.bulkCandidates(new HrDtos.BulkRequest(
+                HrDtos.BulkAction.DELETE, List.of(examined, second, third), null));
+        assertThat(deleted.results()).extracting(HrResponses.BulkItemResponse::applied)
+                .containsExactly(false, true, true);
+        assertThat(deleted.results().get(0).code()).isEqualTo(ErrorCode.STILL_IN_USE);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from candidates where id in (?, ?, ?)",
+                Long.class, examined, second, third)).isEqualTo(1);
+        assertThat(candidateSearchIndex.find(third)).isEmpty();
+    }
+
+    @Test
+    void shouldRetireQuestionsTogetherButKeepThoseInUse() {
+        String profession = "bulk-valve-fitter";
+        Long used = createQuestion(profession, "Valve lockout");
+        Long candidateId = createCandidate(profession, "BK0000004");
+        candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        Long unused = createQuestion(profession, "Valve packing");
+
+        HrResponses.BulkResponse deactivated = hrService.bulkTests(new HrDtos.BulkRequest(
+                HrDtos.BulkAction.DEACTIVATE, List.of(used, unused), null));
+        assertThat(deactivated.applied()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("select active from questions where id in (?, ?)", Boolean.class,
+                used, unused)).containsOnly(false);
+
+        HrResponses.BulkResponse deleted = hrService.bulkTests(new HrDtos.BulkRequest(
+                HrDtos.BulkAction.DELETE, List.of(used, unused), null));
+        assertThat(deleted.results()).extracting(HrResponses.BulkItemResponse::code)
+                .containsExactly(ErrorCode.STILL_IN_USE, null);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from questions where id = ?", Long.class, unused))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from options where question_id = ?", Long.class,
+                unused)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from question_versions where question_id = ?",
+                Long.class, used)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRequireAProfessionToReassign() {
+        assertThatThrownBy(() -> hrService.bulkTests(new HrDtos.BulkRequest(
+                HrDtos.BulkAction.REASSIGN, List.of(1L), " ")))
+                .isInstanceOfSatisfying(DomainException.class,
+                        ex -> assertThat(ex.getCode()).isEqualTo(ErrorCode.INVALID_REQUEST));
+    }
+
+    private Long createQuestion(String profession, String title) {
+        return hrService.createTest(new HrDtos.CreateTestRequest(
+                title, profession, "Which step comes first in " + title.toLowerCase() + "?",
+                List.of(new HrDtos.OptionRequest("Isolate and tag", true),
+                        new HrDtos.OptionRequest("Open it and see", false)),
+                true), "hr").test().testId();
+    }
+
+    private Long createCandidate(String profession, String login) {
+        return hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Bulk Candidate " + login, profession, login, login, true)).candidateId();
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.lms.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.search.CandidateSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExamAdmissionTest {
+    private static final long WELDERS = 1L;
+    private static final long FITTERS = 2L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CandidateSearchIndex candidateSearchIndex = new CandidateSearchIndex();
+
+    ExamAdmissionTest() {
+        candidateSearchIndex.rebuild(List.of(
+                entry(1L, WELDERS), entry(2L, WELDERS), entry(3L, WELDERS),
+                entry(4L, FITTERS), entry(5L, FITTERS)));
+    }
+
+    @Test
+    void shouldQueueBeyondTheBurstAndAdmitInArrivalOrder() {
+        ExamAdmission admission = admission(1, 2, 10, 0);
+
+        assertThat(admission.tryAdmit(1L).admitted()).isTrue();
+        assertThat(admission.tryAdmit(2L).admitted()).isTrue();
+
+        ExamAdmission.Decision third = admission.tryAdmit(3L);
+        ExamAdmission.Decision fourth = admission.tryAdmit(4L);
+        assertThat(third.admitted()).isFalse();
+        assertThat(third.position()).isEqualTo(1);
+        assertThat(fourth.position()).isEqualTo(2);
+        assertThat(fourth.retryAfterSeconds()).isEqualTo(2);
+
+        // One token refilled: it belongs to the head of the queue, not to whoever polls first.
+        advanceSeconds(1);
+        assertThat(admission.tryAdmit(4L).admitted()).isFalse();
+        assertThat(admission.tryAdmit(3L).admitted()).isTrue();
+        assertThat(admission.tryAdmit(4L).position()).isEqualTo(1);
+
+        assertThat(meterRegistry.get("exam.admission.waiting").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("exam.admission.running").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("exam.admission.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("exam.admission.wait").timer().totalTime(TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldHoldStartsAtTheConcurrencyLimitUntilReleased() {
+        ExamAdmission admission = admission(100, 100, 1, 0);
+
+        ExamAdmission.Decision first = admission.tryAdmit(1L);
+        assertThat(admission.tryAdmit(4L).admitted()).isFalse();
+
+        admission.release(first);
+        assertThat(admission.tryAdmit(4L).admitted()).isTrue();
+        assertThat(admission.waiting()).isZero();
+    }
+
+    @Test
+    void shouldNotLetAFullProfessionBlockOthersBehindIt() {
+        ExamAdmission admission = admission(100, 100, 10, 1);
+
+        ExamAdmission.Decision welder = admission.tryAdmit(1L);
+        assertThat(admission.tryAdmit(2L).admitted()).isFalse();
+        assertThat(admission.tryAdmit(4L).admitted()).isTrue();
+
+        admission.release(welder);
+        assertThat(admission.tryAdmit(3L).admitted()).isFalse();
+        assertThat(admission.tryAdmit(2L).admitted()).isTrue();
+    }
+
+    @Test
+    void shouldDropTicketsThatStopPolling() {
+        ExamAdmission admission = admission(1, 1, 10, 0);
+        admission.tryAdmit(1L);
+        admission.tryAdmit(2L);
+        admission.tryAdmit(3L);
+
+        advanceSeconds(0.5);
+        assertThat(admission.tryAdmit(3L).position()).isEqualTo(2);
+
+        // Candidate 2 walked away; candidate 3 kept polling and moves up.
+        advanceSeconds(30);
+        assertThat(admission.tryAdmit(3L).admitted()).isTrue();
+        assertThat(admission.waiting()).isZero();
+    }
+
+    @Test
+    void shouldKeepRetryAfterWithinTheTicketTtl() {
+        candidateSearchIndex.rebuild(LongStream.rangeClosed(1, 1_000)
+                .mapToObj(id -> entry(id, WELDERS))
+                .toList());
+        ExamAdmission admission = new ExamAdmission(candidateSearchIndex, meterRegistry, clock::get,
+                20, 1, 10, 0, 2_000, 30);
+        admission.tryAdmit(1L);
+
+        ExamAdmission.Decision last = null;
+        for (long id = 2; id <= 1_000; id++) {
+            last = admission.tryAdmit(id);
+        }
+        assertThat(last.position()).isEqualTo(999);
+        assertThat(last.retryAfterSeconds()).isEqualTo(15);
+
+        // Obeying Retry-After keeps the ticket.
+        advanceSeconds(last.retryAfterSeconds());
+        assertThat(admission.tryAdmit(1_000L).position()).isLessThanOrEqualTo(999);
+        assertThat(admission.waiting()).isEqualTo(999);
+    }
+
+    @Test
+    void shouldNotTicketUnknownOrInactiveCandidates() {
+        candidateSearchIndex.put(new CandidateSearchIndex.Entry(6L, "Candidate 6", "AD0000006", WELDERS, false));
+        ExamAdmission admission = admission(1, 1, 10, 0);
+        admission.tryAdmit(1L);
+
+        assertThatThrownBy(() -> admission.tryAdmit(999L))
+                .isInstanceOf(DomainException.class)
+                .extracting(ex -> ((DomainException) ex).getCode())
+                .isEqualTo(ErrorCode.CANDIDATE_NOT_FOUND);
+        assertThatThrownBy(() -> admission.tryAdmit(6L))
+                .extracting(ex -> ((DomainException) ex).getCode())
+                .isEqualTo(ErrorCode.CANDIDATE_INACTIVE);
+        assertThat(admission.waiting()).isZero();
+    }
+
+    private ExamAdmission admission(double ratePerSecond, int burst, int maxConcurrent, int maxPerProfession) {
+        return new ExamAdmission(candidateSearchIndex, meterRegistry, clock::get,
+                ratePerSecond, burst, maxConcurrent, maxPerProfession, 100, 30);
+    }
+
+    private void advanceSeconds(double seconds) {
+        clock.addAndGet((long) (seconds * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private static CandidateSearchIndex.Entry entry(Long candidateId, Long jobId) {
+        return new CandidateSearchIndex.Entry(candidateId, "Candidate " + candidateId, "AD%07d".formatted(candidateId),
+                jobId, true);
+    }
+}
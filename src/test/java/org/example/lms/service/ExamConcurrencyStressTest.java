@@ -0,0 +1,215 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.entity.AttemptEntity;
+import org.example.lms.exception.GlobalExceptionHandler;
+import org.example.lms.repository.AttemptRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExamConcurrencyStressTest {
+    private static final int CANDIDATES = 16;
+    private static final int CLICKS = 6;
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private SubmissionQueue submissionQueue;
+    @Autowired
+    private SubmissionWorker submissionWorker;
+    @Autowired
+    private ExamLocks examLocks;
+    @Autowired
+    private AttemptRepository attemptRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldAdmitAndScoreEachCandidateOnceUnderDoubleClicks() throws Exception {
+        List<Long> candidateIds = createCandidates("admission", CANDIDATES);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<List<Future<CandidateResponses.StartResponse>>> starts = new ArrayList<>();
+            CountDownLatch go = new CountDownLatch(1);
+            for (Long candidateId : candidateIds) {
+                List<Future<CandidateResponses.StartResponse>> clicks = new ArrayList<>();
+                for (int click = 0; click < CLICKS; click++) {
+                    clicks.add(pool.submit(() -> {
+                        go.await();
+                        return candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+                    }));
+                }
+                starts.add(clicks);
+            }
+            go.countDown();
+
+            List<Long> attemptIds = new ArrayList<>();
+            for (int i = 0; i < CANDIDATES; i++) {
+                List<Long> seen = new ArrayList<>();
+                for (Future<CandidateResponses.StartResponse> click : starts.get(i)) {
+                    seen.add(click.get(30, TimeUnit.SECONDS).attemptId());
+                }
+                assertThat(seen).as("candidate %d", candidateIds.get(i)).containsOnly(seen.get(0));
+                assertThat(attemptRepository.countByCandidateId(candidateIds.get(i))).isEqualTo(1);
+                attemptIds.add(seen.get(0));
+            }
+
+            CountDownLatch submit = new CountDownLatch(1);
+            List<List<Future<CandidateResponses.SubmissionStatusResponse>>> submits = new ArrayList<>();
+            for (int i = 0; i < CANDIDATES; i++) {
+                Long candidateId = candidateIds.get(i);
+                Long attemptId = attemptIds.get(i);
+                List<Future<CandidateResponses.SubmissionStatusResponse>> clicks = new ArrayList<>();
+                for (int click = 0; click < CLICKS; click++) {
+                    clicks.add(pool.submit(() -> {
+                        submit.await();
+                        return submissionQueue.enqueue(attemptId,
+                                new CandidateDtos.SubmitAttemptRequest(candidateId, List.of()));
+                    }));
+                }
+                submits.add(clicks);
+            }
+            submit.countDown();
+
+            for (List<Future<CandidateResponses.SubmissionStatusResponse>> clicks : submits) {
+                for (Future<CandidateResponses.SubmissionStatusResponse> click : clicks) {
+                    assertThat(click.get(30, TimeUnit.SECONDS).status()).isEqualTo("pending");
+                }
+            }
+            // However many clicks, each attempt has one queued sheet.
+            for (Long attemptId : attemptIds) {
+                assertThat(jdbcTemplate.queryForObject(
+                        "select count(*) from submission_queue where attempt_id = ?", Long.class, attemptId)).isEqualTo(1);
+            }
+
+            while (submissionWorker.drain() > 0) {
+                // Until every queued sheet is scored.
+            }
+            // Started, marked submitted once and scored once.
+            assertThat(attemptRepository.findAllById(attemptIds))
+                    .allSatisfy(attempt -> {
+                        assertThat(attempt.getFinished()).isTrue();
+                        assertThat(attempt.getVersion()).isEqualTo(2);
+                    });
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotSerializeCandidatesOnDifferentStripes() throws Exception {
+        List<Long> candidateIds = createCandidates("stripes", 2);
+        Long busy = candidateIds.get(0);
+        Long other = candidateIds.get(1);
+        assertThat(ExamLocks.candidateStripe(busy)).isNotEqualTo(ExamLocks.candidateStripe(other));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            pool.submit(() -> transaction.executeWithoutResult(status -> {
+                examLocks.lockCandidate(busy);
+                held.countDown();
+                awaitQuietly(release);
+            }));
+            assertThat(held.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<CandidateResponses.StartResponse> blocked = pool.submit(() ->
+                    candidateService.startTest(new CandidateDtos.StartTestRequest(busy)));
+            assertThat(candidateService.startTest(new CandidateDtos.StartTestRequest(other)).attemptId()).isNotNull();
+            assertThatThrownBy(() -> blocked.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            release.countDown();
+            assertThat(blocked.get(10, TimeUnit.SECONDS).attemptId()).isNotNull();
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldGuardAdmissionAndSubmitInTheDatabaseWithoutTheLocks() {
+        Long candidateId = createCandidates("guard", 1).get(0);
+        Long attemptId = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId)).attemptId();
+        Long jobId = jdbcTemplate.queryForObject("select job_id from attempts where id = ?", Long.class, attemptId);
+
+        DataIntegrityViolationException raced = catchThrowableOfType(() -> jdbcTemplate.update("""
+                insert into attempts (candidate_id, job_id, finished, total_questions, started_at)
+                values (?, ?, false, 1, ?)
+                """, candidateId, jobId, LocalDateTime.now()), DataIntegrityViolationException.class);
+        assertThat(raced).isNotNull();
+        assertThat(new GlobalExceptionHandler().handleDataIntegrity(raced).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+
+        // Any other integrity error is a bug, not a race the client could win by retrying.
+        DataIntegrityViolationException broken = catchThrowableOfType(() -> jdbcTemplate.update("""
+                insert into attempts (candidate_id, job_id, finished, total_questions, started_at)
+                values (?, ?, true, 1, ?)
+                """, -1L, jobId, LocalDateTime.now()), DataIntegrityViolationException.class);
+        assertThat(broken).isNotNull();
+        assertThat(new GlobalExceptionHandler().handleDataIntegrity(broken).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        AttemptEntity first = attemptRepository.findById(attemptId).orElseThrow();
+        AttemptEntity second = attemptRepository.findById(attemptId).orElseThrow();
+        first.setFinished(true);
+        attemptRepository.save(first);
+        second.setFinished(true);
+        assertThatThrownBy(() -> attemptRepository.save(second)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    private List<Long> createCandidates(String prefix, int count) {
+        String profession = "concurrency-" + prefix;
+        hrService.createJob(new HrDtos.CreateJobRequest(profession, null, true));
+        hrService.createTest(new HrDtos.CreateTestRequest(
+                "Permit " + prefix, profession, "Who signs the hot work permit for " + prefix + "?",
+                List.of(new HrDtos.OptionRequest("Shift supervisor", true), new HrDtos.OptionRequest("Anyone", false)),
+                true), "hr");
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; ids.size() < count; i++) {
+            String login = "%s%07d".formatted(prefix.substring(0, 2).toUpperCase(), i);
+            Long id = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                    "Concurrent Candidate", profession, login, login, true)).candidateId();
+            // Two candidates that share a stripe would wait for each other by design; keep the test about the others.
+            if (ids.stream().noneMatch(other -> ExamLocks.candidateStripe(other) == ExamLocks.candidateStripe(id))) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
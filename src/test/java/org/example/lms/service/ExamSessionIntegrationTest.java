@@ -0,0 +1,120 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.repository.AttemptRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExamSessionIntegrationTest {
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private ExamSessionService examSessionService;
+    @Autowired
+    private AttemptRepository attemptRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldStartThePreparedAttemptInsideTheWindow() {
+        List<Long> candidateIds = createCandidates("SW", "session-welder", 3);
+        Long earlyStarter = candidateIds.get(2);
+        Long ownAttemptId = candidateService.startTest(new CandidateDtos.StartTestRequest(earlyStarter)).attemptId();
+
+        HrResponses.ExamSessionResponse session = examSessionService.createSession(new HrDtos.CreateExamSessionRequest(
+                "session-welder", LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusHours(1), candidateIds),
+                "hr");
+        HrResponses.ExamSessionResponse prepared = examSessionService.prepare(session.sessionId());
+        assertThat(prepared.preparedAttempts()).isEqualTo(2);
+        assertThat(prepared.startedAttempts()).isZero();
+        assertThat(prepared.preparedAt()).isNotNull();
+        assertThat(examSessionService.prepare(session.sessionId()).preparedAttempts()).isEqualTo(2);
+
+        Long candidateId = candidateIds.get(0);
+        Long preparedAttemptId = attemptRepository.findTopByCandidateIdAndFinishedFalseOrderByStartedAtDesc(candidateId)
+                .orElseThrow().getId();
+        assertThat(hrService.listResults(null, null, null, null, null, null, null))
+                .noneMatch(row -> preparedAttemptId.equals(row.attemptId()));
+        assertThatThrownBy(() -> candidateService.getProgress(preparedAttemptId, candidateId))
+                .isInstanceOfSatisfying(DomainException.class, ex -> {
+                    assertThat(ex.getCode()).isEqualTo(ErrorCode.ATTEMPT_NOT_FOUND);
+                    assertThat(ex.getStackTrace()).isEmpty();
+                });
+
+        CandidateResponses.StartResponse started = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        assertThat(started.attemptId()).isEqualTo(preparedAttemptId);
+        assertThat(started.startedAt()).isNotNull();
+        assertThat(started.questions()).singleElement().satisfies(question ->
+                assertThat(question.text()).isEqualTo("Which electrode suits a root pass on SW pipe?"));
+
+        // The rendered payload is served as is, so a resume shows the same option order.
+        CandidateResponses.StartResponse resumed = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        assertThat(resumed.questions()).isEqualTo(started.questions());
+
+        assertThat(examSessionService.getSession(session.sessionId()).startedAttempts()).isEqualTo(1);
+        assertThat(candidateService.startTest(new CandidateDtos.StartTestRequest(earlyStarter)).attemptId())
+                .isEqualTo(ownAttemptId);
+    }
+
+    @Test
+    void shouldKeepPreparedAttemptsClosedOutsideTheWindow() {
+        List<Long> candidateIds = createCandidates("SF", "session-fitter", 1);
+        Long candidateId = candidateIds.get(0);
+        HrResponses.ExamSessionResponse session = examSessionService.createSession(new HrDtos.CreateExamSessionRequest(
+                "session-fitter", LocalDateTime.now().plusMinutes(10), LocalDateTime.now().plusHours(1), candidateIds),
+                "hr");
+        examSessionService.prepare(session.sessionId());
+
+        assertThatThrownBy(() -> candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId)))
+                .isInstanceOf(DomainException.class)
+                .hasMessageStartingWith("Exam session opens at");
+
+        jdbcTemplate.update("update exam_sessions set window_start = ?, window_end = ? where id = ?",
+                LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1), session.sessionId());
+        assertThatThrownBy(() -> candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId)))
+                .hasMessageStartingWith("Exam session closed at");
+
+        examSessionService.prepareDueSessions();
+        assertThat(attemptRepository.countByCandidateId(candidateId)).isZero();
+
+        CandidateResponses.StartResponse walkIn = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        assertThat(attemptRepository.findById(walkIn.attemptId()).orElseThrow().getSession()).isNull();
+    }
+
+    private List<Long> createCandidates(String prefix, String profession, int count) {
+        hrService.createJob(new HrDtos.CreateJobRequest(profession, null, true));
+        hrService.createTest(new HrDtos.CreateTestRequest(
+                "Root pass " + prefix, profession, "Which electrode suits a root pass on " + prefix + " pipe?",
+                List.of(new HrDtos.OptionRequest("E6010", true), new HrDtos.OptionRequest("E7024", false),
+                        new HrDtos.OptionRequest("E7018", false)),
+                true), "hr");
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String login = "%s%07d".formatted(prefix, i);
+            ids.add(hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                    "Session Candidate", profession, login, login, true)).candidateId());
+        }
+        return ids;
+    }
+}
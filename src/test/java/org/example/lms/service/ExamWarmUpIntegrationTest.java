@@ -0,0 +1,55 @@
+package org.example.lms.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The capture starts before the context, so it holds the warm-up's own output.
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(properties = {
+        "exam.warm-up.enabled=true",
+        "exam.warm-up.iterations=3",
+        "exam.notifications.enabled=true",
+        "exam.notifications.supervisors=hr@example.org"
+})
+@ActiveProfiles("test")
+class ExamWarmUpIntegrationTest {
+
+    @Autowired
+    private ApplicationAvailability availability;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldWarmUpBeforeReportingReadyAndLeaveNothingBehind(CapturedOutput output) {
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(meterRegistry.timer("exam.warmup.duration").count()).isEqualTo(1);
+        assertThat(output).contains("Warm-up done").contains("examCycles=3")
+                .doesNotContain("Attempt started")
+                .doesNotContain("Attempt queued for scoring")
+                .doesNotContain("Attempt submitted");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from candidates where login like 'warmup-%'", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from attempts a join candidates c on c.id = a.candidate_id where c.login like 'warmup-%'",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from submission_queue s join candidates c on c.id = s.candidate_id"
+                        + " where c.login like 'warmup-%'", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from mail_outbox where subject like 'Exam result: Warm-up,%'", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.lms.service;
+
+import org.example.lms.entity.MailOutboxEntity;
+import org.example.lms.repository.MailOutboxRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The shipped image runs with the {@code fast} profile, where beans are created on first use; scheduled jobs
+ * must still start with the context. The jobs are cancelled afterwards, so they stop touching the caches this
+ * context shares with the other tests.
+ */
+@SpringBootTest(properties = {
+        "exam.scheduling.enabled=true",
+        "exam.notifications.dispatch-interval-ms=100",
+        "spring.mail.host=127.0.0.1"
+})
+@ActiveProfiles({"test", "fast"})
+class FastStartMailDispatchIntegrationTest {
+    private static final LocalSmtpServer SMTP = startSmtp();
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private ScheduledTaskHolder scheduledTasks;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", SMTP::port);
+    }
+
+    @AfterEach
+    void cancelScheduledJobs() {
+        scheduledTasks.getScheduledTasks().forEach(ScheduledTask::cancel);
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        SMTP.close();
+    }
+
+    @Test
+    void shouldDispatchQueuedMailWithoutAnyoneAskingForTheDispatcher() throws InterruptedException {
+        assertThat(context.getBeanFactory().containsSingleton("mailDispatcher")).isTrue();
+
+        LocalDateTime now = LocalDateTime.now();
+        Long id = mailOutboxRepository.save(MailOutboxEntity.builder()
+                .recipient("fast.start@navoiyazot.test")
+                .subject("Exam result: fast start")
+                .body("Queued before anyone asked for the dispatcher")
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .tries(0)
+                .build()).getId();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (mailOutboxRepository.existsById(id) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(mailOutboxRepository.existsById(id)).isFalse();
+        assertThat(SMTP.received()).anySatisfy(mail ->
+                assertThat(mail.recipients()).containsExactly("fast.start@navoiyazot.test"));
+    }
+
+    private static LocalSmtpServer startSmtp() {
+        try {
+            return new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
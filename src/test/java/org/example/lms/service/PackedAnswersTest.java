@@ -0,0 +1,42 @@
+package org.example.lms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedAnswersTest {
+
+    @Test
+    void shouldRoundTripASheetThroughTheByteFormat() {
+        List<PackedAnswers.Question> questions = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new PackedAnswers.Question((long) i, List.of(i * 10L + 1, i * 10L + 2, i * 10L + 3)))
+                .toList();
+        Map<Long, PackedAnswers.Answer> answers = Map.of(
+                1L, new PackedAnswers.Answer(1L, 11L, true),
+                2L, new PackedAnswers.Answer(2L, 23L, false),
+                4L, new PackedAnswers.Answer(4L, null, false),
+                9L, new PackedAnswers.Answer(9L, 92L, true));
+
+        PackedAnswers.Packed packed = PackedAnswers.pack(questions, answers);
+
+        assertThat(packed.selections()).containsExactly(1, 3, 0, 0, 0, 0, 0, 0, 2, 0);
+        assertThat(packed.correctBits()).containsExactly(0b0000_0001, 0b0000_0001);
+        assertThat(PackedAnswers.unpack(questions, packed)).containsExactly(
+                new PackedAnswers.Answer(1L, 11L, true),
+                new PackedAnswers.Answer(2L, 23L, false),
+                new PackedAnswers.Answer(9L, 92L, true));
+    }
+
+    @Test
+    void shouldRefuseAnOptionOutsideTheQuestion() {
+        List<PackedAnswers.Question> questions = List.of(new PackedAnswers.Question(1L, List.of(11L, 12L)));
+
+        assertThatThrownBy(() -> PackedAnswers.pack(questions, Map.of(1L, new PackedAnswers.Answer(1L, 99L, false))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.repository.QuestionRepository;
+import org.example.lms.repository.QuestionVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuestionVersioningIntegrationTest {
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private SubmissionQueue submissionQueue;
+    @Autowired
+    private SubmissionWorker submissionWorker;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private QuestionVersionRepository questionVersionRepository;
+
+    @Test
+    void shouldKeepRunningAttemptsOnThePinnedVersion() {
+        hrService.createJob(new HrDtos.CreateJobRequest("rigger", "Lifting operations", true));
+        Long questionId = hrService.createTest(new HrDtos.CreateTestRequest(
+                "Sling check", "rigger", "What do you check on a sling before a lift?",
+                List.of(new HrDtos.OptionRequest("Tag and damage", true), new HrDtos.OptionRequest("Colour", false)),
+                true), "hr").test().testId();
+        Long earlyId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Early Rigger", "rigger", "RG0000001", "RG0000001", true)).candidateId();
+        Long lateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Late Rigger", "rigger", "RG0000002", "RG0000002", true)).candidateId();
+
+        CandidateResponses.StartResponse early = candidateService.startTest(new CandidateDtos.StartTestRequest(earlyId));
+        Long pinnedCorrectOptionId = optionId(early, "Tag and damage");
+
+        hrService.updateQuestion(questionId, new HrDtos.UpdateQuestionRequest(
+                "What do you inspect on a sling before every lift?",
+                List.of(new HrDtos.OptionRequest("Nothing", false), new HrDtos.OptionRequest("Tag, WLL and damage", true))));
+
+        CandidateResponses.StartResponse resumed = candidateService.startTest(new CandidateDtos.StartTestRequest(earlyId));
+        assertThat(resumed.questions()).singleElement().satisfies(question -> {
+            assertThat(question.text()).isEqualTo("What do you check on a sling before a lift?");
+            assertThat(question.options()).extracting(CandidateResponses.OptionPayload::text)
+                    .containsExactlyInAnyOrder("Tag and damage", "Colour");
+        });
+
+        CandidateResponses.StartResponse late = candidateService.startTest(new CandidateDtos.StartTestRequest(lateId));
+        assertThat(late.questions()).singleElement().satisfies(question ->
+                assertThat(question.text()).isEqualTo("What do you inspect on a sling before every lift?"));
+
+        // An option of another version is not an answer to the pinned one.
+        CandidateResponses.SubmitResponse lateResult = submit(late.attemptId(),
+                new CandidateDtos.SubmitAttemptRequest(lateId,
+                        List.of(new CandidateDtos.AnswerRequest(questionId, pinnedCorrectOptionId))));
+        assertThat(lateResult.correctAnswers()).isZero();
+
+        CandidateResponses.SubmitResponse earlyResult = submit(early.attemptId(),
+                new CandidateDtos.SubmitAttemptRequest(earlyId,
+                        List.of(new CandidateDtos.AnswerRequest(questionId, pinnedCorrectOptionId))));
+        assertThat(earlyResult.correctAnswers()).isEqualTo(1);
+
+        assertThat(questionVersionRepository.findAllByQuestionIdOrderByVersionAsc(questionId))
+                .extracting(version -> version.getVersion())
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldDeleteUnusedQuestionWithAllVersions() {
+        Long questionId = hrService.createTest(new HrDtos.CreateTestRequest(
+                "Gauge reading", "mechanic", "Which unit does a manometer on the line show?",
+                List.of(new HrDtos.OptionRequest("bar", true), new HrDtos.OptionRequest("litre", false)),
+                true), "hr").test().testId();
+        hrService.updateTest(questionId, new HrDtos.UpdateTestRequest(
+                null, null, "Which unit does the line manometer show?", null));
+
+        hrService.deleteTest(questionId);
+
+        assertThat(questionRepository.findById(questionId)).isEmpty();
+        assertThat(questionVersionRepository.findAllByQuestionIdOrderByVersionAsc(questionId)).isEmpty();
+    }
+
+    private static Long optionId(CandidateResponses.StartResponse start, String text) {
+        return start.questions().get(0).options().stream()
+                .filter(option -> option.text().equals(text))
+                .findFirst()
+                .orElseThrow()
+                .optionId();
+    }
+
+    /** Queues the sheet and drains the queue, as the submit endpoint and a worker would. */
+    private CandidateResponses.SubmitResponse submit(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
+        submissionQueue.enqueue(attemptId, req);
+        while (submissionWorker.drain() > 0) {
+            // Sheets left by other tests may be ahead of this one.
+        }
+        return submissionQueue.status(attemptId, req.candidateId()).result();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.lms.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.example.lms.entity.JobEntity;
+import org.example.lms.entity.OptionEntity;
+import org.example.lms.entity.QuestionEntity;
+import org.example.lms.repository.JobRepository;
+import org.example.lms.repository.OptionRepository;
+import org.example.lms.repository.QuestionRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceDataCacheIntegrationTest {
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private OptionRepository optionRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldServeRepeatedLookupsWithoutSql() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long jobId = jobRepository.findByNameIgnoreCase("Electrician").orElseThrow().getId();
+
+        long statements = statistics.getPrepareStatementCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        long entityHits = statistics.getSecondLevelCacheHitCount();
+
+        assertThat(jobRepository.findByNameIgnoreCase("Electrician")).map(JobEntity::getId).contains(jobId);
+        assertThat(jobRepository.findById(jobId)).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(entityHits);
+        assertThat(referenceDataCache.stats().regions())
+                .filteredOn(region -> region.region().equals(JobRepository.NAME_LOOKUP_CACHE_REGION))
+                .singleElement()
+                .satisfies(region -> assertThat(region.hits()).isPositive());
+    }
+
+    @Test
+    void shouldNeverServeStaleDataAfterHrEdits() {
+        HrResponses.JobResponse job = hrService.createJob(new HrDtos.CreateJobRequest("welder", "before", true));
+        assertThat(jobRepository.findByNameIgnoreCase("welder")).isPresent();
+        assertThat(jobRepository.findById(job.jobId())).map(JobEntity::getDescription).contains("before");
+
+        hrService.updateJob(job.jobId(), new HrDtos.UpdateJobRequest("gas welder", "after", false));
+
+        assertThat(jobRepository.findByNameIgnoreCase("welder")).isEmpty();
+        assertThat(jobRepository.findByNameIgnoreCase("gas welder")).map(JobEntity::getActive).contains(false);
+        assertThat(jobRepository.findById(job.jobId())).map(JobEntity::getDescription).contains("after");
+
+        Long testId = hrService.createTest(new HrDtos.CreateTestRequest(
+                "Cache freshness", "electrician", "Which cable colour marks protective earth?",
+                List.of(new HrDtos.OptionRequest("Yellow-green", true), new HrDtos.OptionRequest("Blue", false)),
+                true), "hr").test().testId();
+        List<Long> oldOptionIds = optionRepository.findAllByQuestionId(testId).stream().map(OptionEntity::getId).toList();
+        oldOptionIds.forEach(optionRepository::findById);
+        questionRepository.findById(testId);
+
+        hrService.updateQuestion(testId, new HrDtos.UpdateQuestionRequest(
+                "Which conductor colour marks protective earth?",
+                List.of(new HrDtos.OptionRequest("Blue", false), new HrDtos.OptionRequest("Yellow-green", true))));
+
+        QuestionEntity question = questionRepository.findById(testId).orElseThrow();
+        assertThat(question.getText()).isEqualTo("Which conductor colour marks protective earth?");
+        assertThat(optionRepository.findAllByQuestionVersionIdOrderByIdAsc(question.getCurrentVersion().getId()))
+                .extracting(OptionEntity::getText)
+                .containsExactly("Blue", "Yellow-green");
+        // The replaced options stay with the previous version for attempts that pinned it.
+        assertThat(oldOptionIds).allSatisfy(id -> assertThat(optionRepository.findById(id).orElseThrow()
+                .getQuestionVersion().getId()).isNotEqualTo(question.getCurrentVersion().getId()));
+    }
+
+    @Test
+    void shouldEvictEveryRegionOnDemand() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long jobId = jobRepository.findByNameIgnoreCase("operator").orElseThrow().getId();
+        jobRepository.findById(jobId);
+
+        long statements = statistics.getPrepareStatementCount();
+        referenceDataCache.evictAll();
+        jobRepository.findByNameIgnoreCase("operator");
+        jobRepository.findById(jobId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements + 1);
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.entity.MailOutboxEntity;
+import org.example.lms.repository.MailOutboxRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "exam.notifications.enabled=true",
+        "exam.notifications.supervisors=shift.lead@navoiyazot.test",
+        "exam.notifications.rate-per-second=1000",
+        "exam.notifications.max-tries=3",
+        "spring.mail.host=127.0.0.1"
+})
+@ActiveProfiles("test")
+class ResultNotificationIntegrationTest {
+    private static final LocalSmtpServer SMTP = startSmtp();
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private SubmissionQueue submissionQueue;
+    @Autowired
+    private SubmissionWorker submissionWorker;
+    @Autowired
+    private MailDispatcher mailDispatcher;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", SMTP::port);
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        SMTP.close();
+    }
+
+    @Test
+    void shouldMailTheResultToTheCandidateAndSupervisorsAfterCommit() {
+        Exam exam = startExam("NM0000001", "nm.candidate@navoiyazot.test");
+        submit(exam.attemptId(), sheet(exam));
+
+        assertThat(mailOutboxRepository.findAllByAttemptIdOrderByIdAsc(exam.attemptId()))
+                .extracting(MailOutboxEntity::getRecipient)
+                .containsExactly("nm.candidate@navoiyazot.test", "shift.lead@navoiyazot.test");
+
+        assertThat(mailDispatcher.dispatch()).isGreaterThanOrEqualTo(2);
+
+        assertThat(mailOutboxRepository.findAllByAttemptIdOrderByIdAsc(exam.attemptId())).isEmpty();
+        List<LocalSmtpServer.Received> mails = SMTP.received().stream()
+                .filter(mail -> mail.data().contains("Attempt: " + exam.attemptId()))
+                .toList();
+        assertThat(mails).flatExtracting(LocalSmtpServer.Received::recipients)
+                .containsExactlyInAnyOrder("nm.candidate@navoiyazot.test", "shift.lead@navoiyazot.test");
+        assertThat(mails.get(0).data()).contains("Score: 100.00%");
+    }
+
+    @Test
+    void shouldKeepSubmittingThroughAMailOutageAndDeliverLater() {
+        Exam exam = startExam("NM0000002", null);
+        SMTP.setAvailable(false);
+        try {
+            CandidateResponses.SubmitResponse result = submit(exam.attemptId(), sheet(exam));
+            assertThat(result.score()).isEqualTo(100.0);
+
+            assertThat(mailDispatcher.dispatch()).isZero();
+            MailOutboxEntity queued = mailOutboxRepository.findAllByAttemptIdOrderByIdAsc(exam.attemptId()).get(0);
+            assertThat(queued.getTries()).isEqualTo(1);
+            assertThat(queued.getLastError()).isNotBlank();
+            assertThat(queued.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(10));
+
+            // Still backing off: nothing is due, so the next cycle does not touch the mail server.
+            assertThat(mailDispatcher.dispatch()).isZero();
+            assertThat(mailOutboxRepository.findById(queued.getId()).orElseThrow().getTries()).isEqualTo(1);
+        } finally {
+            SMTP.setAvailable(true);
+        }
+
+        jdbcTemplate.update("update mail_outbox set next_attempt_at = ? where attempt_id = ?",
+                LocalDateTime.now().minusSeconds(1), exam.attemptId());
+        assertThat(mailDispatcher.dispatch()).isGreaterThanOrEqualTo(1);
+        assertThat(mailOutboxRepository.findAllByAttemptIdOrderByIdAsc(exam.attemptId())).isEmpty();
+        assertThat(SMTP.received()).anySatisfy(mail -> {
+            assertThat(mail.recipients()).containsExactly("shift.lead@navoiyazot.test");
+            assertThat(mail.data()).contains("Attempt: " + exam.attemptId());
+        });
+    }
+
+    @Test
+    void shouldQueueTheMailForNamesLongerThanAnOrdinaryColumn() {
+        String fullName = "Abdurakhmonov ".repeat(18).trim();
+        Exam exam = startExam("NM0000003", null, fullName);
+
+        CandidateResponses.SubmitResponse result = submit(exam.attemptId(), sheet(exam));
+
+        assertThat(result.score()).isEqualTo(100.0);
+        assertThat(mailOutboxRepository.findAllByAttemptIdOrderByIdAsc(exam.attemptId()))
+                .extracting(MailOutboxEntity::getSubject)
+                .singleElement()
+                .satisfies(subject -> assertThat(subject).hasSizeGreaterThan(255).contains(fullName));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToTheCap() {
+        assertThat(mailDispatcher.backoff(1)).isEqualTo(30);
+        assertThat(mailDispatcher.backoff(2)).isEqualTo(60);
+        assertThat(mailDispatcher.backoff(5)).isEqualTo(480);
+        assertThat(mailDispatcher.backoff(20)).isEqualTo(3600);
+    }
+
+    /** Queues the sheet and drains the queue, as the submit endpoint and a worker would. */
+    private CandidateResponses.SubmitResponse submit(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
+        submissionQueue.enqueue(attemptId, req);
+        while (submissionWorker.drain() > 0) {
+            // Sheets left by other tests may be ahead of this one.
+        }
+        return submissionQueue.status(attemptId, req.candidateId()).result();
+    }
+
+    private Exam startExam(String login, String email) {
+        return startExam(login, email, "Notified Candidate");
+    }
+
+    private Exam startExam(String login, String email, String fullName) {
+        String profession = "notify-" + login.toLowerCase();
+        hrService.createJob(new HrDtos.CreateJobRequest(profession, null, true));
+        hrService.createTest(new HrDtos.CreateTestRequest(
+                "Gas detector " + login, profession, "What does a gas detector alarm on shift " + login + " require?",
+                List.of(new HrDtos.OptionRequest("Leave the area upwind", true),
+                        new HrDtos.OptionRequest("Silence it and carry on", false)),
+                true), "hr");
+        Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                fullName, profession, login, login, true, email)).candidateId();
+
+        CandidateResponses.StartResponse start = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        CandidateResponses.QuestionPayload question = start.questions().get(0);
+        Long correct = question.options().stream()
+                .filter(option -> option.text().equals("Leave the area upwind"))
+                .findFirst().orElseThrow().optionId();
+        return new Exam(start.attemptId(), candidateId, question.questionId(), correct);
+    }
+
+    private static CandidateDtos.SubmitAttemptRequest sheet(Exam exam) {
+        return new CandidateDtos.SubmitAttemptRequest(exam.candidateId(),
+                List.of(new CandidateDtos.AnswerRequest(exam.questionId(), exam.correctOptionId())));
+    }
+
+    private static LocalSmtpServer startSmtp() {
+        try {
+            return new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Exam(Long attemptId, Long candidateId, Long questionId, Long correctOptionId) {
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.lms.service;
+
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.dto.HrResponses;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScoreDistributionIntegrationTest {
+    private static final String PROFESSION = "distribution-operator";
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private SubmissionQueue submissionQueue;
+    @Autowired
+    private SubmissionWorker submissionWorker;
+    @Autowired
+    private ScoreDistributionService scoreDistributionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldPlaceAttemptsAndChartDailyAndWeeklyTrends() {
+        hrService.createJob(new HrDtos.CreateJobRequest(PROFESSION, null, true));
+        for (String unit : List.of("ammonia", "urea")) {
+            hrService.createTest(new HrDtos.CreateTestRequest(
+                    "Relief valve " + unit, PROFESSION, "Is the " + unit + " relief valve tested every shift?",
+                    List.of(new HrDtos.OptionRequest("Correct", true), new HrDtos.OptionRequest("Wrong", false)),
+                    true), "hr");
+        }
+
+        List<Long> attemptIds = new ArrayList<>();
+        int[] correctAnswers = {0, 1, 2, 2};
+        for (int i = 0; i < correctAnswers.length; i++) {
+            attemptIds.add(takeExam("SD%07d".formatted(i + 1), correctAnswers[i]));
+        }
+
+        HrResponses.ScoreStandingResponse middle = scoreDistributionService.standing(attemptIds.get(1));
+        assertThat(middle.score()).isEqualTo(50.0);
+        assertThat(middle.takers()).isEqualTo(4);
+        assertThat(middle.rank()).isEqualTo(3);
+        assertThat(middle.percentile()).isEqualTo(37.5);
+        assertThat(scoreDistributionService.standing(attemptIds.get(3)).rank()).isEqualTo(1);
+
+        // Finished attempts without a score, one per period, are left out of both the rollup and the live bins.
+        Long unscoredLastWeek = takeExam("SD0000005", 2);
+        Long unscoredToday = takeExam("SD0000006", 2);
+        jdbcTemplate.update("update attempts set score = null where id in (?, ?)", unscoredLastWeek, unscoredToday);
+        scoreDistributionService.loadHistograms();
+
+        // Two of the attempts finished last week: they come from the rollup, today's from the live aggregate.
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        jdbcTemplate.update("update attempts set finished_at = ? where id in (?, ?, ?)",
+                lastWeek, attemptIds.get(0), attemptIds.get(1), unscoredLastWeek);
+        scoreDistributionService.rollUp();
+
+        HrResponses.ScoreDistributionResponse daily = scoreDistributionService.distribution(
+                PROFESSION, "day", LocalDate.now().minusDays(7), LocalDate.now());
+        assertThat(daily.takers()).isEqualTo(4);
+        assertThat(daily.median()).isEqualTo(50.0);
+        assertThat(daily.buckets()).hasSize(8);
+        HrResponses.ScoreBucketResponse rolledUp = daily.buckets().get(0);
+        assertThat(rolledUp.periodStart()).isEqualTo(lastWeek.toLocalDate());
+        assertThat(rolledUp.attempts()).isEqualTo(2);
+        assertThat(rolledUp.averageScore()).isEqualTo(25.0);
+        assertThat(rolledUp.bins().get(0)).isEqualTo(1);
+        assertThat(rolledUp.bins().get(5)).isEqualTo(1);
+        HrResponses.ScoreBucketResponse today = daily.buckets().get(7);
+        assertThat(today.attempts()).isEqualTo(2);
+        assertThat(today.bins().get(9)).isEqualTo(2);
+
+        HrResponses.ScoreDistributionResponse weekly = scoreDistributionService.distribution(
+                PROFESSION, "week", LocalDate.now().minusDays(7), LocalDate.now());
+        assertThat(weekly.buckets()).extracting(HrResponses.ScoreBucketResponse::attempts).containsExactly(2L, 2L);
+    }
+
+    private Long takeExam(String login, int correctCount) {
+        Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                "Distribution Candidate", PROFESSION, login, login, true)).candidateId();
+        CandidateResponses.StartResponse start = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+        List<CandidateDtos.AnswerRequest> answers = new ArrayList<>();
+        for (int i = 0; i < start.questions().size(); i++) {
+            CandidateResponses.QuestionPayload question = start.questions().get(i);
+            String wanted = i < correctCount ? "Correct" : "Wrong";
+            answers.add(new CandidateDtos.AnswerRequest(question.questionId(), question.options().stream()
+                    .filter(option -> option.text().equals(wanted))
+                    .findFirst().orElseThrow().optionId()));
+        }
+        submit(start.attemptId(), new CandidateDtos.SubmitAttemptRequest(candidateId, answers));
+        return start.attemptId();
+    }
+
+    /** Queues the sheet and drains the queue, as the submit endpoint and a worker would. */
+    private CandidateResponses.SubmitResponse submit(Long attemptId, CandidateDtos.SubmitAttemptRequest req) {
+        submissionQueue.enqueue(attemptId, req);
+        while (submissionWorker.drain() > 0) {
+            // Sheets left by other tests may be ahead of this one.
+        }
+        return submissionQueue.status(attemptId, req.candidateId()).result();
+    }
+}
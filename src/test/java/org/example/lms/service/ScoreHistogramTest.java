@@ -0,0 +1,42 @@
+package org.example.lms.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreHistogramTest {
+
+    @Test
+    void shouldRankAndPlaceScoresAmongTheirPeers() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(40.0, 1);
+        histogram.add(62.5, 2);
+        histogram.add(87.5, 1);
+
+        assertThat(histogram.total()).isEqualTo(4);
+        assertThat(histogram.percentileOf(40.0)).isEqualTo(12.5);
+        assertThat(histogram.percentileOf(62.5)).isEqualTo(50.0);
+        assertThat(histogram.percentileOf(100.0)).isEqualTo(100.0);
+        assertThat(histogram.rank(87.5)).isEqualTo(1);
+        assertThat(histogram.rank(62.5)).isEqualTo(2);
+        assertThat(histogram.rank(40.0)).isEqualTo(4);
+        assertThat(histogram.rank(95.0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAnswerQuantilesToATenthOfAPoint() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        assertThat(histogram.quantile(0.5)).isNull();
+
+        for (int score = 1; score <= 100; score++) {
+            histogram.add(score, 1);
+        }
+        histogram.add(33.33, 1);
+
+        assertThat(histogram.quantile(0.0)).isEqualTo(1.0);
+        assertThat(histogram.quantile(0.25)).isEqualTo(26.0);
+        assertThat(histogram.quantile(0.5)).isEqualTo(50.0);
+        assertThat(histogram.quantile(1.0)).isEqualTo(100.0);
+        assertThat(histogram.percentileOf(33.3)).isGreaterThan(histogram.percentileOf(33.0));
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.lms.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.lms.dto.CandidateDtos;
+import org.example.lms.dto.CandidateResponses;
+import org.example.lms.dto.HrDtos;
+import org.example.lms.exception.DomainException;
+import org.example.lms.exception.ErrorCode;
+import org.example.lms.repository.AttemptRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SubmissionPipelineIntegrationTest {
+    private static final int CANDIDATES = 12;
+
+    @Autowired
+    private HrService hrService;
+    @Autowired
+    private CandidateService candidateService;
+    @Autowired
+    private SubmissionQueue submissionQueue;
+    @Autowired
+    private SubmissionWorker submissionWorker;
+    @Autowired
+    private AttemptRepository attemptRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldScoreQueuedSheetsInOneBatchAtSubmitTime() {
+        List<Exam> exams = startExams("QB", "pipeline-batch", CANDIDATES);
+
+        List<CandidateResponses.SubmissionStatusResponse> queued = new ArrayList<>();
+        for (int i = 0; i < exams.size(); i++) {
+            Exam exam = exams.get(i);
+            Long option = i % 2 == 0 ? exam.correctOptionId() : exam.wrongOptionId();
+            queued.add(submissionQueue.enqueue(exam.attemptId(), sheet(exam, option)));
+        }
+        assertThat(queued).allSatisfy(status -> assertThat(status.status()).isEqualTo("pending"));
+        assertThat(queued.get(1).queuePosition()).isEqualTo(queued.get(0).queuePosition() + 1);
+
+        // A repeated submit keeps the first sheet and its place in the queue.
+        Exam first = exams.get(0);
+        assertThat(submissionQueue.enqueue(first.attemptId(), sheet(first, first.wrongOptionId())).queuePosition())
+                .isEqualTo(queued.get(0).queuePosition());
+        assertThat(attemptRepository.findById(first.attemptId()).orElseThrow().getFinished()).isFalse();
+
+        // Queued but not yet scored: late autosaves cannot rewrite the sheet and the attempt is not resumed.
+        for (Long clientSeq : new Long[]{null, 7L}) {
+            assertThatThrownBy(() -> candidateService.saveProgress(first.attemptId(),
+                    new CandidateDtos.SaveProgressRequest(first.candidateId(),
+                            List.of(new CandidateDtos.AnswerRequest(first.questionId(), first.wrongOptionId())), clientSeq)))
+                    .isInstanceOfSatisfying(DomainException.class,
+                            ex -> assertThat(ex.getCode()).isEqualTo(ErrorCode.ATTEMPT_ALREADY_FINISHED));
+        }
+        assertThatThrownBy(() -> candidateService.startTest(new CandidateDtos.StartTestRequest(first.candidateId())))
+                .isInstanceOfSatisfying(DomainException.class,
+                        ex -> assertThat(ex.getCode()).isEqualTo(ErrorCode.ATTEMPT_ALREADY_FINISHED));
+
+        long batchesBefore = meterRegistry.get("exam.submit.batch.size").summary().count();
+        assertThat(submissionWorker.drain()).isGreaterThanOrEqualTo(CANDIDATES);
+        assertThat(meterRegistry.get("exam.submit.batch.size").summary().count()).isEqualTo(batchesBefore + 1);
+
+        for (int i = 0; i < exams.size(); i++) {
+            Exam exam = exams.get(i);
+            CandidateResponses.SubmissionStatusResponse status = submissionQueue.status(exam.attemptId(), exam.candidateId());
+            assertThat(status.status()).isEqualTo("scored");
+            assertThat(status.result().correctAnswers()).isEqualTo(i % 2 == 0 ? 1 : 0);
+        }
+        assertThat(meterRegistry.get("exam.submit.latency").timer().count()).isGreaterThanOrEqualTo(CANDIDATES);
+        assertThat(meterRegistry.get("exam.submit.queue.depth").gauge().value()).isZero();
+        assertThat(submissionQueue.enqueue(first.attemptId(), sheet(first, first.wrongOptionId())).result().score())
+                .isEqualTo(100.0);
+    }
+
+    @Test
+    void shouldIsolateAnUnreadableSheetFromTheRestOfItsBatch() {
+        List<Exam> exams = startExams("QP", "pipeline-poison", 3);
+        exams.forEach(exam -> submissionQueue.enqueue(exam.attemptId(), sheet(exam, exam.correctOptionId())));
+        Exam poisoned = exams.get(1);
+        jdbcTemplate.update("update submission_queue set answers = 'not json' where attempt_id = ?", poisoned.attemptId());
+
+        submissionWorker.drain();
+
+        assertThat(submissionQueue.status(exams.get(0).attemptId(), exams.get(0).candidateId()).status()).isEqualTo("scored");
+        assertThat(submissionQueue.status(exams.get(2).attemptId(), exams.get(2).candidateId()).status()).isEqualTo("scored");
+        CandidateResponses.SubmissionStatusResponse failed = submissionQueue.status(poisoned.attemptId(), poisoned.candidateId());
+        assertThat(failed.status()).isEqualTo("failed");
+        assertThat(failed.error()).contains("Unreadable answer sheet");
+
+        // The attempt that could not be scored is closed, so it does not lock its candidate out.
+        assertThat(attemptRepository.findById(poisoned.attemptId()).orElseThrow())
+                .satisfies(attempt -> assertThat(attempt.getFinished()).isTrue())
+                .satisfies(attempt -> assertThat(attempt.getScore()).isNull());
+        assertThat(submissionQueue.status(poisoned.attemptId(), poisoned.candidateId()).status()).isEqualTo("failed");
+        assertThat(candidateService.startTest(new CandidateDtos.StartTestRequest(poisoned.candidateId())).attemptId())
+                .isNotEqualTo(poisoned.attemptId());
+    }
+
+    private List<Exam> startExams(String prefix, String profession, int count) {
+        hrService.createJob(new HrDtos.CreateJobRequest(profession, null, true));
+        hrService.createTest(new HrDtos.CreateTestRequest(
+                "Lockout " + prefix, profession, "Who removes a lockout padlock on the " + prefix + " line?",
+                List.of(new HrDtos.OptionRequest("The worker who placed it", true),
+                        new HrDtos.OptionRequest("Any electrician", false)),
+                true), "hr");
+
+        List<Exam> exams = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String login = "%s%07d".formatted(prefix, i);
+            Long candidateId = hrService.createCandidate(new HrDtos.CreateCandidateRequest(
+                    "Pipeline Candidate", profession, login, login, true)).candidateId();
+            CandidateResponses.StartResponse start = candidateService.startTest(new CandidateDtos.StartTestRequest(candidateId));
+            CandidateResponses.QuestionPayload question = start.questions().get(0);
+            Long correct = question.options().stream()
+                    .filter(option -> option.text().equals("The worker who placed it"))
+                    .findFirst().orElseThrow().optionId();
+            Long wrong = question.options().stream()
+                    .filter(option -> !option.optionId().equals(correct))
+                    .findFirst().orElseThrow().optionId();
+            exams.add(new Exam(start.attemptId(), candidateId, question.questionId(), correct, wrong));
+        }
+        return exams;
+    }
+
+    private static CandidateDtos.SubmitAttemptRequest sheet(Exam exam, Long optionId) {
+        return new CandidateDtos.SubmitAttemptRequest(exam.candidateId(),
+                List.of(new CandidateDtos.AnswerRequest(exam.questionId(), optionId)));
+    }
+
+    private record Exam(Long attemptId, Long candidateId, Long questionId, Long correctOptionId, Long wrongOptionId) {
+    }
+}